@@ -0,0 +1,123 @@
+package com.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loadgen.client.CbmmClient;
+import com.loadgen.client.LoadRequest;
+import com.loadgen.config.LoadGenConfig;
+import com.loadgen.generator.RequestPlanner;
+import com.loadgen.report.LoadReport;
+import com.loadgen.report.RunStats;
+import com.loadgen.report.ServerMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the planned requests from {@code concurrency} workers. With {@code rate-per-second} set each request
+ * has an intended start time and its latency is measured from it, so a stalled server shows up in the
+ * percentiles instead of silently slowing the senders down.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoadRunner implements ApplicationRunner {
+    private final LoadGenConfig config;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int warmup = config.getWarmupRequests();
+        List<LoadRequest> plan = new RequestPlanner(config, objectMapper).plan(warmup + config.getRequests());
+        CbmmClient client = new CbmmClient(config.getBaseUrl(), Duration.ofMillis(config.getRequestTimeoutMs()));
+
+        log.info("Warming up {} with {} requests", config.getBaseUrl(), warmup);
+        execute(client, plan.subList(0, warmup), new RunStats());
+
+        ServerMetrics before = scrape(client);
+        RunStats stats = new RunStats();
+        log.info("Sending {} requests from {} workers", config.getRequests(), config.getConcurrency());
+        long elapsed = execute(client, plan.subList(warmup, plan.size()), stats);
+        ServerMetrics after = scrape(client);
+
+        LoadReport report = LoadReport.of(config, stats, elapsed, after.since(before));
+        log.info("Load report\n{}", report.toText());
+        if (config.getReportFile() != null && !config.getReportFile().isBlank()) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(config.getReportFile()).toFile(), report);
+            log.info("Report written to {}", config.getReportFile());
+        }
+    }
+
+    private long execute(CbmmClient client, List<LoadRequest> requests, RunStats stats) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        long intervalNanos = config.getRatePerSecond() > 0 ? TimeUnit.SECONDS.toNanos(1) / config.getRatePerSecond() : 0;
+        long start = System.nanoTime();
+
+        List<Thread> workers = new ArrayList<>(config.getConcurrency());
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            workers.add(Thread.ofVirtual().name("loadgen-", i).start(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < requests.size()) {
+                    long startedAt = intervalNanos > 0 ? waitUntil(start + index * intervalNanos) : System.nanoTime();
+                    send(client, requests.get(index), startedAt, stats);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long waitUntil(long intendedStart) {
+        long remaining;
+        while ((remaining = intendedStart - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+        return intendedStart;
+    }
+
+    private void send(CbmmClient client, LoadRequest request, long startedAt, RunStats stats) {
+        try {
+            HttpResponse<byte[]> response = client.send(request);
+            stats.recordResponse(request, System.nanoTime() - startedAt, response.statusCode(), parse(response.body()));
+        } catch (IOException e) {
+            stats.recordError(request, System.nanoTime() - startedAt, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JsonNode parse(byte[] body) {
+        try {
+            return body.length == 0 ? null : objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    //Without actuator access the report still has the client-side numbers
+    private ServerMetrics scrape(CbmmClient client) {
+        try {
+            return ServerMetrics.parse(client.get(CbmmClient.PROMETHEUS));
+        } catch (IOException e) {
+            log.warn("Could not scrape {}: {}", CbmmClient.PROMETHEUS, e.getMessage());
+            return ServerMetrics.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ServerMetrics.empty();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.loadgen.client;
+
+import com.loadgen.client.dto.AccountDTO;
+import com.loadgen.client.dto.EventDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+//Client side of the processor's BinaryEventCodec; the layout is documented there and must stay in step
+public final class BinaryEventEncoder {
+    public static final String CONTENT_TYPE = "application/vnd.cbmm.events+binary";
+
+    private static final int MAGIC = 0x43424D4D;
+    private static final byte VERSION = 1;
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private BinaryEventEncoder() {
+    }
+
+    public static byte[] encode(List<EventDTO> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + events.size() * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(events.size());
+
+            for (EventDTO event : events) {
+                writeString(out, event.getEvent_id());
+                writeString(out, event.getEvent_type());
+                ZonedDateTime operationDate = ZonedDateTime.parse(event.getOperation_date(), DateTimeFormatter.ISO_ZONED_DATE_TIME);
+                out.writeLong(operationDate.toEpochSecond());
+                out.writeInt(operationDate.getNano());
+                out.writeInt(operationDate.getOffset().getTotalSeconds());
+                writeAccount(out, event.getOrigin());
+                writeAccount(out, event.getDestination());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeAccount(DataOutputStream out, AccountDTO account) throws IOException {
+        BigDecimal amount = account.getAmount();
+        writeString(out, account.getAccount_id());
+        writeString(out, account.getCurrency());
+        out.writeByte(amount.scale());
+        out.writeLong(amount.unscaledValue().longValueExact());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,70 @@
+package com.loadgen.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+public class CbmmClient {
+    public static final String PROCESS_BATCH = "/api/cbmm/process-batch";
+    public static final String PROCESS_BATCH_FILE = "/api/cbmm/process-batch-file";
+    public static final String PROCESS_SINGLE = "/api/cbmm/process-single";
+    public static final String PROMETHEUS = "/actuator/prometheus";
+
+    private static final String BOUNDARY = "cbmm-loadgen-boundary";
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public CbmmClient(String baseUrl, Duration timeout) {
+        //HTTP/1.1 keeps the JDK client from attempting an h2c upgrade on every plain-text POST
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+    }
+
+    public HttpResponse<byte[]> send(LoadRequest request) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.getPath()))
+                .timeout(timeout);
+
+        if (request.isMultipart()) {
+            builder.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(request)));
+        } else {
+            builder.header("Content-Type", request.getContentType())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(request.getBody()));
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    public String get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    //Single "file" part, as the batch file endpoints expect
+    private static byte[] multipart(LoadRequest request) {
+        byte[] file = request.getBody();
+        String fileName = LoadRequest.JSON.equals(request.getContentType()) ? "events.json" : "events.bin";
+        ByteArrayOutputStream body = new ByteArrayOutputStream(file.length + 256);
+        body.writeBytes(("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n" +
+                "Content-Type: " + request.getContentType() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(file);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+}
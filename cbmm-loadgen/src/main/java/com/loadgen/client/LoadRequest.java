@@ -0,0 +1,21 @@
+package com.loadgen.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+//A ready-to-send request; JSON is serialised up front so encoding stays out of the measured latency
+@Value
+@AllArgsConstructor
+public class LoadRequest {
+    public static final String JSON = "application/json";
+
+    String path;
+    boolean multipart;
+    byte[] body;
+    int events;
+    String contentType;
+
+    public LoadRequest(String path, boolean multipart, byte[] body, int events) {
+        this(path, multipart, body, events, JSON);
+    }
+}
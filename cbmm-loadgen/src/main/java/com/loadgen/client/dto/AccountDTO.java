@@ -0,0 +1,12 @@
+package com.loadgen.client.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class AccountDTO {
+    String account_id;
+    String currency;
+    BigDecimal amount;
+}
@@ -0,0 +1,13 @@
+package com.loadgen.client.dto;
+
+import lombok.Value;
+
+//Same wire shape as the processor's EventDTO
+@Value
+public class EventDTO {
+    String event_id;
+    String event_type;
+    String operation_date;
+    AccountDTO origin;
+    AccountDTO destination;
+}
@@ -0,0 +1,65 @@
+package com.loadgen.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+@ConfigurationProperties(prefix = "loadgen")
+@Getter
+@Setter
+public class LoadGenConfig {
+    private String baseUrl;
+    private Endpoint endpoint;
+    private Source source;
+    private Encoding encoding;
+    private Integer requests;
+    private Integer warmupRequests;
+    private Integer concurrency;
+    private Integer ratePerSecond;
+    private Integer batchSize;
+    private Long seed;
+    private Long requestTimeoutMs;
+    private String reportFile;
+    private Generator generator = new Generator();
+    private Replay replay = new Replay();
+
+    public enum Endpoint {
+        BATCH,
+        FILE,
+        SINGLE,
+        MIXED
+    }
+
+    public enum Source {
+        GENERATE,
+        REPLAY
+    }
+
+    public enum Encoding {
+        JSON,
+        BINARY
+    }
+
+    @Getter
+    @Setter
+    public static class Generator {
+        private String accountsFile;
+        private Double zipfExponent;
+        private Double duplicateRatio;
+        private Double currencyMismatchRatio;
+        private BigDecimal minAmount;
+        private BigDecimal maxAmount;
+    }
+
+    @Getter
+    @Setter
+    public static class Replay {
+        private String collection;
+        private String fileRoot;
+        private Boolean freshEventIds;
+    }
+}
@@ -0,0 +1,51 @@
+package com.loadgen.generator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Accounts seeded by the processor's {@code data.sql}, so generated events hit rows that exist and carry
+ * the currency each account was created with.
+ */
+public class AccountCatalog {
+    private static final Pattern ACCOUNT_ROW = Pattern.compile("\\('(\\w+)',\\s*([0-9.]+),\\s*'([A-Z]{3})'");
+
+    private final List<SeedAccount> accounts;
+
+    private AccountCatalog(List<SeedAccount> accounts) {
+        this.accounts = accounts;
+    }
+
+    public static AccountCatalog fromDataSql(Path dataSql) throws IOException {
+        return parse(Files.readString(dataSql));
+    }
+
+    public static AccountCatalog parse(String sql) {
+        List<SeedAccount> accounts = new ArrayList<>();
+        Matcher matcher = ACCOUNT_ROW.matcher(sql);
+        while (matcher.find()) {
+            accounts.add(new SeedAccount(matcher.group(1), new BigDecimal(matcher.group(2)), matcher.group(3)));
+        }
+        if (accounts.size() < 2) {
+            throw new IllegalArgumentException("At least two seeded accounts are needed, found " + accounts.size());
+        }
+        //Richest first: the hottest Zipf ranks land on the accounts that can absorb most of the debits
+        accounts.sort(Comparator.comparing(SeedAccount::getBalance).reversed().thenComparing(SeedAccount::getId));
+        return new AccountCatalog(List.copyOf(accounts));
+    }
+
+    public List<SeedAccount> getAccounts() {
+        return accounts;
+    }
+
+    public List<String> currencies() {
+        return accounts.stream().map(SeedAccount::getCurrency).distinct().sorted().toList();
+    }
+}
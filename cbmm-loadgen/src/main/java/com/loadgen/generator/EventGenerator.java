@@ -0,0 +1,114 @@
+package com.loadgen.generator;
+
+import com.loadgen.client.dto.AccountDTO;
+import com.loadgen.client.dto.EventDTO;
+import com.loadgen.config.LoadGenConfig;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Synthetic transfers between seeded accounts. Both ends are drawn from a Zipf distribution over the
+ * catalog, a share of events re-sends a recent event id and a share declares the wrong origin currency.
+ */
+public class EventGenerator {
+    private static final int DUPLICATE_WINDOW = 1024;
+    private static final String EVENT_TYPE = "TRANSFER";
+
+    private final List<SeedAccount> accounts;
+    private final List<String> currencies;
+    private final LoadGenConfig.Generator config;
+    private final RandomGenerator random;
+    private final ZipfSampler sampler;
+    private final String runId;
+
+    private final List<EventDTO> recent = new ArrayList<>();
+    private long sequence;
+    private long duplicates;
+    private long currencyMismatches;
+
+    public EventGenerator(AccountCatalog catalog, LoadGenConfig.Generator config, RandomGenerator random, String runId) {
+        this.accounts = catalog.getAccounts();
+        this.currencies = catalog.currencies();
+        this.config = config;
+        this.random = random;
+        this.sampler = new ZipfSampler(accounts.size(), config.getZipfExponent(), random);
+        this.runId = runId;
+    }
+
+    public List<EventDTO> nextBatch(int size) {
+        List<EventDTO> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(next());
+        }
+        return batch;
+    }
+
+    public EventDTO next() {
+        if (!recent.isEmpty() && random.nextDouble() < config.getDuplicateRatio()) {
+            duplicates++;
+            return recent.get(random.nextInt(recent.size()));
+        }
+
+        int sourceRank = sampler.next();
+        int destinationRank = sampler.next();
+        if (destinationRank == sourceRank) {
+            destinationRank = (sourceRank + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+        }
+        SeedAccount source = accounts.get(sourceRank);
+        SeedAccount destination = accounts.get(destinationRank);
+
+        String originCurrency = source.getCurrency();
+        if (currencies.size() > 1 && random.nextDouble() < config.getCurrencyMismatchRatio()) {
+            currencyMismatches++;
+            originCurrency = otherCurrency(source.getCurrency());
+        }
+
+        //No FX model: both legs carry the same amount, each in its own account's currency
+        BigDecimal amount = nextAmount();
+        EventDTO event = new EventDTO(
+                runId + "-" + sequence,
+                EVENT_TYPE,
+                ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_ZONED_DATE_TIME),
+                new AccountDTO(source.getId(), originCurrency, amount),
+                new AccountDTO(destination.getId(), destination.getCurrency(), amount));
+
+        if (recent.size() < DUPLICATE_WINDOW) {
+            recent.add(event);
+        } else {
+            recent.set((int) (sequence % DUPLICATE_WINDOW), event);
+        }
+        sequence++;
+        return event;
+    }
+
+    private String otherCurrency(String currency) {
+        String other;
+        do {
+            other = currencies.get(random.nextInt(currencies.size()));
+        } while (other.equals(currency));
+        return other;
+    }
+
+    private BigDecimal nextAmount() {
+        BigDecimal range = config.getMaxAmount().subtract(config.getMinAmount());
+        return config.getMinAmount()
+                .add(range.multiply(BigDecimal.valueOf(random.nextDouble())))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getCurrencyMismatches() {
+        return currencyMismatches;
+    }
+}
@@ -0,0 +1,106 @@
+package com.loadgen.generator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.loadgen.client.LoadRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the POST requests of a Postman v2.1 collection. Raw bodies are sent as JSON; form-data file parts
+ * are read from {@code fileRoot} by file name, since collections carry the exporter's absolute paths.
+ */
+@Slf4j
+public class PostmanReplay {
+    private static final String API_PREFIX = "/api/";
+
+    private final ObjectMapper objectMapper;
+    private final Path fileRoot;
+
+    public PostmanReplay(ObjectMapper objectMapper, Path fileRoot) {
+        this.objectMapper = objectMapper;
+        this.fileRoot = fileRoot;
+    }
+
+    public List<LoadRequest> load(Path collection) throws IOException {
+        List<LoadRequest> requests = new ArrayList<>();
+        collect(objectMapper.readTree(collection.toFile()).path("item"), requests);
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("No replayable POST requests in " + collection);
+        }
+        return requests;
+    }
+
+    //Gives every event in the request a new id for this pass through the collection
+    public LoadRequest withFreshEventIds(LoadRequest request, String suffix) throws IOException {
+        JsonNode body = objectMapper.readTree(request.getBody());
+        for (JsonNode event : body.isArray() ? body : List.of(body)) {
+            if (event instanceof ObjectNode node && node.hasNonNull("event_id")) {
+                node.put("event_id", node.get("event_id").asText() + "-" + suffix);
+            }
+        }
+        return new LoadRequest(request.getPath(), request.isMultipart(), objectMapper.writeValueAsBytes(body),
+                request.getEvents(), request.getContentType());
+    }
+
+    private void collect(JsonNode items, List<LoadRequest> requests) throws IOException {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.get("item"), requests);
+                continue;
+            }
+
+            JsonNode request = item.path("request");
+            if (!"POST".equalsIgnoreCase(request.path("method").asText())) {
+                continue;
+            }
+            String path = path(request.path("url"));
+            if (path == null) {
+                log.warn("Skipping '{}': no {} path in its url", item.path("name").asText(), API_PREFIX);
+                continue;
+            }
+
+            JsonNode body = request.path("body");
+            switch (body.path("mode").asText()) {
+                case "raw" -> requests.add(request(path, false,
+                        body.path("raw").asText().getBytes(StandardCharsets.UTF_8)));
+                case "formdata" -> requests.add(request(path, true, Files.readAllBytes(formDataFile(body))));
+                default -> log.warn("Skipping '{}': unsupported body mode '{}'",
+                        item.path("name").asText(), body.path("mode").asText());
+            }
+        }
+    }
+
+    //Keeps everything from /api/ on, so {{baseUrl}} variables and the exporter's host do not matter
+    private static String path(JsonNode url) {
+        String raw = url.isTextual() ? url.asText() : url.path("raw").asText();
+        int start = raw.indexOf(API_PREFIX);
+        return start < 0 ? null : raw.substring(start);
+    }
+
+    private Path formDataFile(JsonNode body) {
+        for (JsonNode part : body.path("formdata")) {
+            if ("file".equals(part.path("type").asText()) && part.path("src").isTextual()) {
+                String src = part.path("src").asText();
+                Path file = fileRoot.resolve(src.substring(Math.max(src.lastIndexOf('/'), src.lastIndexOf('\\')) + 1));
+                if (!Files.isRegularFile(file)) {
+                    throw new IllegalArgumentException("Form-data file " + src + " not found as " + file);
+                }
+                return file;
+            }
+        }
+        throw new IllegalArgumentException("Form-data body without a file part");
+    }
+
+    private LoadRequest request(String path, boolean multipart, byte[] body) throws IOException {
+        JsonNode events = objectMapper.readTree(body);
+        return new LoadRequest(path, multipart, body, events.isArray() ? events.size() : 1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.loadgen.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loadgen.client.BinaryEventEncoder;
+import com.loadgen.client.CbmmClient;
+import com.loadgen.client.LoadRequest;
+import com.loadgen.client.dto.EventDTO;
+import com.loadgen.config.LoadGenConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+//Builds every request of the run before the first one is sent
+@Slf4j
+public class RequestPlanner {
+    private static final List<LoadGenConfig.Endpoint> MIXED_ROTATION =
+            List.of(LoadGenConfig.Endpoint.BATCH, LoadGenConfig.Endpoint.FILE, LoadGenConfig.Endpoint.SINGLE);
+
+    private final LoadGenConfig config;
+    private final ObjectMapper objectMapper;
+    //Seeded randomness keeps the payloads reproducible, the run id keeps reruns from being all duplicates
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    public RequestPlanner(LoadGenConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<LoadRequest> plan(int count) throws IOException {
+        return config.getSource() == LoadGenConfig.Source.REPLAY ? replay(count) : generate(count);
+    }
+
+    private List<LoadRequest> generate(int count) throws IOException {
+        AccountCatalog catalog = AccountCatalog.fromDataSql(Path.of(config.getGenerator().getAccountsFile()));
+        EventGenerator generator = new EventGenerator(catalog, config.getGenerator(),
+                new SplittableRandom(config.getSeed()), runId);
+
+        List<LoadRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(switch (endpoint(i)) {
+                case SINGLE -> new LoadRequest(CbmmClient.PROCESS_SINGLE, false,
+                        objectMapper.writeValueAsBytes(generator.next()), 1);
+                case FILE -> batch(CbmmClient.PROCESS_BATCH_FILE, true, generator.nextBatch(config.getBatchSize()));
+                default -> batch(CbmmClient.PROCESS_BATCH, false, generator.nextBatch(config.getBatchSize()));
+            });
+        }
+        log.info("Generated {} requests over {} accounts: {} duplicate events, {} currency mismatches",
+                count, catalog.getAccounts().size(), generator.getDuplicates(), generator.getCurrencyMismatches());
+        return requests;
+    }
+
+    //Only the batch endpoints take the binary encoding; single events are always JSON
+    private LoadRequest batch(String path, boolean multipart, List<EventDTO> events) throws IOException {
+        return config.getEncoding() == LoadGenConfig.Encoding.BINARY
+                ? new LoadRequest(path, multipart, BinaryEventEncoder.encode(events), events.size(),
+                        BinaryEventEncoder.CONTENT_TYPE)
+                : new LoadRequest(path, multipart, objectMapper.writeValueAsBytes(events), events.size());
+    }
+
+    private List<LoadRequest> replay(int count) throws IOException {
+        LoadGenConfig.Replay replay = config.getReplay();
+        PostmanReplay postmanReplay = new PostmanReplay(objectMapper, Path.of(replay.getFileRoot()));
+        List<LoadRequest> collection = postmanReplay.load(Path.of(replay.getCollection()));
+
+        List<LoadRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LoadRequest request = collection.get(i % collection.size());
+            requests.add(Boolean.TRUE.equals(replay.getFreshEventIds())
+                    ? postmanReplay.withFreshEventIds(request, runId + "-" + i / collection.size())
+                    : request);
+        }
+        log.info("Replaying {} requests from {} collection entries", count, collection.size());
+        return requests;
+    }
+
+    private LoadGenConfig.Endpoint endpoint(int index) {
+        return config.getEndpoint() == LoadGenConfig.Endpoint.MIXED
+                ? MIXED_ROTATION.get(index % MIXED_ROTATION.size())
+                : config.getEndpoint();
+    }
+}
@@ -0,0 +1,12 @@
+package com.loadgen.generator;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class SeedAccount {
+    String id;
+    BigDecimal balance;
+    String currency;
+}
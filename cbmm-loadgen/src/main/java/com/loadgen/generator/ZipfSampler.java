@@ -0,0 +1,29 @@
+package com.loadgen.generator;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+//Rank k (0-based) is drawn with probability proportional to 1 / (k + 1)^exponent; exponent 0 is uniform
+public class ZipfSampler {
+    private final double[] cumulative;
+    private final RandomGenerator random;
+
+    public ZipfSampler(int size, double exponent, RandomGenerator random) {
+        this.random = random;
+        this.cumulative = new double[size];
+
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    public int next() {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
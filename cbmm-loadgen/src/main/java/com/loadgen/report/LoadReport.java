@@ -0,0 +1,93 @@
+package com.loadgen.report;
+
+import com.loadgen.config.LoadGenConfig;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Value
+public class LoadReport {
+    String source;
+    String endpoint;
+    int concurrency;
+    int ratePerSecond;
+    double elapsedSeconds;
+    long requests;
+    long events;
+    double requestsPerSecond;
+    double eventsPerSecond;
+    Map<String, Latency> latencyMs;
+    Map<String, Long> httpStatuses;
+    Map<String, Long> outcomes;
+    Map<String, Long> failureReasons;
+    Map<String, Double> server;
+
+    @Value
+    public static class Latency {
+        long count;
+        double p50;
+        double p99;
+        double p999;
+        double max;
+
+        static Latency of(Histogram histogram) {
+            return new Latency(histogram.getTotalCount(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    public static LoadReport of(LoadGenConfig config, RunStats stats, long elapsedNanos, Map<String, Double> server) {
+        Map<String, Latency> latency = new LinkedHashMap<>();
+        stats.getLatencies().forEach((path, histogram) -> latency.put(path, Latency.of(histogram)));
+
+        long requests = latency.values().stream().mapToLong(Latency::getCount).sum();
+        long events = stats.getEvents().values().stream().mapToLong(Long::longValue).sum();
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        //Replayed requests go wherever the collection sends them
+        String endpoint = config.getSource() == LoadGenConfig.Source.REPLAY ? "COLLECTION" : config.getEndpoint().name();
+        if (config.getSource() == LoadGenConfig.Source.GENERATE && config.getEncoding() == LoadGenConfig.Encoding.BINARY) {
+            endpoint += " (binary)";
+        }
+        return new LoadReport(config.getSource().name(), endpoint, config.getConcurrency(),
+                config.getRatePerSecond(), seconds, requests, events, requests / seconds, events / seconds,
+                latency, stats.getHttpStatuses(), stats.getOutcomes(), stats.getFailureReasons(), server);
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Source %s, endpoint %s, concurrency %d, rate %s%n", source, endpoint, concurrency,
+                ratePerSecond > 0 ? ratePerSecond + "/s" : "closed loop"));
+        text.append(String.format("%d requests / %d events in %.2fs: %.1f req/s, %.1f events/s%n",
+                requests, events, elapsedSeconds, requestsPerSecond, eventsPerSecond));
+
+        text.append(String.format("%nLatency (ms)%n%-32s %8s %10s %10s %10s %10s%n", "", "count", "p50", "p99", "p99.9", "max"));
+        latencyMs.forEach((path, latency) -> text.append(String.format("%-32s %8d %10.2f %10.2f %10.2f %10.2f%n",
+                path, latency.getCount(), latency.getP50(), latency.getP99(), latency.getP999(), latency.getMax())));
+
+        section(text, "HTTP status", httpStatuses);
+        section(text, "Event outcomes", outcomes);
+        section(text, "Failure reasons", failureReasons);
+        section(text, "Server retries, conflicts and admission (delta over the run)", server);
+        return text.toString();
+    }
+
+    private static void section(StringBuilder text, String title, Map<String, ? extends Number> values) {
+        text.append(String.format("%n%s%n", title));
+        if (values.isEmpty()) {
+            text.append("  (none)\n");
+        }
+        values.forEach((key, value) -> text.append(String.format("  %-70s %12s%n", key,
+                value instanceof Double d && d == Math.rint(d) ? String.valueOf(d.longValue()) : value)));
+    }
+}
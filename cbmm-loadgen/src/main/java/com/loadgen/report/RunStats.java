@@ -0,0 +1,92 @@
+package com.loadgen.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.loadgen.client.LoadRequest;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//Client-side view of a run: latency per endpoint plus HTTP statuses and per-event outcomes
+public class RunStats {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int MAX_REASON_LENGTH = 80;
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> events = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> httpStatuses = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failureReasons = new ConcurrentHashMap<>();
+
+    public void recordResponse(LoadRequest request, long latencyNanos, int status, JsonNode body) {
+        record(request, latencyNanos, String.valueOf(status));
+        if (status != 200 || body == null) {
+            return;
+        }
+
+        if (body.has("results")) {
+            body.get("results").forEach(this::recordOutcome);
+        } else if (body.has("status")) {
+            recordOutcome(body);
+        }
+    }
+
+    public void recordError(LoadRequest request, long latencyNanos, Exception error) {
+        record(request, latencyNanos, error.getClass().getSimpleName());
+    }
+
+    private void record(LoadRequest request, long latencyNanos, String status) {
+        latencies.computeIfAbsent(request.getPath(), path -> new ConcurrentHistogram(SIGNIFICANT_DIGITS))
+                .recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        increment(events, request.getPath(), request.getEvents());
+        increment(httpStatuses, status, 1);
+    }
+
+    private void recordOutcome(JsonNode result) {
+        String status = result.path("status").asText();
+        increment(outcomes, status, 1);
+        if ("FAILED".equals(status)) {
+            increment(failureReasons, reason(result.path("message").asText()), 1);
+        }
+    }
+
+    //Ids and amounts are masked so failures group by cause rather than by account or event
+    static String reason(String message) {
+        String reason = message.replaceAll("\\S*\\d\\S*", "#");
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+
+    private static void increment(Map<String, LongAdder> counters, String key, long amount) {
+        counters.computeIfAbsent(key, k -> new LongAdder()).add(amount);
+    }
+
+    public Map<String, Histogram> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+
+    public Map<String, Long> getEvents() {
+        return snapshot(events);
+    }
+
+    public Map<String, Long> getHttpStatuses() {
+        return snapshot(httpStatuses);
+    }
+
+    public Map<String, Long> getOutcomes() {
+        return snapshot(outcomes);
+    }
+
+    public Map<String, Long> getFailureReasons() {
+        return snapshot(failureReasons);
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,61 @@
+package com.loadgen.report;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The processor's retry, conflict, admission and outcome series from {@code /actuator/prometheus}.
+ * Counters are reported as the difference between two scrapes, gauges as their last value.
+ */
+public class ServerMetrics {
+    private static final List<String> TRACKED_PREFIXES = List.of(
+            "cbmm_retry_", "cbmm_transactions_total", "cbmm_admission_rejected_total", "cbmm_outbox_");
+    private static final List<String> COUNTER_SUFFIXES = List.of("_total", "_count", "_sum");
+
+    private final Map<String, Double> series;
+
+    private ServerMetrics(Map<String, Double> series) {
+        this.series = series;
+    }
+
+    public static ServerMetrics empty() {
+        return new ServerMetrics(Map.of());
+    }
+
+    public static ServerMetrics parse(String exposition) {
+        Map<String, Double> series = new HashMap<>();
+        for (String line : exposition.split("\n")) {
+            if (line.isBlank() || line.startsWith("#") || TRACKED_PREFIXES.stream().noneMatch(line::startsWith)) {
+                continue;
+            }
+            int labelsEnd = line.indexOf('}');
+            int split = labelsEnd >= 0 ? labelsEnd + 1 : line.indexOf(' ');
+            String name = line.substring(0, split).trim();
+            try {
+                series.put(name, Double.parseDouble(line.substring(split).trim().split("\\s+")[0]));
+            } catch (NumberFormatException e) {
+                //Only histogram buckets carry +Inf and none of them are tracked
+            }
+        }
+        return new ServerMetrics(series);
+    }
+
+    public Map<String, Double> since(ServerMetrics before) {
+        Map<String, Double> changes = new TreeMap<>();
+        series.forEach((name, value) -> {
+            boolean counter = COUNTER_SUFFIXES.stream().anyMatch(suffix -> baseName(name).endsWith(suffix));
+            double reported = counter ? value - before.series.getOrDefault(name, 0.0) : value;
+            if (!counter || reported != 0) {
+                changes.put(name, reported);
+            }
+        });
+        return changes;
+    }
+
+    private static String baseName(String name) {
+        int labels = name.indexOf('{');
+        return labels < 0 ? name : name.substring(0, labels);
+    }
+}
@@ -0,0 +1,93 @@
+package com.loadgen.generator;
+
+import com.loadgen.client.dto.EventDTO;
+import com.loadgen.config.LoadGenConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventGeneratorTest {
+    private static final String DATA_SQL = """
+            INSERT INTO accounts (id, balance, currency, version, created_at, updated_at)
+            VALUES
+                ('ACC1', 100.0000, 'MXN', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+                ('ACC2', 900000.0000, 'MXN', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+                ('ACC3', 5000.0000, 'USD', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+                ('ACC4', 0.0000, 'EUR', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+            """;
+    private static final int EVENTS = 20_000;
+
+    private AccountCatalog catalog;
+    private LoadGenConfig.Generator config;
+
+    @BeforeEach
+    void setUp() {
+        catalog = AccountCatalog.parse(DATA_SQL);
+        config = new LoadGenConfig.Generator();
+        config.setZipfExponent(1.2);
+        config.setDuplicateRatio(0.1);
+        config.setCurrencyMismatchRatio(0.05);
+        config.setMinAmount(new BigDecimal("1.00"));
+        config.setMaxAmount(new BigDecimal("10.00"));
+    }
+
+    @Test
+    @DisplayName("Should read the seeded accounts richest first")
+    void testGivenDataSql_ThenParseAccountsByBalance() {
+        assertEquals(List.of("ACC2", "ACC3", "ACC1", "ACC4"),
+                catalog.getAccounts().stream().map(SeedAccount::getId).toList());
+        assertEquals(List.of("EUR", "MXN", "USD"), catalog.currencies());
+    }
+
+    @Test
+    @DisplayName("Should skew traffic to the hottest accounts and never transfer to the same account")
+    void testGivenZipfExponent_ThenSkewTowardsFirstRanks() {
+        config.setDuplicateRatio(0.0);
+        EventGenerator generator = new EventGenerator(catalog, config, new SplittableRandom(7), "run");
+
+        Map<String, Integer> debits = new HashMap<>();
+        for (EventDTO event : generator.nextBatch(EVENTS)) {
+            assertNotEquals(event.getOrigin().getAccount_id(), event.getDestination().getAccount_id());
+            assertThat(event.getOrigin().getAmount()).isBetween(new BigDecimal("1.00"), new BigDecimal("10.00"));
+            debits.merge(event.getOrigin().getAccount_id(), 1, Integer::sum);
+        }
+
+        assertThat(debits.get("ACC2")).isGreaterThan(debits.get("ACC3"));
+        assertThat(debits.get("ACC3")).isGreaterThan(debits.get("ACC4"));
+    }
+
+    @Test
+    @DisplayName("Should repeat recent event ids and declare a foreign origin currency at the configured ratios")
+    void testGivenRatios_ThenEmitDuplicatesAndMismatches() {
+        EventGenerator generator = new EventGenerator(catalog, config, new SplittableRandom(7), "run");
+        Map<String, String> currencyByAccount = new HashMap<>();
+        catalog.getAccounts().forEach(account -> currencyByAccount.put(account.getId(), account.getCurrency()));
+
+        Set<String> eventIds = new HashSet<>();
+        int repeated = 0;
+        int mismatched = 0;
+        for (EventDTO event : generator.nextBatch(EVENTS)) {
+            if (!eventIds.add(event.getEvent_id())) {
+                repeated++;
+            } else if (!event.getOrigin().getCurrency().equals(currencyByAccount.get(event.getOrigin().getAccount_id()))) {
+                mismatched++;
+            }
+        }
+
+        assertEquals(generator.getDuplicates(), repeated);
+        assertEquals(generator.getCurrencyMismatches(), mismatched);
+        assertThat(repeated).isBetween((int) (EVENTS * 0.08), (int) (EVENTS * 0.12));
+        assertThat(mismatched).isBetween((int) (EVENTS * 0.9 * 0.03), (int) (EVENTS * 0.9 * 0.07));
+    }
+}
@@ -0,0 +1,65 @@
+package com.loadgen.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loadgen.client.LoadRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostmanReplayTest {
+    private static final String COLLECTION = """
+            {"item": [
+              {"name": "file", "request": {"method": "POST",
+                "body": {"mode": "formdata", "formdata": [{"key": "file", "type": "file", "src": "/C:/Users/someone/Desktop/events.json"}]},
+                "url": {"raw": "http://localhost:8080/api/cbmm/process-batch-file"}}},
+              {"name": "folder", "item": [
+                {"name": "single", "request": {"method": "POST",
+                  "body": {"mode": "raw", "raw": "{\\"event_id\\": \\"evt9\\"}"},
+                  "url": "{{baseUrl}}/api/cbmm/process-single"}},
+                {"name": "health", "request": {"method": "GET", "url": "http://localhost:8080/api/cbmm/health"}}
+              ]}
+            ]}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path root;
+
+    @Test
+    @DisplayName("Should load POST requests, resolving form-data files by name under the file root")
+    void testGivenCollection_ThenLoadReplayableRequests() throws Exception {
+        Files.writeString(root.resolve("events.json"), "[{\"event_id\": \"evt1\"}, {\"event_id\": \"evt2\"}]");
+        Path collection = Files.writeString(root.resolve("collection.json"), COLLECTION);
+
+        List<LoadRequest> requests = new PostmanReplay(objectMapper, root).load(collection);
+
+        assertEquals(2, requests.size());
+        assertEquals("/api/cbmm/process-batch-file", requests.get(0).getPath());
+        assertTrue(requests.get(0).isMultipart());
+        assertEquals(2, requests.get(0).getEvents());
+        assertEquals("/api/cbmm/process-single", requests.get(1).getPath());
+        assertFalse(requests.get(1).isMultipart());
+        assertEquals(1, requests.get(1).getEvents());
+    }
+
+    @Test
+    @DisplayName("Should suffix every event id when refreshing a replayed request")
+    void testGivenFreshEventIds_ThenSuffixEachEvent() throws Exception {
+        LoadRequest request = new LoadRequest("/api/cbmm/process-batch", false,
+                "[{\"event_id\": \"evt1\"}, {\"event_id\": \"evt2\"}]".getBytes(StandardCharsets.UTF_8), 2);
+
+        LoadRequest refreshed = new PostmanReplay(objectMapper, root).withFreshEventIds(request, "r1");
+
+        assertEquals("[{\"event_id\":\"evt1-r1\"},{\"event_id\":\"evt2-r1\"}]",
+                new String(refreshed.getBody(), StandardCharsets.UTF_8));
+        assertEquals(2, refreshed.getEvents());
+    }
+}
@@ -0,0 +1,49 @@
+package com.loadgen.report;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerMetricsTest {
+
+    @Test
+    @DisplayName("Should report counter deltas between scrapes and the last value of gauges")
+    void testGivenTwoScrapes_ThenReportDeltas() {
+        ServerMetrics before = ServerMetrics.parse("""
+                # HELP cbmm_retry_conflicts_total
+                # TYPE cbmm_retry_conflicts_total counter
+                cbmm_retry_conflicts_total{attempt="1"} 4.0
+                cbmm_transactions_total{status="SUCCESS"} 10.0
+                cbmm_transactions_total{status="FAILED"} 2.0
+                """);
+        ServerMetrics after = ServerMetrics.parse("""
+                cbmm_retry_conflicts_total{attempt="1"} 9.0
+                cbmm_retry_conflicts_total{attempt="2"} 1.0
+                cbmm_retry_pending 3.0
+                cbmm_retry_queue_time_seconds_bucket{le="+Inf"} 6.0
+                cbmm_transactions_total{status="SUCCESS"} 110.0
+                cbmm_transactions_total{status="FAILED"} 2.0
+                jvm_threads_live_threads 40.0
+                """);
+
+        Map<String, Double> changes = after.since(before);
+
+        assertEquals(Map.of(
+                "cbmm_retry_conflicts_total{attempt=\"1\"}", 5.0,
+                "cbmm_retry_conflicts_total{attempt=\"2\"}", 1.0,
+                "cbmm_retry_pending", 3.0,
+                "cbmm_retry_queue_time_seconds_bucket{le=\"+Inf\"}", 6.0,
+                "cbmm_transactions_total{status=\"SUCCESS\"}", 100.0), changes);
+    }
+
+    @Test
+    @DisplayName("Should group failure messages by cause")
+    void testGivenFailureMessages_ThenMaskIdentifiers() {
+        assertEquals("Account not found: #", RunStats.reason("Account not found: ACC123456789"));
+        assertEquals("Source account has insufficient balance for event #",
+                RunStats.reason("Source account has insufficient balance for event lx2-17"));
+    }
+}
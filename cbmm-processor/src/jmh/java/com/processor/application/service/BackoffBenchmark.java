@@ -0,0 +1,37 @@
+package com.processor.application.service;
+
+import com.processor.infrastructure.config.TransactionConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backoff computation on every optimistic lock conflict; attempt 5 hits the max delay cap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackoffBenchmark {
+    @Param({"1", "5"})
+    public int attempt;
+
+    private CbmmTransactionApplicationService service;
+
+    @Setup
+    public void setUp() {
+        TransactionConfig transactionConfig = new TransactionConfig();
+        transactionConfig.setMaxAttempts(5);
+        transactionConfig.setBaseDelayMs(50L);
+        transactionConfig.setMaxDelayMs(2000L);
+
+        service = new CbmmTransactionApplicationService(transactionConfig, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public long calculateBackoffWithJitter() {
+        return service.calculateBackoffWithJitter(attempt);
+    }
+}
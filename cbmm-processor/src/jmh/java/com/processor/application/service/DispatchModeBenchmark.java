@@ -0,0 +1,225 @@
+package com.processor.application.service;
+
+import com.processor.core.domain.enums.ClaimStatus;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransactionResult;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
+import com.processor.core.ports.out.IdempotencyChecker;
+import com.processor.infrastructure.config.AdmissionConfig;
+import com.processor.infrastructure.config.AsyncConfiguration;
+import com.processor.infrastructure.config.DispatchConfig;
+import com.processor.infrastructure.config.ExecutionConfig;
+import com.processor.infrastructure.config.GroupCommitConfig;
+import com.processor.infrastructure.config.NettingConfig;
+import com.processor.infrastructure.config.OutboxConfig;
+import com.processor.infrastructure.config.PersistenceConfig;
+import com.processor.infrastructure.config.TransactionConfig;
+import com.processor.infrastructure.metrics.TransactionMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares the default fan-out dispatch against per-account lanes on a batch with a hot source account.
+ * The use case is an in-memory stand-in that behaves like the JPA path: read both versions, spend a DB
+ * round trip, then fail with an optimistic lock conflict if another writer bumped either version meanwhile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DispatchModeBenchmark {
+    private static final int ACCOUNTS = 64;
+    private static final String HOT_ACCOUNT = "ACC000000000";
+
+    @Param({"FAN_OUT", "SHARDED"})
+    public DispatchConfig.DispatchMode mode;
+
+    @Param({"200"})
+    public int batchSize;
+
+    @Param({"0.5"})
+    public double hotAccountRatio;
+
+    @Param({"200"})
+    public long dbLatencyMicros;
+
+    private ContendedUseCase useCase;
+    private AccountLaneDispatcher laneDispatcher;
+    private ThreadPoolTaskExecutor transactionExecutor;
+    private CbmmTransactionApplicationService service;
+    private List<TransactionData> batch;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long conflicts;
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TransactionConfig transactionConfig = new TransactionConfig();
+        transactionConfig.setMaxAttempts(5);
+        transactionConfig.setBaseDelayMs(50L);
+        transactionConfig.setMaxDelayMs(2000L);
+
+        DispatchConfig dispatchConfig = new DispatchConfig();
+        dispatchConfig.setMode(mode);
+        dispatchConfig.setLanes(8);
+
+        useCase = new ContendedUseCase(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+        laneDispatcher = new AccountLaneDispatcher(dispatchConfig);
+        GroupCommitProcessor groupCommitDisabled =
+                new GroupCommitProcessor(new GroupCommitConfig(), useCase, null, null);
+        ExecutionConfig executionConfig = new ExecutionConfig();
+        executionConfig.setMode(ExecutionConfig.ExecutionMode.PLATFORM);
+        AdmissionConfig admissionConfig = new AdmissionConfig();
+        admissionConfig.setMaxInFlightEvents(batchSize);
+        transactionExecutor = (ThreadPoolTaskExecutor) new AsyncConfiguration(executionConfig, admissionConfig)
+                .cbmmTransactionExecutor(null, new SimpleMeterRegistry());
+        service = new CbmmTransactionApplicationService(transactionConfig, useCase,
+                new AlwaysFreshIdempotencyChecker(), dispatchConfig, laneDispatcher, groupCommitDisabled,
+                transactionExecutor, new TransactionMetrics(new SimpleMeterRegistry()),
+                new AccountPrecheck(new NoSnapshotAccountRepository(), new PersistenceConfig()), new NettingConfig(), null,
+                new RetryScheduler(transactionExecutor, new SimpleMeterRegistry()), new OutboxConfig(),
+                admissionConfig, new PersistenceConfig());
+        batch = buildBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        laneDispatcher.shutdown();
+        transactionExecutor.shutdown();
+    }
+
+    @Benchmark
+    public List<TransactionResult> processBatch(Outcomes outcomes) {
+        long conflictsBefore = useCase.conflicts.get();
+
+        List<TransactionResult> results =
+                service.waitForAllTransactions(service.processTransactionsConcurrently(batch));
+
+        outcomes.conflicts += useCase.conflicts.get() - conflictsBefore;
+        outcomes.failed += results.stream()
+                .filter(r -> r.getStatus() == TransactionResult.TransactionStatus.FAILED)
+                .count();
+        return results;
+    }
+
+    private List<TransactionData> buildBatch() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<TransactionData> events = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            String source = random.nextDouble() < hotAccountRatio
+                    ? HOT_ACCOUNT : accountId(1 + random.nextInt(ACCOUNTS - 1));
+            String destination;
+            do {
+                destination = accountId(1 + random.nextInt(ACCOUNTS - 1));
+            } while (destination.equals(source));
+
+            BigDecimal amount = BigDecimal.TEN;
+            events.add(new TransactionData("bench_" + i,
+                    new TransferAccount(source, "USD", amount),
+                    new TransferAccount(destination, "USD", amount),
+                    LocalDateTime.now()));
+        }
+        return events;
+    }
+
+    private static String accountId(int index) {
+        return String.format("ACC%09d", index);
+    }
+
+    static final class ContendedUseCase implements ProcessCbmmTransactionUseCase {
+        private final Map<String, Long> versions = new HashMap<>();
+        private final AtomicLong conflicts = new AtomicLong();
+        private final long dbLatencyNanos;
+
+        ContendedUseCase(long dbLatencyNanos) {
+            this.dbLatencyNanos = dbLatencyNanos;
+            for (int i = 0; i < ACCOUNTS; i++) {
+                versions.put(accountId(i), 0L);
+            }
+        }
+
+        @Override
+        public void process(TransactionData transaction) {
+            processWithinTransaction(transaction);
+        }
+
+        @Override
+        public void processWithinTransaction(TransactionData transaction) {
+            String source = transaction.getSourceAccount().getAccountId();
+            String destination = transaction.getDestinationAccount().getAccountId();
+
+            long sourceVersion;
+            long destinationVersion;
+            synchronized (versions) {
+                sourceVersion = versions.get(source);
+                destinationVersion = versions.get(destination);
+            }
+
+            LockSupport.parkNanos(dbLatencyNanos);
+
+            synchronized (versions) {
+                if (versions.get(source) != sourceVersion || versions.get(destination) != destinationVersion) {
+                    conflicts.incrementAndGet();
+                    throw new OptimisticLockingFailureException("Version conflict on " + source + " -> " + destination);
+                }
+                versions.put(source, sourceVersion + 1);
+                versions.put(destination, destinationVersion + 1);
+            }
+        }
+    }
+
+    static final class AlwaysFreshIdempotencyChecker implements IdempotencyChecker {
+        @Override
+        public boolean isProcessed(String eventId) {
+            return false;
+        }
+
+        @Override
+        public Set<String> findProcessed(Collection<String> eventIds) {
+            return Set.of();
+        }
+
+        @Override
+        public ClaimStatus tryClaim(String eventId) {
+            return ClaimStatus.CLAIMED;
+        }
+
+        @Override
+        public void markAsProcessed(String eventId) {
+        }
+
+        @Override
+        public void markAllAsProcessed(Collection<String> eventIds) {
+        }
+
+        @Override
+        public void markAsFailed(String eventId, String errorMessage) {
+        }
+
+        @Override
+        public void release(String eventId) {
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.processor.application.service;
+
+import com.processor.core.domain.enums.ClaimStatus;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransactionResult;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
+import com.processor.core.ports.out.IdempotencyChecker;
+import com.processor.infrastructure.config.AdmissionConfig;
+import com.processor.infrastructure.config.AsyncConfiguration;
+import com.processor.infrastructure.config.DispatchConfig;
+import com.processor.infrastructure.config.ExecutionConfig;
+import com.processor.infrastructure.config.GroupCommitConfig;
+import com.processor.infrastructure.config.NettingConfig;
+import com.processor.infrastructure.config.OutboxConfig;
+import com.processor.infrastructure.config.PersistenceConfig;
+import com.processor.infrastructure.config.TransactionConfig;
+import com.processor.infrastructure.metrics.TransactionMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pushes 1k, 10k and 100k events through the service at once with blocking stand-ins for JDBC and Redis.
+ * LEGACY is the executor the pipeline actually ran on before (CompletableFuture's default async pool),
+ * PLATFORM and VIRTUAL are the beans built by {@link AsyncConfiguration}. {@code processBatch} scores whole
+ * batches per second, and its {@code events} counter is the same throughput in events per second.
+ * {@code eventLatency} samples one event from submission to completion while {@code events} others stay in
+ * flight, so its p0.99 is the tail latency at that concurrency. Under LEGACY the probe and the load sit in
+ * different ForkJoinPool submission queues, which are not drained in FIFO order, so the probe skips most of
+ * the backlog there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+    private static final int CONNECTION_POOL_SIZE = 10;
+    private static final int ACCOUNTS = 10_000;
+
+    @Param({"LEGACY", "PLATFORM", "VIRTUAL"})
+    public String executor;
+
+    @Param({"1000", "10000", "100000"})
+    public int events;
+
+    @Param({"500"})
+    public long dbLatencyMicros;
+
+    @Param({"200"})
+    public long redisLatencyMicros;
+
+    @Param({"4"})
+    public int permitsPerConnection;
+
+    private Executor transactionExecutor;
+    private CbmmTransactionApplicationService service;
+    private List<TransactionData> batch;
+
+    //OPERATIONS counters are divided by the iteration time, so this reads as events/s
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public long events;
+    }
+
+    //Keeps `events` transfers in flight for the whole iteration: each one submits a fresh event when it completes.
+    //Refills go through one outside thread; resubmitted from a ForkJoinPool worker they would land on its local
+    //LIFO deque and starve the probe queued behind them
+    @State(Scope.Benchmark)
+    public static class BackgroundLoad {
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean running;
+        private CbmmTransactionApplicationService service;
+        private ExecutorService feeder;
+
+        @Setup(Level.Iteration)
+        public void start(ExecutionModeBenchmark benchmark) {
+            service = benchmark.service;
+            feeder = Executors.newSingleThreadExecutor();
+            running = true;
+            for (int i = 0; i < benchmark.events; i++) {
+                submit();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() {
+            running = false;
+            while (inFlight.get() > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            feeder.shutdown();
+        }
+
+        private void submit() {
+            inFlight.incrementAndGet();
+            service.processTransactionAsync(event("load_", sequence.getAndIncrement()))
+                    .whenCompleteAsync((result, error) -> {
+                        inFlight.decrementAndGet();
+                        if (running) {
+                            submit();
+                        }
+                    }, feeder);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TransactionConfig transactionConfig = new TransactionConfig();
+        transactionConfig.setMaxAttempts(5);
+        transactionConfig.setBaseDelayMs(50L);
+        transactionConfig.setMaxDelayMs(2000L);
+
+        DispatchConfig dispatchConfig = new DispatchConfig();
+        dispatchConfig.setMode(DispatchConfig.DispatchMode.FAN_OUT);
+        dispatchConfig.setLanes(1);
+
+        transactionExecutor = buildExecutor();
+        AdmissionConfig admissionConfig = new AdmissionConfig();
+        admissionConfig.setMaxInFlightEvents(events);
+
+        PooledUseCase useCase = new PooledUseCase(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+        service = new CbmmTransactionApplicationService(transactionConfig, useCase,
+                new BlockingIdempotencyChecker(TimeUnit.MICROSECONDS.toNanos(redisLatencyMicros)),
+                dispatchConfig, new AccountLaneDispatcher(dispatchConfig),
+                new GroupCommitProcessor(new GroupCommitConfig(), useCase, null, null),
+                transactionExecutor, new TransactionMetrics(new SimpleMeterRegistry()),
+                new AccountPrecheck(new NoSnapshotAccountRepository(), new PersistenceConfig()), new NettingConfig(), null,
+                new RetryScheduler(transactionExecutor, new SimpleMeterRegistry()), new OutboxConfig(),
+                admissionConfig, new PersistenceConfig());
+    }
+
+    @Setup(Level.Iteration)
+    public void buildBatch() {
+        //Fresh ids every iteration; the stub checker never reports duplicates anyway
+        batch = new ArrayList<>(events);
+        long run = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            batch.add(event("bench_" + run + "_", i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (transactionExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<TransactionResult> processBatch(Throughput throughput) {
+        List<TransactionResult> results =
+                service.waitForAllTransactions(service.processTransactionsConcurrently(batch));
+        throughput.events += results.size();
+        return results;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TransactionResult eventLatency(BackgroundLoad load) {
+        return service.processTransactionAsync(event("probe_", load.sequence.getAndIncrement())).join();
+    }
+
+    private static TransactionData event(String prefix, long index) {
+        int account = (int) (index % ACCOUNTS);
+        BigDecimal amount = BigDecimal.ONE;
+        return new TransactionData(prefix + index,
+                new TransferAccount("ACC" + account, "USD", amount),
+                new TransferAccount("ACC" + ((account + 1) % ACCOUNTS), "USD", amount),
+                LocalDateTime.now());
+    }
+
+    private Executor buildExecutor() {
+        if ("LEGACY".equals(executor)) {
+            return new CompletableFuture<Void>().defaultExecutor();
+        }
+
+        ExecutionConfig executionConfig = new ExecutionConfig();
+        executionConfig.setMode(ExecutionConfig.ExecutionMode.valueOf(executor));
+        executionConfig.setPermitsPerConnection(permitsPerConnection);
+
+        //The whole batch is treated as admitted, so the platform queue holds it instead of rejecting
+        AdmissionConfig admissionConfig = new AdmissionConfig();
+        admissionConfig.setMaxInFlightEvents(events);
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(CONNECTION_POOL_SIZE);
+        return new AsyncConfiguration(executionConfig, admissionConfig)
+                .cbmmTransactionExecutor(dataSource, new SimpleMeterRegistry());
+    }
+
+    //Each transfer holds one of CONNECTION_POOL_SIZE connections for a DB round trip, like Hikari would
+    static final class PooledUseCase implements ProcessCbmmTransactionUseCase {
+        private final Semaphore connections = new Semaphore(CONNECTION_POOL_SIZE, true);
+        private final long dbLatencyNanos;
+
+        PooledUseCase(long dbLatencyNanos) {
+            this.dbLatencyNanos = dbLatencyNanos;
+        }
+
+        @Override
+        public void process(TransactionData transaction) {
+            processWithinTransaction(transaction);
+        }
+
+        @Override
+        public void processWithinTransaction(TransactionData transaction) {
+            connections.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(dbLatencyNanos);
+            } finally {
+                connections.release();
+            }
+        }
+    }
+
+    static final class BlockingIdempotencyChecker implements IdempotencyChecker {
+        private final long redisLatencyNanos;
+
+        BlockingIdempotencyChecker(long redisLatencyNanos) {
+            this.redisLatencyNanos = redisLatencyNanos;
+        }
+
+        @Override
+        public boolean isProcessed(String eventId) {
+            LockSupport.parkNanos(redisLatencyNanos);
+            return false;
+        }
+
+        @Override
+        public Set<String> findProcessed(Collection<String> eventIds) {
+            LockSupport.parkNanos(redisLatencyNanos);
+            return Set.of();
+        }
+
+        @Override
+        public ClaimStatus tryClaim(String eventId) {
+            LockSupport.parkNanos(redisLatencyNanos);
+            return ClaimStatus.CLAIMED;
+        }
+
+        @Override
+        public void markAsProcessed(String eventId) {
+            LockSupport.parkNanos(redisLatencyNanos);
+        }
+
+        @Override
+        public void markAllAsProcessed(Collection<String> eventIds) {
+            LockSupport.parkNanos(redisLatencyNanos);
+        }
+
+        @Override
+        public void markAsFailed(String eventId, String errorMessage) {
+            LockSupport.parkNanos(redisLatencyNanos);
+        }
+
+        @Override
+        public void release(String eventId) {
+            LockSupport.parkNanos(redisLatencyNanos);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.processor.application.service;
+
+import com.processor.core.domain.model.Account;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.ports.out.AccountRepository;
+
+import java.util.Optional;
+
+//Account cache disabled: the precheck always falls through to the use case
+final class NoSnapshotAccountRepository implements AccountRepository {
+
+    @Override
+    public Optional<Account> findById(String accountId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void save(Account account) {
+    }
+
+    @Override
+    public Optional<AccountSnapshot> findSnapshot(String accountId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<AccountSnapshot> refreshSnapshot(String accountId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<AccountSnapshot> readBalance(String accountId) {
+        return Optional.empty();
+    }
+}
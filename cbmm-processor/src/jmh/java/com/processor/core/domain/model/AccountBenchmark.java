@@ -0,0 +1,67 @@
+package com.processor.core.domain.model;
+
+import com.processor.core.domain.value_object.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance arithmetic behind every transfer, on {@link Money} minor units. The account benchmarks include the
+ * {@code updatedAt} clock read; {@link #moneyDebitThenCredit()} and {@link #bigDecimalDebitThenCredit()} isolate the
+ * arithmetic against the previous BigDecimal version at the column scale (19, 4).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountBenchmark {
+    private final Money amount = Money.of(new BigDecimal("125.5000"));
+    private final BigDecimal decimalAmount = new BigDecimal("125.5000");
+
+    private Account account;
+    private Money balance;
+    private BigDecimal decimalBalance;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        account = new Account("ACC001", Money.of(new BigDecimal("1000000000.0000")), "USD", 0L, now, now);
+        balance = Money.of(new BigDecimal("1000000000.0000"));
+        decimalBalance = new BigDecimal("1000000000.0000");
+    }
+
+    @Benchmark
+    public Account debitThenCredit() {
+        account.debit(amount);
+        account.credit(amount);
+        return account;
+    }
+
+    @Benchmark
+    public Account credit() {
+        account.credit(amount);
+        return account;
+    }
+
+    @Benchmark
+    public Money moneyDebitThenCredit() {
+        if (!balance.isLessThan(amount)) {
+            balance = balance.minus(amount);
+        }
+        balance = balance.plus(amount);
+        return balance;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalDebitThenCredit() {
+        if (decimalBalance.compareTo(decimalAmount) >= 0) {
+            decimalBalance = decimalBalance.subtract(decimalAmount);
+        }
+        decimalBalance = decimalBalance.add(decimalAmount);
+        return decimalBalance;
+    }
+}
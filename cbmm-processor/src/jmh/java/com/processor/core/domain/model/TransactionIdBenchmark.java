@@ -0,0 +1,57 @@
+package com.processor.core.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ledger row id generation and primary key insert cost, random UUID vs {@link TransactionIds}.
+ * {@link #generate()} runs on four threads, the way the workers call it; random ids share one SecureRandom.
+ * {@link #insertIntoIndex(Index)} adds one id to a sorted index of a million ids of the same kind, standing in
+ * for the B-tree on {@code transactions}: random ids land on a cold path every time, time-ordered ids keep
+ * hitting the right edge that the previous insert already brought in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionIdBenchmark {
+    private static final int INDEX_SIZE = 1_000_000;
+
+    public enum Ids { RANDOM, TIME_ORDERED }
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    public Ids ids;
+
+    @State(Scope.Thread)
+    public static class Index {
+        private TreeMap<UUID, Boolean> keys;
+
+        @Setup(Level.Iteration)
+        public void setUp(TransactionIdBenchmark benchmark) {
+            keys = new TreeMap<>();
+            for (int i = 0; i < INDEX_SIZE; i++) {
+                keys.put(benchmark.nextId(), Boolean.TRUE);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object generate() {
+        return ids == Ids.RANDOM ? UUID.randomUUID().toString() : TransactionIds.next();
+    }
+
+    @Benchmark
+    public Boolean insertIntoIndex(Index index) {
+        return index.keys.put(nextId(), Boolean.TRUE);
+    }
+
+    private UUID nextId() {
+        return ids == Ids.RANDOM ? UUID.randomUUID() : TransactionIds.next();
+    }
+}
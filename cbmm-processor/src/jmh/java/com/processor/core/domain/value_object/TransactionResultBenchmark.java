@@ -0,0 +1,33 @@
+package com.processor.core.domain.value_object;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One TransactionResult is built per event on every path, including the short-circuited ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionResultBenchmark {
+    private final String eventId = "evt_0001";
+
+    @Benchmark
+    public TransactionResult success() {
+        return TransactionResult.success(eventId);
+    }
+
+    @Benchmark
+    public TransactionResult alreadyProcessed() {
+        return TransactionResult.alreadyProcessed(eventId);
+    }
+
+    @Benchmark
+    public TransactionResult failed() {
+        return TransactionResult.failed(eventId, "Insufficient balance");
+    }
+}
@@ -0,0 +1,96 @@
+package com.processor.core.use_case;
+
+import com.processor.core.domain.value_object.Money;
+import com.processor.core.domain.model.Account;
+import com.processor.core.domain.model.Transaction;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.core.ports.out.AccountRepository;
+import com.processor.core.ports.out.OutboxRepository;
+import com.processor.core.ports.out.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full use case body against in-memory repositories: lookup, validation, debit/credit, two ledger rows.
+ * This is the CPU and allocation cost of a transfer with the database taken out of the picture.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessUseCaseBenchmark {
+    private ProcessCbmmTransactionUseCaseImpl useCase;
+    private TransactionData transaction;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        LocalDateTime now = LocalDateTime.now();
+        InMemoryAccountRepository accountRepository = new InMemoryAccountRepository();
+        accountRepository.save(new Account("ACC001", Money.of(new BigDecimal("1000000000000.0000")), "USD", 0L, now, now));
+        accountRepository.save(new Account("ACC002", Money.of(new BigDecimal("1000000000000.0000")), "USD", 0L, now, now));
+
+        TransactionRepository transactionRepository = blackhole::consume;
+        EntityManager entityManager = (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class}, (proxy, method, args) -> null);
+        OutboxRepository outboxRepository = (OutboxRepository) Proxy.newProxyInstance(
+                OutboxRepository.class.getClassLoader(), new Class<?>[]{OutboxRepository.class},
+                (proxy, method, args) -> null);
+
+        useCase = new ProcessCbmmTransactionUseCaseImpl(accountRepository, transactionRepository, entityManager,
+                outboxRepository);
+
+        BigDecimal amount = new BigDecimal("125.50");
+        transaction = new TransactionData("evt_0001",
+                new TransferAccount("ACC001", "USD", amount),
+                new TransferAccount("ACC002", "USD", amount),
+                now);
+    }
+
+    @Benchmark
+    public TransactionData process() {
+        useCase.process(transaction);
+        return transaction;
+    }
+
+    static final class InMemoryAccountRepository implements AccountRepository {
+        private final Map<String, Account> accounts = new HashMap<>();
+
+        @Override
+        public Optional<Account> findById(String accountId) {
+            return Optional.ofNullable(accounts.get(accountId));
+        }
+
+        @Override
+        public void save(Account account) {
+            accounts.put(account.getId(), account);
+        }
+
+        @Override
+        public Optional<AccountSnapshot> findSnapshot(String accountId) {
+            return findById(accountId).map(AccountSnapshot::of);
+        }
+
+        @Override
+        public Optional<AccountSnapshot> refreshSnapshot(String accountId) {
+            return findSnapshot(accountId);
+        }
+
+        @Override
+        public Optional<AccountSnapshot> readBalance(String accountId) {
+            return findSnapshot(accountId);
+        }
+    }
+}
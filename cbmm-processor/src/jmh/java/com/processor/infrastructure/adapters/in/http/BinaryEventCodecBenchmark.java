@@ -0,0 +1,62 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.infrastructure.adapters.in.http.dto.AccountDTO;
+import com.processor.infrastructure.adapters.in.http.dto.EventDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body to {@link TransactionData} for a whole batch: Jackson plus {@link EventDTOMapper} against
+ * {@link BinaryEventCodec}. Scores are per event; the wire size of the same batch is asserted in
+ * {@code BinaryEventCodecTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(BinaryEventCodecBenchmark.EVENTS)
+public class BinaryEventCodecBenchmark {
+    static final int EVENTS = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final EventDTOMapper eventDTOMapper = new EventDTOMapper();
+    private final BinaryEventCodec binaryEventCodec = new BinaryEventCodec();
+
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<EventDTO> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            BigDecimal amount = BigDecimal.valueOf(100 + i * 37L % 25_000, 2);
+            events.add(new EventDTO("evt_" + i, "TRANSFER", "2025-10-10T10:15:30-03:00",
+                    new AccountDTO("ACC" + String.format("%03d", i % 1000), "USD", amount),
+                    new AccountDTO("ACC" + String.format("%03d", (i * 7 + 1) % 1000), "USD", amount)));
+        }
+        json = objectMapper.writeValueAsBytes(events);
+        binary = binaryEventCodec.encode(events);
+    }
+
+    @Benchmark
+    public List<TransactionData> json() throws IOException {
+        List<EventDTO> events = objectMapper.readValue(json, new TypeReference<>() {});
+        return events.stream().map(eventDTOMapper::mapFromEventDTO).toList();
+    }
+
+    @Benchmark
+    public List<TransactionData> binary() throws IOException {
+        return binaryEventCodec.decode(new ByteArrayInputStream(binary));
+    }
+}
@@ -0,0 +1,36 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.infrastructure.adapters.in.http.dto.AccountDTO;
+import com.processor.infrastructure.adapters.in.http.dto.EventDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO to domain mapping for every incoming event, dominated by the ISO_ZONED_DATE_TIME parse.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDTOMapperBenchmark {
+    private final EventDTOMapper mapper = new EventDTOMapper();
+
+    private EventDTO event;
+
+    @Setup
+    public void setUp() {
+        event = new EventDTO("evt_0001", "TRANSFER", "2025-10-10T10:15:30-03:00",
+                new AccountDTO("ACC001", "USD", new BigDecimal("125.50")),
+                new AccountDTO("ACC002", "USD", new BigDecimal("125.50")));
+    }
+
+    @Benchmark
+    public TransactionData mapFromEventDTO() {
+        return mapper.mapFromEventDTO(event);
+    }
+}
@@ -0,0 +1,49 @@
+package com.processor.application.service;
+
+import com.processor.infrastructure.config.DispatchConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class AccountLaneDispatcher {
+    private final ExecutorService[] lanes;
+
+    public AccountLaneDispatcher(DispatchConfig dispatchConfig) {
+        this.lanes = new ExecutorService[dispatchConfig.getLanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(
+                    Thread.ofPlatform().name("cbmm-lane-" + i).factory());
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String laneKey, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, lane(laneKey));
+    }
+
+    public Executor lane(String laneKey) {
+        return lanes[laneFor(laneKey)];
+    }
+
+    //Stable across instances and restarts: String.hashCode is fixed by the JLS
+    int laneFor(String laneKey) {
+        int hash = laneKey.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down {} account lanes", lanes.length);
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.processor.application.service;
+
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.core.ports.out.AccountRepository;
+import com.processor.infrastructure.config.PersistenceConfig;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+//Rejects transfers that cannot succeed before a DB transaction is opened.
+//It only ever rejects: a cache miss or a passing check still goes through the authoritative commit path.
+//Skipped in IN_MEMORY mode, where Postgres trails the LedgerBook by the persister flush and the sequencer
+//already rejects against live balances without a database round trip.
+@Component
+@AllArgsConstructor
+@Slf4j
+public class AccountPrecheck {
+    private final AccountRepository accountRepository;
+    private final PersistenceConfig persistenceConfig;
+
+    public void verify(TransactionData transaction) {
+        if (persistenceConfig.getMode() == PersistenceConfig.PersistenceMode.IN_MEMORY) {
+            return;
+        }
+        TransferAccount source = transaction.getSourceAccount();
+        TransferAccount destination = transaction.getDestinationAccount();
+
+        //Currency never changes, so a cached snapshot is enough to reject a mismatch
+        accountRepository.findSnapshot(destination.getAccountId())
+                .ifPresent(snapshot -> validateCurrency(snapshot, destination.getCurrency()));
+
+        Optional<AccountSnapshot> sourceSnapshot = accountRepository.findSnapshot(source.getAccountId());
+        if (sourceSnapshot.isEmpty()) {
+            return;
+        }
+        validateCurrency(sourceSnapshot.get(), source.getCurrency());
+
+        if (hasFunds(sourceSnapshot.get(), source)) {
+            return;
+        }
+        //The cached balance may predate a credit, so confirm against the database before rejecting
+        boolean stillShort = accountRepository.refreshSnapshot(source.getAccountId())
+                .map(refreshed -> !hasFunds(refreshed, source))
+                .orElse(false);
+        if (stillShort) {
+            throw new InsufficientFundsException(
+                    "Source account has insufficient balance for event " + transaction.getEventId());
+        }
+    }
+
+    private boolean hasFunds(AccountSnapshot snapshot, TransferAccount source) {
+        return snapshot.getBalance().compareTo(source.getAmount()) >= 0;
+    }
+
+    private void validateCurrency(AccountSnapshot snapshot, String currency) {
+        if (!snapshot.getCurrency().equals(currency)) {
+            throw new InvalidCurrencyException("Currency mismatch for account " + snapshot.getId() +
+                    ". Expected: " + snapshot.getCurrency() + ", Got: " + currency);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.processor.application.service;
+
+import com.processor.core.domain.exception.TransactionProcessingException;
+import com.processor.infrastructure.config.AdmissionConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the events in flight across all requests and the requests waiting on them. A request that
+ * cannot be admitted within {@code maxWaitMs} is rejected instead of queueing, so overload turns into
+ * fast 429s and the servlet threads stay free for health checks.
+ */
+@Component
+@Slf4j
+public class AdmissionController {
+    private final AdmissionConfig admissionConfig;
+    private final Semaphore eventPermits;
+    private final Semaphore requestPermits;
+
+    private final Timer admissionWait;
+    private final Counter rejectedForEvents;
+    private final Counter rejectedForRequests;
+
+    public AdmissionController(AdmissionConfig admissionConfig, MeterRegistry meterRegistry) {
+        this.admissionConfig = admissionConfig;
+        this.eventPermits = new Semaphore(admissionConfig.getMaxInFlightEvents(), true);
+        this.requestPermits = new Semaphore(admissionConfig.getMaxConcurrentRequests(), true);
+
+        this.admissionWait = Timer.builder("cbmm.admission.wait")
+                .description("Time a request or stream chunk waited to be admitted")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedForEvents = Counter.builder("cbmm.admission.rejected")
+                .tag("reason", "events")
+                .register(meterRegistry);
+        this.rejectedForRequests = Counter.builder("cbmm.admission.rejected")
+                .tag("reason", "requests")
+                .register(meterRegistry);
+        Gauge.builder("cbmm.admission.in_flight", eventPermits,
+                        permits -> admissionConfig.getMaxInFlightEvents() - permits.availablePermits())
+                .register(meterRegistry);
+    }
+
+    //Admits a request carrying the given number of events or throws AdmissionRejectedException
+    public Admission tryAdmit(int events) {
+        int eventCount = eventsToReserve(events);
+        long start = System.nanoTime();
+        try {
+            if (!requestPermits.tryAcquire(admissionConfig.getMaxWaitMs(), TimeUnit.MILLISECONDS)) {
+                rejectedForRequests.increment();
+                throw rejection("Too many concurrent requests");
+            }
+
+            long remaining = TimeUnit.MILLISECONDS.toNanos(admissionConfig.getMaxWaitMs()) - (System.nanoTime() - start);
+            if (!eventPermits.tryAcquire(eventCount, Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                requestPermits.release();
+                rejectedForEvents.increment();
+                throw rejection("Too many events in flight");
+            }
+            return new Admission(1, eventCount);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted while waiting for admission", e);
+        } finally {
+            admissionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    //Blocks until the events fit; used inside an already admitted stream, where backpressure beats a 429
+    public Admission admitEvents(int events) {
+        int eventCount = eventsToReserve(events);
+        long start = System.nanoTime();
+        try {
+            eventPermits.acquire(eventCount);
+            return new Admission(0, eventCount);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionProcessingException("Interrupted while waiting for admission", e);
+        } finally {
+            admissionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    //A batch larger than the whole budget takes all of it rather than never being admitted
+    private int eventsToReserve(int events) {
+        return Math.min(events, admissionConfig.getMaxInFlightEvents());
+    }
+
+    private AdmissionRejectedException rejection(String reason) {
+        log.warn("Admission rejected: {}", reason);
+        return new AdmissionRejectedException(reason, admissionConfig.getRetryAfterSeconds());
+    }
+
+    public final class Admission implements AutoCloseable {
+        private final int requests;
+        private final int events;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Admission(int requests, int events) {
+            this.requests = requests;
+            this.events = events;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                eventPermits.release(events);
+                requestPermits.release(requests);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.processor.application.service;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs every task on its own virtual thread. Submitting never blocks: the virtual thread parks on the
+ * semaphore until a permit is free, so at most {@code maxConcurrency} tasks hold a connection at once.
+ */
+public class BoundedVirtualThreadExecutor implements Executor {
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("cbmm-vt-", 0).factory();
+
+    public BoundedVirtualThreadExecutor(int maxConcurrency) {
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        threadFactory.newThread(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        }).start();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queuedTasks() {
+        return permits.getQueueLength();
+    }
+}
@@ -1,24 +1,40 @@
 package com.processor.application.service;
 
+import com.processor.core.domain.enums.ClaimStatus;
 import com.processor.core.domain.exception.AccountNotFoundException;
 import com.processor.core.domain.exception.InsufficientFundsException;
 import com.processor.core.domain.exception.InvalidCurrencyException;
 import com.processor.core.domain.exception.TransactionProcessingException;
 import com.processor.core.domain.value_object.TransactionResult;
 import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
+import com.processor.core.ports.in.ProcessNettedBatchUseCase;
 import com.processor.core.ports.out.IdempotencyChecker;
 import com.processor.core.domain.value_object.TransactionData;
+import com.processor.infrastructure.config.AdmissionConfig;
+import com.processor.infrastructure.config.DispatchConfig;
+import com.processor.infrastructure.config.NettingConfig;
+import com.processor.infrastructure.config.OutboxConfig;
+import com.processor.infrastructure.config.PersistenceConfig;
 import com.processor.infrastructure.config.TransactionConfig;
+import com.processor.infrastructure.metrics.TransactionMetrics;
 import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.StaleObjectStateException;
 import org.springframework.dao.OptimisticLockingFailureException;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -28,90 +44,364 @@ public class CbmmTransactionApplicationService {
     private final TransactionConfig transactionConfig;
     private final ProcessCbmmTransactionUseCase useCase;
     private final IdempotencyChecker idempotencyChecker;
+    private final DispatchConfig dispatchConfig;
+    private final AccountLaneDispatcher laneDispatcher;
+    private final GroupCommitProcessor groupCommitProcessor;
+    private final Executor cbmmTransactionExecutor;
+    private final TransactionMetrics transactionMetrics;
+    private final AccountPrecheck accountPrecheck;
+    private final NettingConfig nettingConfig;
+    private final ProcessNettedBatchUseCase nettedBatchUseCase;
+    private final RetryScheduler retryScheduler;
+    private final OutboxConfig outboxConfig;
+    private final AdmissionConfig admissionConfig;
+    private final PersistenceConfig persistenceConfig;
+
+    public List<TransactionResult> processBatch(List<TransactionData> transactions) {
+        if (Boolean.TRUE.equals(nettingConfig.getEnabled())) {
+            return processTransactionsNetted(transactions);
+        }
+        return waitForAllTransactions(processTransactionsConcurrently(transactions));
+    }
 
     public List<CompletableFuture<TransactionResult>> processTransactionsConcurrently(
             List<TransactionData> transactions) {
 
-        return transactions.stream()
-                .map(this::processTransactionAsync)
-                .toList();
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> processed = idempotencyChecker.findProcessed(transactions.stream()
+                .map(TransactionData::getEventId)
+                .collect(Collectors.toSet()));
+
+        Map<String, CompletableFuture<TransactionResult>> firstByEventId = new HashMap<>();
+        List<CompletableFuture<TransactionResult>> futures = new ArrayList<>(transactions.size());
+        //Admission reserves at most the whole in-flight budget, which is also the executor queue capacity,
+        //so a larger batch is submitted in waves of that size instead of overflowing the queue
+        int waveSize = admissionConfig.getMaxInFlightEvents();
+        List<CompletableFuture<TransactionResult>> wave = new ArrayList<>();
+
+        for (TransactionData transaction : transactions) {
+            String eventId = transaction.getEventId();
+
+            CompletableFuture<TransactionResult> first = firstByEventId.get(eventId);
+            if (first != null) {
+                futures.add(first.thenApply(this::asDuplicate));
+                continue;
+            }
+
+            CompletableFuture<TransactionResult> future;
+            if (processed.contains(eventId)) {
+                future = CompletableFuture.completedFuture(
+                        transactionMetrics.recordOutcome(TransactionResult.alreadyProcessed(eventId)));
+            } else {
+                if (wave.size() >= waveSize) {
+                    CompletableFuture.allOf(wave.toArray(CompletableFuture[]::new)).join();
+                    wave.clear();
+                }
+                future = processTransactionAsync(transaction);
+                wave.add(future);
+            }
+
+            firstByEventId.put(eventId, future);
+            futures.add(future);
+        }
+
+        log.info("Batch of {} events: {} duplicated in payload, {} already processed",
+                transactions.size(), transactions.size() - firstByEventId.size(), processed.size());
+
+        return futures;
     }
 
+    //Claims every fresh event, then applies them in payload order through the netting use case.
+    //The account precheck is skipped: an earlier credit in the same batch may fund a later debit.
+    public List<TransactionResult> processTransactionsNetted(List<TransactionData> transactions) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> processed = idempotencyChecker.findProcessed(transactions.stream()
+                .map(TransactionData::getEventId)
+                .collect(Collectors.toSet()));
+
+        Map<String, TransactionResult> resultByEventId = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        List<TransactionData> claimed = new ArrayList<>();
+
+        for (TransactionData transaction : transactions) {
+            String eventId = transaction.getEventId();
+            if (!seen.add(eventId)) {
+                continue;
+            }
+            if (processed.contains(eventId)) {
+                resultByEventId.put(eventId, TransactionResult.alreadyProcessed(eventId));
+                continue;
+            }
+
+            ClaimStatus claim = idempotencyChecker.tryClaim(eventId);
+            if (claim == ClaimStatus.CLAIMED) {
+                claimed.add(transaction);
+            } else if (claim == ClaimStatus.ALREADY_PROCESSED) {
+                resultByEventId.put(eventId, TransactionResult.alreadyProcessed(eventId));
+            } else {
+                resultByEventId.put(eventId, TransactionResult.alreadyProcessing(eventId));
+            }
+        }
+
+        int chunkSize = nettingConfig.getMaxBatchSize();
+        for (int from = 0; from < claimed.size(); from += chunkSize) {
+            List<TransactionData> chunk = claimed.subList(from, Math.min(from + chunkSize, claimed.size()));
+            applyNetted(chunk).forEach(result -> resultByEventId.put(result.getEventId(), result));
+        }
+
+        Set<String> reported = new HashSet<>();
+        List<TransactionResult> results = new ArrayList<>(transactions.size());
+        for (TransactionData transaction : transactions) {
+            TransactionResult result = resultByEventId.get(transaction.getEventId());
+            results.add(reported.add(transaction.getEventId())
+                    ? transactionMetrics.recordOutcome(result)
+                    : asDuplicate(result));
+        }
+        return results;
+    }
+
+    //The caller waits for the chunk's results either way, but a conflicted chunk waits out its backoff on the
+    //retry timer and is retried on a transaction worker instead of sleeping on the calling thread
+    private List<TransactionResult> applyNetted(List<TransactionData> chunk) {
+        List<TransactionResult> results;
+        try {
+            results = attemptNettedAsync(chunk, 0).join();
+        } catch (CompletionException ce) {
+            Exception e = unwrap(ce);
+            log.error("Netted batch of {} events failed: {}", chunk.size(), e.getMessage(), e);
+            results = chunk.stream()
+                    .map(tx -> TransactionResult.failed(tx.getEventId(), e.getMessage()))
+                    .toList();
+        }
+
+        for (TransactionResult result : results) {
+            if (result.getStatus() == TransactionResult.TransactionStatus.SUCCESS) {
+                markSucceeded(result.getEventId());
+            } else {
+                idempotencyChecker.markAsFailed(result.getEventId(), result.getMessage());
+            }
+        }
+        return results;
+    }
+
+    private CompletableFuture<List<TransactionResult>> attemptNettedAsync(List<TransactionData> chunk, int attempt) {
+        String label = "netted batch of " + chunk.size() + " events";
+        long start = System.nanoTime();
+        try {
+            List<TransactionResult> results = nettedBatchUseCase.processNetted(chunk);
+            log.info("Transaction {} processed successfully on attempt {}", label, attempt + 1);
+            return CompletableFuture.completedFuture(results);
+
+        } catch (Exception e) {
+            int nextAttempt = attempt + 1;
+            long backoffDelay;
+            try {
+                backoffDelay = backoffAfterFailure(label, e, nextAttempt);
+            } catch (RuntimeException finalFailure) {
+                return CompletableFuture.failedFuture(finalFailure);
+            }
+
+            transactionMetrics.recordBackoff(backoffDelay);
+            return retryScheduler.schedule(backoffDelay, () -> attemptNettedAsync(chunk, nextAttempt));
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.DB_TRANSACTION, start);
+        }
+    }
+
+    //A repeated event_id in the same payload mirrors the outcome of its first occurrence
+    private TransactionResult asDuplicate(TransactionResult first) {
+        if (first.getStatus() == TransactionResult.TransactionStatus.SUCCESS) {
+            return transactionMetrics.recordOutcome(TransactionResult.alreadyProcessed(first.getEventId()));
+        }
+        return transactionMetrics.recordOutcome(first);
+    }
 
-    @Async("cbmmTransactionExecutor")
     public CompletableFuture<TransactionResult> processTransactionAsync(
             TransactionData transaction) {
 
-        String eventId = transaction.getEventId();
+        if (dispatchConfig.getMode() == DispatchConfig.DispatchMode.SHARDED) {
+            //Same source account -> same lane, so debits on a hot account never race each other.
+            //A conflicted attempt frees the lane while it waits and is retried on the same lane
+            String laneKey = transaction.getSourceAccount().getAccountId();
+            Executor lane = laneDispatcher.lane(laneKey);
+            return laneDispatcher.submit(laneKey, () -> {
+                        TransactionResult skipped = claimTransaction(transaction);
+                        return skipped != null
+                                ? CompletableFuture.completedFuture(skipped)
+                                : attemptAsync(transaction, 0, transactionConfig.getMaxAttempts(), lane)
+                                        .thenApply(ignored -> completeTransaction(transaction));
+                    })
+                    .thenCompose(Function.identity())
+                    .exceptionally(e -> failTransaction(transaction, unwrap(e)))
+                    .thenApply(transactionMetrics::recordOutcome);
+        }
 
+        long submitted = System.nanoTime();
         return CompletableFuture.supplyAsync(() -> {
-            try {
-                if (idempotencyChecker.isProcessed(eventId)) {
-                    log.info("Event {} already processed, skipping", eventId);
-                    return TransactionResult.alreadyProcessed(eventId);
-                }
+                    transactionMetrics.recordStage(TransactionMetrics.Stage.EXECUTOR_QUEUE, submitted);
+                    return claimTransaction(transaction);
+                }, cbmmTransactionExecutor)
+                .thenCompose(skipped -> skipped != null
+                        ? CompletableFuture.completedFuture(skipped)
+                        : attemptAsync(transaction, 0, transactionConfig.getMaxAttempts(), cbmmTransactionExecutor).thenApply(ignored -> completeTransaction(transaction)))
+                .exceptionally(e -> failTransaction(transaction, unwrap(e)))
+                .thenApply(transactionMetrics::recordOutcome);
+    }
 
-                if (!idempotencyChecker.tryMarkAsProcessing(eventId)) {
-                    log.warn("Event {} is already being processed by another thread", eventId);
-                    return TransactionResult.alreadyProcessing(eventId);
-                }
+    private static Exception unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof Exception exception ? exception : new CompletionException(cause);
+    }
 
-                processTransaction(transaction);
+    //Null when this caller now owns the event and must apply it
+    private TransactionResult claimTransaction(TransactionData transaction) {
+        String eventId = transaction.getEventId();
+        ClaimStatus claim = idempotencyChecker.tryClaim(eventId);
 
-                idempotencyChecker.markAsProcessed(eventId);
-                log.info("Event {} processed successfully", eventId);
+        if (claim == ClaimStatus.ALREADY_PROCESSED) {
+            log.info("Event {} already processed, skipping", eventId);
+            return TransactionResult.alreadyProcessed(eventId);
+        }
 
-                return TransactionResult.success(eventId);
+        if (claim == ClaimStatus.ALREADY_PROCESSING) {
+            log.warn("Event {} is already being processed by another thread", eventId);
+            return TransactionResult.alreadyProcessing(eventId);
+        }
 
-            } catch (Exception e) {
-                log.error("Error processing event {}: {}", eventId, e.getMessage(), e);
-                idempotencyChecker.markAsFailed(eventId, e.getMessage());
-                return TransactionResult.failed(eventId, e.getMessage());
-            }
-        });
+        try {
+            precheck(transaction);
+        } catch (InsufficientFundsException | InvalidCurrencyException be) {
+            return TransactionResult.failed(eventId, be.getMessage());
+        }
+        return null;
     }
 
-    private void processTransaction(TransactionData transaction) {
+    //Runs after the claim so a replay of a succeeded event is still ALREADY_PROCESSED whatever the balance is now.
+    //A rejection releases the claim instead of marking FAILED, so a later resubmission is evaluated from scratch.
+    private void precheck(TransactionData transaction) {
+        try {
+            accountPrecheck.verify(transaction);
+        } catch (InsufficientFundsException | InvalidCurrencyException be) {
+            log.warn("Event {} rejected by the account precheck: {}", transaction.getEventId(), be.getMessage());
+            idempotencyChecker.release(transaction.getEventId());
+            throw be;
+        }
+    }
+
+    private TransactionResult completeTransaction(TransactionData transaction) {
         String eventId = transaction.getEventId();
-        int attempt = 0;
+        markSucceeded(eventId);
+        log.info("Event {} processed successfully", eventId);
 
-        while (attempt < transactionConfig.getMaxAttempts()) {
-            try {
-                useCase.process(transaction);
-                log.info("Transaction {} processed successfully on attempt {}", eventId, attempt + 1);
-                return;
+        return TransactionResult.success(eventId);
+    }
 
-            } catch (OptimisticLockingFailureException | StaleObjectStateException | OptimisticLockException e) {
-                attempt++;
+    //With the outbox enabled the relay marks SUCCESS from the committed outbox row instead. In IN_MEMORY mode the
+    //journal ack is the commit and the outbox row only comes with the flush, which may outlive the processing TTL
+    //while Postgres is down; an expired claim must not let a resubmission apply the transfer again
+    private void markSucceeded(String eventId) {
+        if (!Boolean.TRUE.equals(outboxConfig.getEnabled())
+                || persistenceConfig.getMode() == PersistenceConfig.PersistenceMode.IN_MEMORY) {
+            idempotencyChecker.markAsProcessed(eventId);
+        }
+    }
 
-                if (attempt >= transactionConfig.getMaxAttempts()) {
-                    log.error("Max retries ({}) reached for transaction {} after optimistic lock conflicts",
-                            transactionConfig.getMaxAttempts(), eventId);
-                    throw new TransactionProcessingException(
-                            String.format("Failed to process transaction %s after %d attempts due to concurrent modifications",
-                                    eventId, transactionConfig.getMaxAttempts()), e);
-                }
+    private TransactionResult failTransaction(TransactionData transaction, Exception e) {
+        String eventId = transaction.getEventId();
+        log.error("Error processing event {}: {}", eventId, e.getMessage(), e);
+        idempotencyChecker.markAsFailed(eventId, e.getMessage());
+        return TransactionResult.failed(eventId, e.getMessage());
+    }
+
+    //A conflicted attempt goes to the retry timer and frees this worker instead of sleeping on it;
+    //the retry runs on the given executor (the transaction executor, or the event's account lane)
+    private CompletableFuture<Void> attemptAsync(TransactionData transaction, int attempt, int maxAttempts,
+                                                 Executor executor) {
+        String eventId = transaction.getEventId();
+        if (attempt >= maxAttempts) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-                long backoffDelay = calculateBackoffWithJitter(attempt);
-                log.warn("Optimistic lock conflict on attempt {} for transaction {}, retrying after {}ms...",
-                        attempt, eventId, backoffDelay);
+        try {
+            executeUseCase(transaction);
+            log.info("Transaction {} processed successfully on attempt {}", eventId, attempt + 1);
+            return CompletableFuture.completedFuture(null);
+
+        } catch (Exception e) {
+            int nextAttempt = attempt + 1;
+            long backoffDelay;
+            try {
+                backoffDelay = backoffAfterFailure(eventId, e, nextAttempt);
+            } catch (RuntimeException finalFailure) {
+                return CompletableFuture.failedFuture(finalFailure);
+            }
 
-                sleep(backoffDelay);
+            transactionMetrics.recordBackoff(backoffDelay);
+            return retryScheduler.schedule(backoffDelay, executor,
+                    () -> attemptAsync(transaction, nextAttempt, maxAttempts, executor));
+        }
+    }
 
-            } catch (InsufficientFundsException | InvalidCurrencyException | AccountNotFoundException be) {
-                log.error("Business validation error processing transaction {}: {}", eventId, be.getMessage());
-                throw be;
+    //Backoff before retrying an optimistic lock conflict; anything that must not be retried is rethrown
+    private long backoffAfterFailure(String eventId, Exception e, int attempt) {
+        if (e instanceof OptimisticLockingFailureException
+                || e instanceof StaleObjectStateException
+                || e instanceof OptimisticLockException) {
+            transactionMetrics.recordConflict(attempt);
 
-            } catch (Exception e) {
-                log.error("Unexpected error processing transaction {}: {}", eventId, e.getMessage(), e);
+            if (attempt >= transactionConfig.getMaxAttempts()) {
+                log.error("Max retries ({}) reached for transaction {} after optimistic lock conflicts",
+                        transactionConfig.getMaxAttempts(), eventId);
                 throw new TransactionProcessingException(
-                        String.format("Unexpected error processing transaction %s", eventId), e);
+                        String.format("Failed to process transaction %s after %d attempts due to concurrent modifications",
+                                eventId, transactionConfig.getMaxAttempts()), e);
+            }
+
+            long backoffDelay = calculateBackoffWithJitter(attempt);
+            log.warn("Optimistic lock conflict on attempt {} for transaction {}, retrying after {}ms...",
+                    attempt, eventId, backoffDelay);
+            return backoffDelay;
+        }
+
+        if (e instanceof InsufficientFundsException
+                || e instanceof InvalidCurrencyException
+                || e instanceof AccountNotFoundException) {
+            log.error("Business validation error processing transaction {}: {}", eventId, e.getMessage());
+            throw (RuntimeException) e;
+        }
+
+        log.error("Unexpected error processing transaction {}: {}", eventId, e.getMessage(), e);
+        throw new TransactionProcessingException(
+                String.format("Unexpected error processing transaction %s", eventId), e);
+    }
+
+    private void executeUseCase(TransactionData transaction) {
+        long start = System.nanoTime();
+        try {
+            if (!groupCommitProcessor.isEnabled()) {
+                useCase.process(transaction);
+                return;
+            }
+            groupCommitProcessor.submit(transaction).join();
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw e;
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.DB_TRANSACTION, start);
         }
     }
 
     //Temporal dispersion of threads
-    private long calculateBackoffWithJitter(int attempt) {
+    long calculateBackoffWithJitter(int attempt) {
         long exponentialDelay = transactionConfig.getBaseDelayMs() * (long) Math.pow(2, attempt - 1);
         long cappedDelay = Math.min(exponentialDelay, transactionConfig.getMaxDelayMs());
 
@@ -122,35 +412,35 @@ public class CbmmTransactionApplicationService {
         return Math.max(transactionConfig.getBaseDelayMs(), delayWithJitter);
     }
 
-    private void sleep(long milliseconds) {
-        try {
-            Thread.sleep(milliseconds);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new TransactionProcessingException("Thread interrupted during retry backoff", e);
-        }
-    }
-
     public TransactionResult processTransactionSync(TransactionData transaction) {
         String eventId = transaction.getEventId();
+        ClaimStatus claim = idempotencyChecker.tryClaim(eventId);
 
-        if (idempotencyChecker.isProcessed(eventId)) {
+        if (claim == ClaimStatus.ALREADY_PROCESSED) {
             log.info("Event {} already processed, skipping", eventId);
-            return TransactionResult.alreadyProcessed(eventId);
+            return transactionMetrics.recordOutcome(TransactionResult.alreadyProcessed(eventId));
         }
 
-        if (!idempotencyChecker.tryMarkAsProcessing(eventId)) {
+        if (claim == ClaimStatus.ALREADY_PROCESSING) {
             log.warn("Event {} is already being processed", eventId);
-            return TransactionResult.alreadyProcessing(eventId);
+            return transactionMetrics.recordOutcome(TransactionResult.alreadyProcessing(eventId));
         }
 
         try {
-            useCase.process(transaction);
-            idempotencyChecker.markAsProcessed(eventId);
-            return TransactionResult.success(eventId);
+            precheck(transaction);
+        } catch (InsufficientFundsException | InvalidCurrencyException be) {
+            transactionMetrics.recordOutcome(TransactionResult.failed(eventId, be.getMessage()));
+            throw be;
+        }
+
+        try {
+            executeUseCase(transaction);
+            markSucceeded(eventId);
+            return transactionMetrics.recordOutcome(TransactionResult.success(eventId));
 
         } catch (Exception e) {
             idempotencyChecker.markAsFailed(eventId, e.getMessage());
+            transactionMetrics.recordOutcome(TransactionResult.failed(eventId, e.getMessage()));
             throw e;
         }
     }
@@ -0,0 +1,212 @@
+package com.processor.application.service;
+
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
+import com.processor.infrastructure.config.GroupCommitConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class GroupCommitProcessor {
+    private final GroupCommitConfig groupCommitConfig;
+    private final ProcessCbmmTransactionUseCase useCase;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PendingTransfer> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public GroupCommitProcessor(GroupCommitConfig groupCommitConfig,
+                                ProcessCbmmTransactionUseCase useCase,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager) {
+        this.groupCommitConfig = groupCommitConfig;
+        this.useCase = useCase;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("cbmm-group-commit").daemon().start(this::flushLoop);
+        log.info("Group commit enabled: maxBatchSize={}, lingerMs={}",
+                groupCommitConfig.getMaxBatchSize(), groupCommitConfig.getLingerMs());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(groupCommitConfig.getEnabled());
+    }
+
+    public CompletableFuture<Void> submit(TransactionData transaction) {
+        PendingTransfer pending = new PendingTransfer(transaction, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.future();
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                List<PendingTransfer> group = collectGroup();
+                if (!group.isEmpty()) {
+                    commitGroup(group);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected error in group commit loop: {}", e.getMessage(), e);
+            }
+        }
+
+        List<PendingTransfer> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(p -> p.future().completeExceptionally(
+                new IllegalStateException("Group commit stopped before event " + p.transaction().getEventId() + " was applied")));
+    }
+
+    private List<PendingTransfer> collectGroup() throws InterruptedException {
+        List<PendingTransfer> group = new ArrayList<>();
+        PendingTransfer first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return group;
+        }
+        group.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(groupCommitConfig.getLingerMs());
+        while (group.size() < groupCommitConfig.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                queue.drainTo(group, groupCommitConfig.getMaxBatchSize() - group.size());
+                break;
+            }
+            PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+        return group;
+    }
+
+    private void commitGroup(List<PendingTransfer> group) {
+        List<PendingTransfer> remaining = new ArrayList<>(group);
+
+        //A failed flush leaves the Hibernate session rollback-only; drop that event and replay the rest
+        while (!remaining.isEmpty()) {
+            GroupAttempt attempt = new GroupAttempt();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    applyGroup(remaining, attempt);
+                    if (attempt.poisoned != null) {
+                        status.setRollbackOnly();
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Group commit of {} events failed: {}", attempt.applied.size(), e.getMessage(), e);
+                attempt.applied.forEach(p -> p.future().completeExceptionally(e));
+                remaining.removeAll(attempt.applied);
+                remaining.removeAll(attempt.failed);
+                remaining.remove(attempt.poisoned);
+                continue;
+            }
+
+            remaining.removeAll(attempt.failed);
+            if (attempt.poisoned != null) {
+                remaining.remove(attempt.poisoned);
+                continue;
+            }
+
+            attempt.applied.forEach(p -> p.future().complete(null));
+            log.info("Group commit applied {} events in one transaction", attempt.applied.size());
+            remaining.clear();
+        }
+    }
+
+    private void applyGroup(List<PendingTransfer> group, GroupAttempt attempt) {
+        Session session = entityManager.unwrap(Session.class);
+
+        for (PendingTransfer pending : group) {
+            List<TransactionSynchronization> synchronizations = currentSynchronizations();
+            Savepoint savepoint = session.doReturningWork(connection -> connection.setSavepoint());
+            try {
+                useCase.processWithinTransaction(pending.transaction());
+                session.doWork(connection -> connection.releaseSavepoint(savepoint));
+                attempt.applied.add(pending);
+
+            } catch (RuntimeException e) {
+                log.warn("Event {} failed inside group commit, rolling back to savepoint: {}",
+                        pending.transaction().getEventId(), e.getMessage());
+                pending.future().completeExceptionally(e);
+
+                if (session.getTransaction().getRollbackOnly()) {
+                    attempt.poisoned = pending;
+                    return;
+                }
+
+                session.doWork(connection -> connection.rollback(savepoint));
+                entityManager.clear();
+                restoreSynchronizations(synchronizations);
+                attempt.failed.add(pending);
+            }
+        }
+    }
+
+    private static List<TransactionSynchronization> currentSynchronizations() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                ? TransactionSynchronizationManager.getSynchronizations() : List.of();
+    }
+
+    //Rolling back to a savepoint does not unregister the afterCommit callbacks the event added (account snapshot
+    //publishes), and Spring cannot unregister one, so the set is rebuilt from what was there before the event
+    private static void restoreSynchronizations(List<TransactionSynchronization> synchronizations) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        synchronizations.forEach(TransactionSynchronizationManager::registerSynchronization);
+    }
+
+    record PendingTransfer(TransactionData transaction, CompletableFuture<Void> future) {
+    }
+
+    private static final class GroupAttempt {
+        private final List<PendingTransfer> applied = new ArrayList<>();
+        private final List<PendingTransfer> failed = new ArrayList<>();
+        private PendingTransfer poisoned;
+    }
+}
@@ -0,0 +1,341 @@
+package com.processor.application.service;
+
+import com.processor.core.domain.exception.AccountNotFoundException;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
+import com.processor.core.domain.exception.TransactionProcessingException;
+import com.processor.core.domain.model.LedgerBook;
+import com.processor.core.domain.model.TransactionIds;
+import com.processor.core.domain.value_object.JournalEntry;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
+import com.processor.core.ports.out.LedgerJournal;
+import com.processor.core.ports.out.LedgerStore;
+import com.processor.infrastructure.config.InMemoryLedgerConfig;
+import com.processor.infrastructure.config.NettingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transfers sequenced by a single writer against in-memory balances ({@code transaction.persistence.mode: IN_MEMORY}).
+ * Callers hand their transfer to a bounded ring; the sequencer drains it in groups, applies each transfer to
+ * the {@link LedgerBook}, appends the accepted ones to the journal with one sync per group and only then
+ * acknowledges them. A second thread writes journaled entries to Postgres in bulk and advances the checkpoint,
+ * so on restart the book is the Postgres state plus the journal entries past that checkpoint.
+ */
+@Component
+@ConditionalOnProperty(prefix = "transaction.persistence", name = "mode", havingValue = "IN_MEMORY")
+@Slf4j
+public class InMemoryLedgerEngine implements ProcessCbmmTransactionUseCase {
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final InMemoryLedgerConfig inMemoryLedgerConfig;
+    private final NettingConfig nettingConfig;
+    private final LedgerJournal ledgerJournal;
+    private final LedgerStore ledgerStore;
+
+    private final LedgerBook book = new LedgerBook();
+    private final BlockingQueue<PendingTransfer> ring;
+    private final BlockingQueue<JournalEntry> unpersisted = new LinkedBlockingQueue<>();
+    private long nextSequence;
+
+    private volatile boolean running;
+    private volatile RuntimeException journalFailure;
+    private Thread sequencer;
+    private Thread persister;
+
+    private final Timer journalAppend;
+    private final DistributionSummary groupSize;
+    private final Counter persistFailures;
+
+    public InMemoryLedgerEngine(InMemoryLedgerConfig inMemoryLedgerConfig,
+                                NettingConfig nettingConfig,
+                                LedgerJournal ledgerJournal,
+                                LedgerStore ledgerStore,
+                                MeterRegistry meterRegistry) {
+        this.inMemoryLedgerConfig = inMemoryLedgerConfig;
+        this.nettingConfig = nettingConfig;
+        this.ledgerJournal = ledgerJournal;
+        this.ledgerStore = ledgerStore;
+        this.ring = new ArrayBlockingQueue<>(inMemoryLedgerConfig.getRingSize());
+
+        this.journalAppend = Timer.builder("cbmm.ledger.journal.append")
+                .description("Time to append and sync one sequenced group to the journal")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("cbmm.ledger.group.size")
+                .description("Transfers sequenced per journal sync")
+                .register(meterRegistry);
+        this.persistFailures = Counter.builder("cbmm.ledger.persist.failures")
+                .description("Bulk writes to Postgres that failed and will be retried")
+                .register(meterRegistry);
+        Gauge.builder("cbmm.ledger.unpersisted", unpersisted, BlockingQueue::size)
+                .description("Journaled transfers not yet written to Postgres")
+                .register(meterRegistry);
+        Gauge.builder("cbmm.ledger.ring.depth", ring, BlockingQueue::size)
+                .description("Transfers waiting for the sequencer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        //The netted batch writes balances straight to Postgres, behind the book's back
+        if (Boolean.TRUE.equals(nettingConfig.getEnabled())) {
+            throw new IllegalStateException("transaction.netting cannot be enabled with the IN_MEMORY persistence mode");
+        }
+        recover();
+        running = true;
+        sequencer = Thread.ofPlatform().name("cbmm-ledger-sequencer").start(this::sequenceLoop);
+        persister = Thread.ofPlatform().name("cbmm-ledger-persister").start(this::persistLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (sequencer != null) {
+            sequencer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (persister != null) {
+            persister.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    @Override
+    public void process(TransactionData transaction) {
+        if (journalFailure != null) {
+            throw new TransactionProcessingException("In-memory ledger stopped after a journal failure", journalFailure);
+        }
+        PendingTransfer pending = new PendingTransfer(transaction, new CompletableFuture<>());
+        if (!ring.offer(pending)) {
+            throw new TransactionProcessingException("In-memory ledger ring is full");
+        }
+        awaitSequenced(pending);
+    }
+
+    //Every transfer the sequencer takes is completed, so a timeout only gives up on transfers it can no longer
+    //apply: one still in the ring is withdrawn, and one taken by a sequencer that has since died fails.
+    //A transfer a live sequencer has taken is waited for, since failing it could let a resubmission apply it twice.
+    private void awaitSequenced(PendingTransfer pending) {
+        while (true) {
+            try {
+                pending.future().get(inMemoryLedgerConfig.getAckTimeoutMs(), TimeUnit.MILLISECONDS);
+                return;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new TransactionProcessingException("In-memory ledger failed to sequence the transfer", e);
+            } catch (TimeoutException e) {
+                if (ring.remove(pending)) {
+                    throw new TransactionProcessingException("In-memory ledger did not sequence the transfer in time");
+                }
+                if (sequencer == null || !sequencer.isAlive()) {
+                    throw new TransactionProcessingException("In-memory ledger sequencer stopped");
+                }
+                log.warn("Event {} still being sequenced after {} ms", pending.transaction().getEventId(),
+                        inMemoryLedgerConfig.getAckTimeoutMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransactionProcessingException("Interrupted while waiting for the in-memory ledger", e);
+            }
+        }
+    }
+
+    //There is no database transaction to join: the transfer is durable once the journal has it
+    @Override
+    public void processWithinTransaction(TransactionData transaction) {
+        process(transaction);
+    }
+
+    void recover() {
+        ledgerStore.loadAccounts().forEach(book::load);
+        long checkpoint = ledgerStore.lastPersistedSequence();
+
+        List<JournalEntry> replayed = new ArrayList<>();
+        ledgerJournal.replay(checkpoint, entry -> {
+            book.replay(entry);
+            replayed.add(entry);
+        });
+        nextSequence = (replayed.isEmpty() ? checkpoint : replayed.getLast().getSequence()) + 1;
+        unpersisted.addAll(replayed);
+
+        log.info("In-memory ledger rebuilt: {} accounts, checkpoint {}, {} journal entries replayed",
+                book.size(), checkpoint, replayed.size());
+    }
+
+    private void sequenceLoop() {
+        List<PendingTransfer> group = new ArrayList<>(inMemoryLedgerConfig.getMaxBatchSize());
+        while (running || !ring.isEmpty()) {
+            try {
+                PendingTransfer first = ring.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                ring.drainTo(group, inMemoryLedgerConfig.getMaxBatchSize() - 1);
+                sequence(group);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                //Last resort so the only writer never dies: whatever the group left pending fails instead of hanging
+                log.error("Sequencing a group of {} transfers failed: {}", group.size(), e.getMessage(), e);
+                group.forEach(pending -> pending.future().completeExceptionally(
+                        new TransactionProcessingException("In-memory ledger failed to sequence the transfer", e)));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    void sequence(List<PendingTransfer> group) {
+        if (journalFailure != null) {
+            group.forEach(pending -> pending.future().completeExceptionally(
+                    new TransactionProcessingException("In-memory ledger stopped after a journal failure", journalFailure)));
+            return;
+        }
+        Map<String, RuntimeException> unavailable = loadUnknownAccounts(group);
+
+        List<JournalEntry> entries = new ArrayList<>(group.size());
+        List<PendingTransfer> accepted = new ArrayList<>(group.size());
+        for (PendingTransfer pending : group) {
+            try {
+                requireLoaded(pending.transaction(), unavailable);
+                entries.add(book.apply(pending.transaction(), nextSequence, TransactionIds.next(), TransactionIds.next()));
+                accepted.add(pending);
+                nextSequence++;
+            } catch (AccountNotFoundException | InsufficientFundsException | InvalidCurrencyException
+                     | TransactionProcessingException e) {
+                pending.future().completeExceptionally(e);
+            } catch (RuntimeException e) {
+                //A malformed transfer (null or over-precise amount, overflow) fails alone; the book rejects it unchanged
+                log.error("Event {} could not be sequenced: {}", pending.transaction().getEventId(), e.getMessage(), e);
+                pending.future().completeExceptionally(
+                        new TransactionProcessingException("In-memory ledger could not apply the transfer", e));
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            ledgerJournal.append(entries);
+        } catch (RuntimeException e) {
+            //The book is already ahead of the journal, so nothing more may be acknowledged until a restart rebuilds it
+            journalFailure = e;
+            log.error("Ledger journal append failed, refusing further transfers: {}", e.getMessage(), e);
+            accepted.forEach(pending -> pending.future().completeExceptionally(
+                    new TransactionProcessingException("In-memory ledger journal append failed", e)));
+            return;
+        } finally {
+            journalAppend.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        groupSize.record(entries.size());
+        unpersisted.addAll(entries);
+        accepted.forEach(pending -> pending.future().complete(null));
+    }
+
+    //Accounts created after startup are read once from Postgres, which owns account creation.
+    //Returns the accounts that could not be read, so only the transfers touching them fail.
+    private Map<String, RuntimeException> loadUnknownAccounts(List<PendingTransfer> group) {
+        Map<String, RuntimeException> unavailable = new HashMap<>();
+        Set<String> looked = new HashSet<>();
+        for (PendingTransfer pending : group) {
+            for (String accountId : accountIds(pending.transaction())) {
+                if (accountId == null || book.contains(accountId) || !looked.add(accountId)) {
+                    continue;
+                }
+                try {
+                    ledgerStore.loadAccount(accountId).ifPresent(book::load);
+                } catch (RuntimeException e) {
+                    log.error("Could not load account {}: {}", accountId, e.getMessage());
+                    unavailable.put(accountId, e);
+                }
+            }
+        }
+        return unavailable;
+    }
+
+    private static void requireLoaded(TransactionData transaction, Map<String, RuntimeException> unavailable) {
+        for (String accountId : accountIds(transaction)) {
+            RuntimeException failure = unavailable.get(accountId);
+            if (failure != null) {
+                throw new TransactionProcessingException("Could not load account " + accountId, failure);
+            }
+        }
+    }
+
+    private static List<String> accountIds(TransactionData transaction) {
+        List<String> accountIds = new ArrayList<>(2);
+        if (transaction.getSourceAccount() != null) {
+            accountIds.add(transaction.getSourceAccount().getAccountId());
+        }
+        if (transaction.getDestinationAccount() != null) {
+            accountIds.add(transaction.getDestinationAccount().getAccountId());
+        }
+        return accountIds;
+    }
+
+    private void persistLoop() {
+        //Keeps going until the sequencer has handed over its last group on shutdown
+        while (running || sequencer.isAlive() || !unpersisted.isEmpty()) {
+            try {
+                JournalEntry first = unpersisted.poll(inMemoryLedgerConfig.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<JournalEntry> batch = new ArrayList<>(Math.min(unpersisted.size() + 1, inMemoryLedgerConfig.getFlushBatchSize()));
+                batch.add(first);
+                unpersisted.drainTo(batch, inMemoryLedgerConfig.getFlushBatchSize() - 1);
+                persistUntilWritten(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    //A failed batch is retried as is; entries are never dropped, at worst a restart replays them from the journal
+    void persistUntilWritten(List<JournalEntry> batch) throws InterruptedException {
+        while (true) {
+            try {
+                ledgerStore.persist(batch);
+                ledgerJournal.truncate(batch.getLast().getSequence());
+                return;
+            } catch (RuntimeException e) {
+                persistFailures.increment();
+                log.error("Bulk write of {} ledger entries failed: {}", batch.size(), e.getMessage(), e);
+                if (!running) {
+                    return;
+                }
+                Thread.sleep(inMemoryLedgerConfig.getFlushIntervalMs());
+            }
+        }
+    }
+
+    record PendingTransfer(TransactionData transaction, CompletableFuture<Void> future) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.processor.application.service;
+
+import com.processor.core.ports.out.IdempotencyChecker;
+import com.processor.core.ports.out.OutboxRepository;
+import com.processor.infrastructure.config.OutboxConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox written by the use cases in the same transaction as the balance change and marks those
+ * events SUCCESS in Redis with one pipelined round trip per batch. Rows are deleted only in the transaction
+ * that finalized them, so a Redis failure leaves them pending for the next poll instead of losing the mark.
+ */
+@Component
+@ConditionalOnProperty(prefix = "transaction.outbox", name = "enabled", havingValue = "true")
+@Slf4j
+public class OutboxRelay {
+    private final OutboxConfig outboxConfig;
+    private final OutboxRepository outboxRepository;
+    private final IdempotencyChecker idempotencyChecker;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer batchTime;
+
+    public OutboxRelay(OutboxConfig outboxConfig,
+                       OutboxRepository outboxRepository,
+                       IdempotencyChecker idempotencyChecker,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxConfig = outboxConfig;
+        this.outboxRepository = outboxRepository;
+        this.idempotencyChecker = idempotencyChecker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        this.relayed = Counter.builder("cbmm.outbox.relayed")
+                .description("Events finalized in Redis from the outbox")
+                .register(meterRegistry);
+        this.failures = Counter.builder("cbmm.outbox.failures")
+                .description("Relay batches left pending after a failure")
+                .register(meterRegistry);
+        this.batchTime = Timer.builder("cbmm.outbox.batch")
+                .description("Time to lock, finalize and delete one outbox batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        log.info("Outbox relay enabled: batchSize={}, pollIntervalMs={}",
+                outboxConfig.getBatchSize(), outboxConfig.getPollIntervalMs());
+    }
+
+    //Keeps draining while batches come back full, so a backlog does not wait one poll per batch
+    @Scheduled(fixedDelayString = "${transaction.outbox.poll-interval-ms}")
+    public void relay() {
+        try {
+            int drained;
+            do {
+                drained = relayBatch();
+            } while (drained == outboxConfig.getBatchSize());
+
+        } catch (Exception e) {
+            failures.increment();
+            log.error("Outbox relay failed, events stay pending until the next poll: {}", e.getMessage(), e);
+        }
+    }
+
+    public int relayBatch() {
+        long start = System.nanoTime();
+        Integer drained = transactionTemplate.execute(status -> {
+            List<String> eventIds = outboxRepository.lockPending(outboxConfig.getBatchSize());
+            if (eventIds.isEmpty()) {
+                return 0;
+            }
+            idempotencyChecker.markAllAsProcessed(eventIds);
+            outboxRepository.delete(eventIds);
+            return eventIds.size();
+        });
+
+        int count = drained == null ? 0 : drained;
+        if (count > 0) {
+            relayed.increment(count);
+            batchTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Relayed {} outbox events", count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,99 @@
+package com.processor.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Holds conflicted events on a timer instead of a sleeping worker. When the backoff expires the retry is
+ * handed back to the transaction executor (or to the account lane it came from); the timer thread itself
+ * never runs a transfer.
+ */
+@Component
+@Slf4j
+public class RetryScheduler {
+    private final Executor cbmmTransactionExecutor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Counter scheduled;
+    private final Timer queueTime;
+
+    public RetryScheduler(Executor cbmmTransactionExecutor, MeterRegistry meterRegistry) {
+        this.cbmmTransactionExecutor = cbmmTransactionExecutor;
+        this.timer = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name("cbmm-retry-timer").daemon().factory());
+        this.timer.setRemoveOnCancelPolicy(true);
+
+        this.scheduled = Counter.builder("cbmm.retry.scheduled")
+                .description("Conflicted attempts put on the retry queue")
+                .register(meterRegistry);
+        this.queueTime = Timer.builder("cbmm.retry.queue.time")
+                .description("Time from scheduling a retry until it starts running, backoff included")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("cbmm.retry.pending", pending, AtomicInteger::get)
+                .description("Retries waiting for their backoff to expire or for a worker")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> schedule(long delayMs, Supplier<CompletableFuture<T>> retry) {
+        return schedule(delayMs, cbmmTransactionExecutor, retry);
+    }
+
+    //Hands the retry to the given executor instead, e.g. the account lane the first attempt ran on
+    public <T> CompletableFuture<T> schedule(long delayMs, Executor executor, Supplier<CompletableFuture<T>> retry) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long scheduledAt = System.nanoTime();
+        pending.incrementAndGet();
+        scheduled.increment();
+
+        timer.schedule(() -> dispatch(executor, retry, result, scheduledAt), delayMs, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    private <T> void dispatch(Executor executor, Supplier<CompletableFuture<T>> retry, CompletableFuture<T> result,
+                              long scheduledAt) {
+        try {
+            executor.execute(() -> {
+                pending.decrementAndGet();
+                queueTime.record(System.nanoTime() - scheduledAt, TimeUnit.NANOSECONDS);
+                try {
+                    retry.get().whenComplete((value, error) -> {
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        } else {
+                            result.complete(value);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            log.error("Executor rejected a scheduled retry: {}", e.getMessage());
+            result.completeExceptionally(e);
+        }
+    }
+
+    public int pendingRetries() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+}
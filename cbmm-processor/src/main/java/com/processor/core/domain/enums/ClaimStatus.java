@@ -0,0 +1,7 @@
+package com.processor.core.domain.enums;
+
+public enum ClaimStatus {
+    CLAIMED,
+    ALREADY_PROCESSED,
+    ALREADY_PROCESSING
+}
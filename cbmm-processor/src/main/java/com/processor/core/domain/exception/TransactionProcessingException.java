@@ -4,6 +4,10 @@ import org.springframework.dao.OptimisticLockingFailureException;
 
 public class TransactionProcessingException extends RuntimeException {
 
+    public TransactionProcessingException(String message) {
+        super(message);
+    }
+
     public TransactionProcessingException(String message, OptimisticLockingFailureException e) {
         super(message, e);
     }
@@ -1,12 +1,12 @@
 package com.processor.core.domain.model;
 
 import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.value_object.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -19,7 +19,8 @@ public class Account {
     private String id;
 
     @Column(precision = 19, scale = 4)
-    private BigDecimal balance;
+    @Convert(converter = MoneyConverter.class)
+    private Money balance;
 
     private String currency;
 
@@ -28,16 +29,16 @@ public class Account {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    public void debit(BigDecimal amount) {
-        if (this.balance.compareTo(amount) < 0) {
+    public void debit(Money amount) {
+        if (this.balance.isLessThan(amount)) {
             throw new InsufficientFundsException("Insufficient balance");
         }
-        this.balance = this.balance.subtract(amount);
+        this.balance = this.balance.minus(amount);
         this.updatedAt = LocalDateTime.now();
     }
 
-    public void credit(BigDecimal amount) {
-        this.balance = this.balance.add(amount);
+    public void credit(Money amount) {
+        this.balance = this.balance.plus(amount);
         this.updatedAt = LocalDateTime.now();
     }
 
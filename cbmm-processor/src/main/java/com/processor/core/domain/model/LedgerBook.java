@@ -0,0 +1,108 @@
+package com.processor.core.domain.model;
+
+import com.processor.core.domain.exception.AccountNotFoundException;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.domain.value_object.JournalEntry;
+import com.processor.core.domain.value_object.Money;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransferAccount;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Account balances owned by the in-memory ledger. Validations, their order and their messages match the
+ * entity use case, so a transfer is accepted or rejected exactly as it would be against the database.
+ * Not thread-safe: only the sequencer thread reads or writes it.
+ */
+public class LedgerBook {
+    private final Map<String, String> currencies = new HashMap<>();
+    private final Map<String, Money> balances = new HashMap<>();
+
+    public void load(AccountSnapshot account) {
+        currencies.put(account.getId(), account.getCurrency());
+        balances.put(account.getId(), Money.of(account.getBalance()));
+    }
+
+    public boolean contains(String accountId) {
+        return balances.containsKey(accountId);
+    }
+
+    public Money balanceOf(String accountId) {
+        return balances.get(accountId);
+    }
+
+    public int size() {
+        return balances.size();
+    }
+
+    public JournalEntry apply(TransactionData transaction, long sequence, UUID debitId, UUID creditId) {
+        TransferAccount source = transaction.getSourceAccount();
+        TransferAccount destination = transaction.getDestinationAccount();
+
+        boolean sourceFirst = source.getAccountId().compareTo(destination.getAccountId()) <= 0;
+        requireAccount(sourceFirst ? source.getAccountId() : destination.getAccountId());
+        requireAccount(sourceFirst ? destination.getAccountId() : source.getAccountId());
+
+        validateCurrency(source);
+        validateCurrency(destination);
+
+        Money debitAmount = Money.of(source.getAmount());
+        Money creditAmount = Money.of(destination.getAmount());
+
+        if (balances.get(source.getAccountId()).isLessThan(debitAmount)) {
+            throw new InsufficientFundsException(
+                    "Source account has insufficient balance for event " + transaction.getEventId());
+        }
+
+        //Both balances are computed before either is stored, so an overflow leaves the book untouched
+        Money sourceBalance = balances.get(source.getAccountId()).minus(debitAmount);
+        Money destinationBalance = (destination.getAccountId().equals(source.getAccountId())
+                ? sourceBalance : balances.get(destination.getAccountId())).plus(creditAmount);
+        balances.put(source.getAccountId(), sourceBalance);
+        balances.put(destination.getAccountId(), destinationBalance);
+
+        return JournalEntry.builder()
+                .sequence(sequence)
+                .eventId(transaction.getEventId())
+                .operationDate(transaction.getOperationDate())
+                .processedAt(LocalDateTime.now())
+                .debitId(debitId)
+                .sourceAccountId(source.getAccountId())
+                .sourceCurrency(source.getCurrency())
+                .sourceAmount(debitAmount.toBigDecimal())
+                .sourceBalanceAfter(balances.get(source.getAccountId()).toBigDecimal())
+                .creditId(creditId)
+                .destinationAccountId(destination.getAccountId())
+                .destinationCurrency(destination.getCurrency())
+                .destinationAmount(creditAmount.toBigDecimal())
+                .destinationBalanceAfter(destinationBalance.toBigDecimal())
+                .build();
+    }
+
+    //Journal replay trusts the recorded balances instead of re-running the validations
+    public void replay(JournalEntry entry) {
+        currencies.putIfAbsent(entry.getSourceAccountId(), entry.getSourceCurrency());
+        currencies.putIfAbsent(entry.getDestinationAccountId(), entry.getDestinationCurrency());
+        balances.put(entry.getSourceAccountId(), Money.of(entry.getSourceBalanceAfter()));
+        balances.put(entry.getDestinationAccountId(), Money.of(entry.getDestinationBalanceAfter()));
+    }
+
+    private void requireAccount(String accountId) {
+        if (!balances.containsKey(accountId)) {
+            throw new AccountNotFoundException("Account not found: " + accountId);
+        }
+    }
+
+    private void validateCurrency(TransferAccount account) {
+        String expected = currencies.get(account.getAccountId());
+        if (!expected.equals(account.getCurrency())) {
+            throw new InvalidCurrencyException("Currency mismatch for account " + account.getAccountId() +
+                    ". Expected: " + expected + ", Got: " + account.getCurrency());
+        }
+    }
+}
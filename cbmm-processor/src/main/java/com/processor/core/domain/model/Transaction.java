@@ -2,11 +2,13 @@ package com.processor.core.domain.model;
 
 import com.processor.core.domain.enums.TransactionStatus;
 import com.processor.core.domain.enums.TransactionType;
+import com.processor.core.domain.value_object.Money;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 
 @Entity
@@ -15,17 +17,19 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Getter
 @Builder
-public class Transaction {
+public class Transaction implements Persistable<UUID> {
     @Id
-    private String id;
+    private UUID id;
     private String accountId;
     private String eventId;
     private String currency;
 
     @Column(precision = 19, scale = 4)
-    private BigDecimal amount;
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
     @Column(precision = 19, scale = 4)
-    private BigDecimal balanceAfter;
+    @Convert(converter = MoneyConverter.class)
+    private Money balanceAfter;
 
     @Enumerated(EnumType.STRING)
     private TransactionType type;
@@ -34,4 +38,9 @@ public class Transaction {
     private LocalDateTime operationDate;
     private LocalDateTime processedAt;
 
+    //Ledger rows are insert-only: skips the merge lookup by id, which would probe every partition
+    @Override
+    public boolean isNew() {
+        return true;
+    }
 }
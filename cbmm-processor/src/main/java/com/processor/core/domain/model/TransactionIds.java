@@ -0,0 +1,47 @@
+package com.processor.core.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered ledger row ids in the UUIDv7 layout (RFC 9562): 48 bits of Unix milliseconds, a 12-bit counter
+ * that keeps ids strictly increasing within a millisecond, and 62 random bits that keep instances apart.
+ * New rows land on the right edge of the primary key index instead of on a random leaf, and the random bits
+ * come from {@link ThreadLocalRandom} instead of the shared {@code SecureRandom} behind {@link UUID#randomUUID()}.
+ */
+public final class TransactionIds {
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    //Last (millis << 12 | counter) handed out; past 4096 ids in one millisecond it borrows from the next one
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TransactionIds() {
+    }
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long epochMillis) {
+        long candidate = epochMillis << COUNTER_BITS;
+        long last;
+        long stamp;
+        do {
+            last = LAST.get();
+            stamp = Math.max(last + 1, candidate);
+        } while (!LAST.compareAndSet(last, stamp));
+
+        long mostSigBits = (stamp >>> COUNTER_BITS) << 16 | VERSION_7 | (stamp & COUNTER_MASK);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT_RFC;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static long epochMillis(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+}
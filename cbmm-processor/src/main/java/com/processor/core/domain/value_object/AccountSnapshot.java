@@ -0,0 +1,22 @@
+package com.processor.core.domain.value_object;
+
+import com.processor.core.domain.model.Account;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSnapshot {
+    private String id;
+    private String currency;
+    private BigDecimal balance;
+    private Long version;
+
+    public static AccountSnapshot of(Account account) {
+        return new AccountSnapshot(account.getId(), account.getCurrency(), account.getBalance().toBigDecimal(),
+                account.getVersion());
+    }
+}
@@ -0,0 +1,12 @@
+package com.processor.core.domain.value_object;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppliedTransfer {
+    private Money sourceBalanceAfter;
+    private Money destinationBalanceAfter;
+}
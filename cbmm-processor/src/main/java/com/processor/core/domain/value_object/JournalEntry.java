@@ -0,0 +1,31 @@
+package com.processor.core.domain.value_object;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//One accepted transfer as sequenced by the in-memory ledger; carries everything needed to rebuild both ledger rows
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntry {
+    private long sequence;
+    private String eventId;
+    private LocalDateTime operationDate;
+    private LocalDateTime processedAt;
+
+    private UUID debitId;
+    private String sourceAccountId;
+    private String sourceCurrency;
+    private BigDecimal sourceAmount;
+    private BigDecimal sourceBalanceAfter;
+
+    private UUID creditId;
+    private String destinationAccountId;
+    private String destinationCurrency;
+    private BigDecimal destinationAmount;
+    private BigDecimal destinationBalanceAfter;
+}
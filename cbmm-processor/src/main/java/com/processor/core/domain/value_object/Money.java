@@ -0,0 +1,61 @@
+package com.processor.core.domain.value_object;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount in minor units at the scale of the DECIMAL(19,4) columns, so arithmetic and comparisons are plain
+ * {@code long} operations and a balance can never drift to another scale. Every {@code long} fits the column;
+ * arithmetic that would overflow throws {@link ArithmeticException} instead of wrapping.
+ */
+public record Money(long units) implements Comparable<Money> {
+    public static final int SCALE = 4;
+    public static final Money ZERO = new Money(0);
+
+    //Exact: an amount with more than four significant decimals or beyond the long range is rejected, never rounded
+    public static Money of(BigDecimal amount) {
+        try {
+            return new Money(amount.scaleByPowerOfTen(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() +
+                    " does not fit " + SCALE + " decimal places", e);
+        }
+    }
+
+    public static Money ofUnits(long units) {
+        return new Money(units);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(units, other.units));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(units, other.units));
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(units));
+    }
+
+    public boolean isLessThan(Money other) {
+        return units < other.units;
+    }
+
+    public int signum() {
+        return Long.signum(units);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(units, other.units);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
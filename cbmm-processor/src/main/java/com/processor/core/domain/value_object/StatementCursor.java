@@ -0,0 +1,20 @@
+package com.processor.core.domain.value_object;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//Position of the last entry returned; the next page starts strictly after it in (operationDate, id) DESC order
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementCursor {
+    private LocalDateTime operationDate;
+    private UUID transactionId;
+
+    public static StatementCursor after(StatementEntry entry) {
+        return new StatementCursor(entry.getOperationDate(), entry.getTransactionId());
+    }
+}
@@ -0,0 +1,22 @@
+package com.processor.core.domain.value_object;
+
+import com.processor.core.domain.enums.TransactionType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementEntry {
+    private UUID transactionId;
+    private String eventId;
+    private TransactionType type;
+    private BigDecimal amount;
+    private String currency;
+    private BigDecimal balanceAfter;
+    private LocalDateTime operationDate;
+}
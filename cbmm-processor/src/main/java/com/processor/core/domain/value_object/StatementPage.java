@@ -0,0 +1,15 @@
+package com.processor.core.domain.value_object;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementPage {
+    private List<StatementEntry> entries;
+    //Null on the last page
+    private StatementCursor next;
+}
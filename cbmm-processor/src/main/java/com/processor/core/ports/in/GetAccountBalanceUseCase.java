@@ -0,0 +1,7 @@
+package com.processor.core.ports.in;
+
+import com.processor.core.domain.value_object.AccountSnapshot;
+
+public interface GetAccountBalanceUseCase {
+    AccountSnapshot getBalance(String accountId);
+}
@@ -0,0 +1,8 @@
+package com.processor.core.ports.in;
+
+import com.processor.core.domain.value_object.StatementCursor;
+import com.processor.core.domain.value_object.StatementPage;
+
+public interface GetAccountStatementUseCase {
+    StatementPage getStatement(String accountId, StatementCursor after, int pageSize);
+}
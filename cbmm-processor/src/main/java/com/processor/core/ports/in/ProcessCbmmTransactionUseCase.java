@@ -4,4 +4,5 @@ import com.processor.core.domain.value_object.TransactionData;
 
 public interface ProcessCbmmTransactionUseCase {
     void process(TransactionData transaction);
+    void processWithinTransaction(TransactionData transaction);
 }
@@ -0,0 +1,10 @@
+package com.processor.core.ports.in;
+
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransactionResult;
+
+import java.util.List;
+
+public interface ProcessNettedBatchUseCase {
+    List<TransactionResult> processNetted(List<TransactionData> transactions);
+}
@@ -1,10 +1,17 @@
 package com.processor.core.ports.out;
 
 import com.processor.core.domain.model.Account;
+import com.processor.core.domain.value_object.AccountSnapshot;
 
 import java.util.Optional;
 
 public interface AccountRepository {
     Optional<Account> findById(String accountId);
     void save(Account account);
+    //Last committed state known without a database round trip; empty when nothing is cached
+    Optional<AccountSnapshot> findSnapshot(String accountId);
+    //Reads the committed state from the database outside any transaction
+    Optional<AccountSnapshot> refreshSnapshot(String accountId);
+    //Committed balance for read-only clients; may be served from a short-lived cache, never used to validate a transfer
+    Optional<AccountSnapshot> readBalance(String accountId);
 }
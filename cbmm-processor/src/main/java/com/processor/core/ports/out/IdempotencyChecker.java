@@ -1,9 +1,17 @@
 package com.processor.core.ports.out;
 
+import com.processor.core.domain.enums.ClaimStatus;
+
+import java.util.Collection;
+import java.util.Set;
+
 public interface IdempotencyChecker {
     boolean isProcessed(String eventId);
-    boolean tryMarkAsProcessing(String eventId);
+    Set<String> findProcessed(Collection<String> eventIds);
+    ClaimStatus tryClaim(String eventId);
     void markAsProcessed(String eventId);
+    //Unlike markAsProcessed, failures propagate so the caller can keep the events pending and retry
+    void markAllAsProcessed(Collection<String> eventIds);
     void markAsFailed(String eventId, String errorMessage);
     void release(String eventId);
 }
@@ -0,0 +1,17 @@
+package com.processor.core.ports.out;
+
+import com.processor.core.domain.value_object.JournalEntry;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface LedgerJournal {
+    //Returns once the entries are durable
+    void append(List<JournalEntry> entries);
+
+    //Entries with a sequence above afterSequence, in sequence order
+    void replay(long afterSequence, Consumer<JournalEntry> consumer);
+
+    //Entries up to throughSequence are in the system of record and may be discarded
+    void truncate(long throughSequence);
+}
@@ -0,0 +1,19 @@
+package com.processor.core.ports.out;
+
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.domain.value_object.JournalEntry;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LedgerStore {
+    List<AccountSnapshot> loadAccounts();
+
+    Optional<AccountSnapshot> loadAccount(String accountId);
+
+    //Sequence of the last journal entry written by persist, 0 when none
+    long lastPersistedSequence();
+
+    //Ledger rows, final balances and the new checkpoint in one transaction
+    void persist(List<JournalEntry> entries);
+}
@@ -0,0 +1,12 @@
+package com.processor.core.ports.out;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxRepository {
+    //Must join the transaction that applies the events, so the row commits or rolls back with them
+    void append(Collection<String> eventIds);
+    //Oldest pending events, locked for the caller's transaction and skipped by concurrent relays
+    List<String> lockPending(int limit);
+    void delete(Collection<String> eventIds);
+}
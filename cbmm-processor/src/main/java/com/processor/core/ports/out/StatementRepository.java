@@ -0,0 +1,11 @@
+package com.processor.core.ports.out;
+
+import com.processor.core.domain.value_object.StatementCursor;
+import com.processor.core.domain.value_object.StatementEntry;
+
+import java.util.List;
+
+public interface StatementRepository {
+    //Newest first; after is null for the first page
+    List<StatementEntry> findStatement(String accountId, StatementCursor after, int limit);
+}
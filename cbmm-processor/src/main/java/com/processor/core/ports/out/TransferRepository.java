@@ -0,0 +1,15 @@
+package com.processor.core.ports.out;
+
+import com.processor.core.domain.value_object.AppliedTransfer;
+import com.processor.core.domain.value_object.Money;
+import com.processor.core.domain.value_object.TransactionData;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TransferRepository {
+    //Applies both legs and both ledger rows atomically; empty when a guard (funds, currency, existence) rejected it.
+    //Amounts come in as Money so an over-precise input is rejected before the statement, never rounded by the column
+    Optional<AppliedTransfer> applyTransfer(TransactionData transaction, Money debitAmount, Money creditAmount,
+                                            UUID debitTransactionId, UUID creditTransactionId);
+}
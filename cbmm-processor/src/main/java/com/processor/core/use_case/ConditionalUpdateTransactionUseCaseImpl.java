@@ -0,0 +1,87 @@
+package com.processor.core.use_case;
+
+import com.processor.core.domain.exception.AccountNotFoundException;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
+import com.processor.core.domain.model.Account;
+import com.processor.core.domain.model.TransactionIds;
+import com.processor.core.domain.value_object.AppliedTransfer;
+import com.processor.core.domain.value_object.Money;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
+import com.processor.core.ports.out.AccountRepository;
+import com.processor.core.ports.out.OutboxRepository;
+import com.processor.core.ports.out.TransferRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+//Applies the transfer as one conditional statement instead of read-modify-write, so contention never causes retries
+@Service
+@AllArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "transaction.persistence", name = "mode", havingValue = "CONDITIONAL_UPDATE")
+public class ConditionalUpdateTransactionUseCaseImpl implements ProcessCbmmTransactionUseCase {
+    private final TransferRepository transferRepository;
+    private final AccountRepository accountRepository;
+    private final OutboxRepository outboxRepository;
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public void process(TransactionData transaction) {
+        processWithinTransaction(transaction);
+    }
+
+    @Override
+    public void processWithinTransaction(TransactionData transaction) {
+        //Same conversion as the entity path, so both modes accept and reject the same amounts
+        Money debitAmount = Money.of(transaction.getSourceAccount().getAmount());
+        Money creditAmount = Money.of(transaction.getDestinationAccount().getAmount());
+
+        AppliedTransfer applied = transferRepository.applyTransfer(transaction, debitAmount, creditAmount,
+                        TransactionIds.next(), TransactionIds.next())
+                .orElseThrow(() -> rejectionFor(transaction));
+        outboxRepository.append(List.of(transaction.getEventId()));
+
+        log.info("Transaction processed successfully: {} -> {}",
+                transaction.getSourceAccount().getAccountId(),
+                transaction.getDestinationAccount().getAccountId());
+        log.debug("Balances after {}: source={}, destination={}", transaction.getEventId(),
+                applied.getSourceBalanceAfter(), applied.getDestinationBalanceAfter());
+    }
+
+    //Only reached when the statement changed nothing; re-reads the accounts to report which guard failed
+    private RuntimeException rejectionFor(TransactionData transaction) {
+        TransferAccount source = transaction.getSourceAccount();
+        TransferAccount destination = transaction.getDestinationAccount();
+
+        Account sourceAccount = findAccount(source.getAccountId());
+        Account destinationAccount = findAccount(destination.getAccountId());
+
+        if (!sourceAccount.getCurrency().equals(source.getCurrency())) {
+            return currencyMismatch(sourceAccount, source.getCurrency());
+        }
+        if (!destinationAccount.getCurrency().equals(destination.getCurrency())) {
+            return currencyMismatch(destinationAccount, destination.getCurrency());
+        }
+        return new InsufficientFundsException(
+                "Source account has insufficient balance for event " + transaction.getEventId());
+    }
+
+    private Account findAccount(String accountId) {
+        return accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+    }
+
+    private InvalidCurrencyException currencyMismatch(Account account, String currency) {
+        return new InvalidCurrencyException("Currency mismatch for account " + account.getId() +
+                ". Expected: " + account.getCurrency() + ", Got: " + currency);
+    }
+}
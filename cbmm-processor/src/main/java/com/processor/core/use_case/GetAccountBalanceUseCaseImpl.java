@@ -0,0 +1,20 @@
+package com.processor.core.use_case;
+
+import com.processor.core.domain.exception.AccountNotFoundException;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.ports.in.GetAccountBalanceUseCase;
+import com.processor.core.ports.out.AccountRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class GetAccountBalanceUseCaseImpl implements GetAccountBalanceUseCase {
+    private final AccountRepository accountRepository;
+
+    @Override
+    public AccountSnapshot getBalance(String accountId) {
+        return accountRepository.readBalance(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.processor.core.use_case;
+
+import com.processor.core.domain.value_object.StatementCursor;
+import com.processor.core.domain.value_object.StatementEntry;
+import com.processor.core.domain.value_object.StatementPage;
+import com.processor.core.ports.in.GetAccountStatementUseCase;
+import com.processor.core.ports.out.StatementRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class GetAccountStatementUseCaseImpl implements GetAccountStatementUseCase {
+    static final int MAX_PAGE_SIZE = 500;
+
+    private final StatementRepository statementRepository;
+
+    @Override
+    public StatementPage getStatement(String accountId, StatementCursor after, int pageSize) {
+        int limit = Math.clamp(pageSize, 1, MAX_PAGE_SIZE);
+
+        //One extra row tells whether another page exists without a count query
+        List<StatementEntry> rows = statementRepository.findStatement(accountId, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new StatementPage(rows, null);
+        }
+
+        List<StatementEntry> entries = rows.subList(0, limit);
+        return new StatementPage(List.copyOf(entries), StatementCursor.after(entries.getLast()));
+    }
+}
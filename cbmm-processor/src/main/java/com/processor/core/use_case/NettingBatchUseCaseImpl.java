@@ -0,0 +1,177 @@
+package com.processor.core.use_case;
+
+import com.processor.core.domain.enums.TransactionStatus;
+import com.processor.core.domain.enums.TransactionType;
+import com.processor.core.domain.exception.AccountNotFoundException;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
+import com.processor.core.domain.model.Account;
+import com.processor.core.domain.model.Transaction;
+import com.processor.core.domain.model.TransactionIds;
+import com.processor.core.domain.value_object.Money;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransactionResult;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.core.ports.in.ProcessNettedBatchUseCase;
+import com.processor.core.ports.out.AccountRepository;
+import com.processor.core.ports.out.OutboxRepository;
+import com.processor.core.ports.out.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+//Replays the batch in order against running balances, then writes one net update per account.
+//Validation and ledger balances match what sequential processing of the same events would produce.
+@Service
+@AllArgsConstructor
+@Slf4j
+public class NettingBatchUseCaseImpl implements ProcessNettedBatchUseCase {
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final OutboxRepository outboxRepository;
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
+    public List<TransactionResult> processNetted(List<TransactionData> transactions) {
+        Map<String, Account> accounts = loadAccounts(transactions);
+        Map<String, Money> running = new HashMap<>();
+        accounts.forEach((id, account) -> running.put(id, account.getBalance()));
+
+        TreeSet<String> touched = new TreeSet<>();
+        List<Transaction> ledger = new ArrayList<>(transactions.size() * 2);
+        List<TransactionResult> results = new ArrayList<>(transactions.size());
+
+        for (TransactionData transaction : transactions) {
+            try {
+                applyToRunningBalances(transaction, accounts, running, ledger);
+                touched.add(transaction.getSourceAccount().getAccountId());
+                touched.add(transaction.getDestinationAccount().getAccountId());
+                results.add(TransactionResult.success(transaction.getEventId()));
+
+            } catch (InsufficientFundsException | InvalidCurrencyException | AccountNotFoundException e) {
+                results.add(TransactionResult.failed(transaction.getEventId(), e.getMessage()));
+            } catch (IllegalArgumentException | ArithmeticException e) {
+                //An over-precise amount or a balance overflow fails only its event, not the whole netted chunk
+                log.warn("Event {} rejected in netted batch: {}", transaction.getEventId(), e.getMessage());
+                results.add(TransactionResult.failed(transaction.getEventId(), e.getMessage()));
+            }
+        }
+
+        //Every touched row is written once, even with a zero net, so its version still guards the batch
+        for (String accountId : touched) {
+            Account account = accounts.get(accountId);
+            Money net = running.get(accountId).minus(account.getBalance());
+            if (net.signum() < 0) {
+                account.debit(net.negate());
+            } else {
+                account.credit(net);
+            }
+            accountRepository.save(account);
+        }
+        ledger.forEach(transactionRepository::save);
+
+        entityManager.flush();
+        outboxRepository.append(results.stream()
+                .filter(result -> result.getStatus() == TransactionResult.TransactionStatus.SUCCESS)
+                .map(TransactionResult::getEventId)
+                .toList());
+
+        log.info("Netted batch of {} events into {} account updates", transactions.size(), touched.size());
+        return results;
+    }
+
+    //Sorted so concurrent batches read (and later update) shared accounts in the same order
+    private Map<String, Account> loadAccounts(List<TransactionData> transactions) {
+        TreeSet<String> accountIds = new TreeSet<>();
+        for (TransactionData transaction : transactions) {
+            accountIds.add(transaction.getSourceAccount().getAccountId());
+            accountIds.add(transaction.getDestinationAccount().getAccountId());
+        }
+
+        Map<String, Account> accounts = new TreeMap<>();
+        for (String accountId : accountIds) {
+            accountRepository.findById(accountId).ifPresent(account -> accounts.put(accountId, account));
+        }
+        return accounts;
+    }
+
+    private void applyToRunningBalances(TransactionData transaction, Map<String, Account> accounts,
+                                        Map<String, Money> running, List<Transaction> ledger) {
+        TransferAccount source = transaction.getSourceAccount();
+        TransferAccount destination = transaction.getDestinationAccount();
+
+        //Same order of checks as the per-event use case, so failures carry the same message
+        boolean sourceFirst = source.getAccountId().compareTo(destination.getAccountId()) <= 0;
+        requireAccount(accounts, sourceFirst ? source.getAccountId() : destination.getAccountId());
+        requireAccount(accounts, sourceFirst ? destination.getAccountId() : source.getAccountId());
+
+        Account sourceAccount = accounts.get(source.getAccountId());
+        Account destinationAccount = accounts.get(destination.getAccountId());
+
+        validateTransactionCurrency(sourceAccount, source.getCurrency());
+        validateTransactionCurrency(destinationAccount, destination.getCurrency());
+
+        Money debitAmount = Money.of(source.getAmount());
+        Money creditAmount = Money.of(destination.getAmount());
+
+        if (running.get(source.getAccountId()).isLessThan(debitAmount)) {
+            throw new InsufficientFundsException(
+                    "Source account has insufficient balance for event " + transaction.getEventId());
+        }
+
+        //Both balances are computed before either is stored, so an overflow leaves the running balances untouched
+        Money sourceBalance = running.get(source.getAccountId()).minus(debitAmount);
+        Money destinationBalance = source.getAccountId().equals(destination.getAccountId())
+                ? sourceBalance.plus(creditAmount)
+                : running.get(destination.getAccountId()).plus(creditAmount);
+        running.put(source.getAccountId(), sourceBalance);
+        running.put(destination.getAccountId(), destinationBalance);
+
+        ledger.add(buildTransaction(source, debitAmount, TransactionType.DEBIT, transaction.getEventId(),
+                transaction.getOperationDate(), running.get(source.getAccountId())));
+        ledger.add(buildTransaction(destination, creditAmount, TransactionType.CREDIT, transaction.getEventId(),
+                transaction.getOperationDate(), running.get(destination.getAccountId())));
+    }
+
+    private void requireAccount(Map<String, Account> accounts, String accountId) {
+        if (!accounts.containsKey(accountId)) {
+            throw new AccountNotFoundException("Account not found: " + accountId);
+        }
+    }
+
+    private void validateTransactionCurrency(Account account, String currency) {
+        if (!account.getCurrency().equals(currency)) {
+            throw new InvalidCurrencyException("Currency mismatch for account " + account.getId() +
+                    ". Expected: " + account.getCurrency() + ", Got: " + currency);
+        }
+    }
+
+    private Transaction buildTransaction(TransferAccount account, Money amount, TransactionType type, String eventId,
+                                         LocalDateTime operationDate, Money balanceAfter) {
+        return Transaction.builder()
+                .id(TransactionIds.next())
+                .accountId(account.getAccountId())
+                .eventId(eventId)
+                .type(type)
+                .amount(amount)
+                .currency(account.getCurrency())
+                .balanceAfter(balanceAfter)
+                .operationDate(operationDate)
+                .processedAt(LocalDateTime.now())
+                .status(TransactionStatus.APPLIED)
+                .build();
+    }
+}
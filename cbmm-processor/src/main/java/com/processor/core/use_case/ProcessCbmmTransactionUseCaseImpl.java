@@ -7,37 +7,47 @@ import com.processor.core.domain.exception.InsufficientFundsException;
 import com.processor.core.domain.exception.InvalidCurrencyException;
 import com.processor.core.domain.model.Account;
 import com.processor.core.domain.model.Transaction;
+import com.processor.core.domain.model.TransactionIds;
+import com.processor.core.domain.value_object.Money;
 import com.processor.core.domain.value_object.TransactionData;
 import com.processor.core.domain.value_object.TransferAccount;
 import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
 import com.processor.core.ports.out.AccountRepository;
+import com.processor.core.ports.out.OutboxRepository;
 import com.processor.core.ports.out.TransactionRepository;
 import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 @Slf4j
+@ConditionalOnProperty(prefix = "transaction.persistence", name = "mode", havingValue = "ENTITY", matchIfMissing = true)
 public class ProcessCbmmTransactionUseCaseImpl implements ProcessCbmmTransactionUseCase {
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final EntityManager entityManager;
+    private final OutboxRepository outboxRepository;
 
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED, propagation = Propagation.REQUIRES_NEW)
     public void process(TransactionData transaction) {
+        processWithinTransaction(transaction);
+    }
+
+    //Joins the caller's transaction; used by group commit to apply many events under one commit
+    @Override
+    public void processWithinTransaction(TransactionData transaction) {
         List<String> accountIds = getSortedAccountIds(
                 transaction.getSourceAccount().getAccountId(),
                 transaction.getDestinationAccount().getAccountId()
@@ -62,21 +72,23 @@ public class ProcessCbmmTransactionUseCaseImpl implements ProcessCbmmTransaction
         validateTransactionCurrency(destinationAccount,
                 transaction.getDestinationAccount().getCurrency());
 
-        if (sourceAccount.getBalance()
-                .compareTo(transaction.getSourceAccount().getAmount()) < 0) {
+        Money debitAmount = Money.of(transaction.getSourceAccount().getAmount());
+        Money creditAmount = Money.of(transaction.getDestinationAccount().getAmount());
+
+        if (sourceAccount.getBalance().isLessThan(debitAmount)) {
             throw new InsufficientFundsException(
                     "Source account has insufficient balance for event " + transaction.getEventId());
         }
 
-        sourceAccount.debit(transaction.getSourceAccount().getAmount());
-        destinationAccount.credit(transaction.getDestinationAccount().getAmount());
+        sourceAccount.debit(debitAmount);
+        destinationAccount.credit(creditAmount);
 
-        Transaction debitTransaction = buildTransaction(transaction.getSourceAccount(), TransactionType.DEBIT,
-                transaction.getEventId(), transaction.getOperationDate(),
+        Transaction debitTransaction = buildTransaction(transaction.getSourceAccount(), debitAmount,
+                TransactionType.DEBIT, transaction.getEventId(), transaction.getOperationDate(),
                 sourceAccount.getBalance(), TransactionStatus.APPLIED);
 
-        Transaction creditTransaction = buildTransaction(transaction.getDestinationAccount(), TransactionType.CREDIT,
-                transaction.getEventId(), transaction.getOperationDate(),
+        Transaction creditTransaction = buildTransaction(transaction.getDestinationAccount(), creditAmount,
+                TransactionType.CREDIT, transaction.getEventId(), transaction.getOperationDate(),
                 destinationAccount.getBalance(), TransactionStatus.APPLIED);
 
 
@@ -86,21 +98,22 @@ public class ProcessCbmmTransactionUseCaseImpl implements ProcessCbmmTransaction
         transactionRepository.save(creditTransaction);
 
         entityManager.flush();
+        outboxRepository.append(List.of(transaction.getEventId()));
 
         log.info("Transaction processed successfully: {} -> {}",
                 sourceAccount.getId(),
                 destinationAccount.getId());
     }
 
-    private Transaction buildTransaction(TransferAccount account, TransactionType type,
+    private Transaction buildTransaction(TransferAccount account, Money amount, TransactionType type,
                                          String eventId, LocalDateTime operationDate,
-                                         BigDecimal balanceAfter, TransactionStatus status) {
+                                         Money balanceAfter, TransactionStatus status) {
         return Transaction.builder()
-                .id(getUUID())
+                .id(TransactionIds.next())
                 .accountId(account.getAccountId())
                 .eventId(eventId)
                 .type(type)
-                .amount(account.getAmount())
+                .amount(amount)
                 .currency(account.getCurrency())
                 .balanceAfter(balanceAfter)
                 .operationDate(operationDate)
@@ -124,8 +137,4 @@ public class ProcessCbmmTransactionUseCaseImpl implements ProcessCbmmTransaction
                     ". Expected: " + account.getCurrency() + ", Got: " + currency);
         }
     }
-
-    private String getUUID(){
-        return UUID.randomUUID().toString();
-    }
 }
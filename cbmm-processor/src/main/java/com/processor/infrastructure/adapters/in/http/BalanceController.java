@@ -0,0 +1,35 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.processor.core.domain.exception.AccountNotFoundException;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.ports.in.GetAccountBalanceUseCase;
+import com.processor.infrastructure.adapters.in.http.dto.BalanceResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cbmm/accounts")
+@AllArgsConstructor
+public class BalanceController {
+    private final GetAccountBalanceUseCase getAccountBalanceUseCase;
+
+    @GetMapping("/{accountId}/balance")
+    public ResponseEntity<BalanceResponse> balance(@PathVariable String accountId) {
+        AccountSnapshot snapshot = getAccountBalanceUseCase.getBalance(accountId);
+
+        return ResponseEntity.ok(BalanceResponse.builder()
+                .accountId(snapshot.getId())
+                .currency(snapshot.getCurrency())
+                .availableBalance(snapshot.getBalance())
+                .build());
+    }
+
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleAccountNotFound(AccountNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+}
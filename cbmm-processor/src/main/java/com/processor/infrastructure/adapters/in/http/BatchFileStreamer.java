@@ -0,0 +1,117 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processor.application.service.AdmissionController;
+import com.processor.application.service.CbmmTransactionApplicationService;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransactionResult;
+import com.processor.infrastructure.config.StreamingConfig;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decodes a JSON array of events one element at a time and writes one NDJSON result line per event,
+ * in input order. At most {@code maxInFlight} events are decoded but not yet written, so heap usage
+ * does not depend on the size of the file.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class BatchFileStreamer {
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final CbmmTransactionApplicationService applicationService;
+    private final TransactionDataJsonReader transactionDataJsonReader;
+    private final ObjectMapper objectMapper;
+    private final StreamingConfig streamingConfig;
+    private final AdmissionController admissionController;
+
+    public void stream(InputStream input, OutputStream output) throws IOException {
+        Deque<CompletableFuture<TransactionResult>> inFlight = new ArrayDeque<>();
+        List<TransactionData> chunk = new ArrayList<>(streamingConfig.getChunkSize());
+        long decoded = 0;
+        String error = null;
+
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of events");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                decoded++;
+                try {
+                    chunk.add(transactionDataJsonReader.read(parser));
+                } catch (InvalidEventException e) {
+                    submit(chunk, inFlight);
+                    inFlight.addLast(CompletableFuture.completedFuture(
+                            TransactionResult.failed(e.getEventId(), e.getMessage())));
+                }
+
+                if (chunk.size() >= streamingConfig.getChunkSize()) {
+                    submit(chunk, inFlight);
+                }
+                writeCompleted(inFlight, output, streamingConfig.getMaxInFlight());
+            }
+
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected an event object or the end of the array");
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Malformed batch file after {} events: {}", decoded, e.getOriginalMessage());
+            error = e.getOriginalMessage();
+        }
+
+        submit(chunk, inFlight);
+        writeCompleted(inFlight, output, 0);
+        if (error != null) {
+            writeLine(output, Map.of("error", error));
+        }
+        output.flush();
+        log.info("Streamed results for {} events", decoded);
+    }
+
+    //Chunks go through the batch path so each one gets the idempotency prefetch and in-payload dedupe
+    private void submit(List<TransactionData> chunk, Deque<CompletableFuture<TransactionResult>> inFlight) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        AdmissionController.Admission admission = admissionController.admitEvents(chunk.size());
+        List<CompletableFuture<TransactionResult>> futures;
+        try {
+            futures = applicationService.processTransactionsConcurrently(List.copyOf(chunk));
+        } catch (RuntimeException e) {
+            admission.close();
+            throw e;
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).whenComplete((r, e) -> admission.close());
+        inFlight.addAll(futures);
+        chunk.clear();
+    }
+
+    private void writeCompleted(Deque<CompletableFuture<TransactionResult>> inFlight,
+                                OutputStream output, int maxInFlight) throws IOException {
+        while (!inFlight.isEmpty() && (inFlight.size() > maxInFlight || inFlight.peekFirst().isDone())) {
+            writeLine(output, inFlight.removeFirst().join());
+        }
+    }
+
+    private void writeLine(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write(NEW_LINE);
+    }
+}
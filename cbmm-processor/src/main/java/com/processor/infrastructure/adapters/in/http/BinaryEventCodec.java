@@ -0,0 +1,184 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.infrastructure.adapters.in.http.dto.AccountDTO;
+import com.processor.infrastructure.adapters.in.http.dto.EventDTO;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Length-prefixed binary encoding of the batch event schema, negotiated with {@link #MEDIA_TYPE_VALUE}.
+ * <pre>
+ * batch   = magic:int "CBMM", version:byte, count:int, event * count
+ * event   = event_id:str, event_type:str, epoch_second:long, nano:int, offset_seconds:int, origin:account, destination:account
+ * account = account_id:str, currency:str, scale:byte, unscaled_amount:long
+ * str     = length:unsigned short (0xFFFF for null), UTF-8 bytes
+ * </pre>
+ * All integers are big-endian. The operation date keeps its offset so decoding yields the same local
+ * date and time as parsing the ISO string; amounts are {@code unscaled × 10^-scale}. Decoded events go through
+ * the same {@link RequiredEventFields} as JSON ones: a null required string fails the batch with
+ * {@link InvalidEventException}.
+ */
+@Component
+public class BinaryEventCodec {
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.cbmm.events+binary";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int MAGIC = 0x43424D4D;
+    private static final byte VERSION = 1;
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final int MAX_PREALLOCATED_EVENTS = 4096;
+
+    public static boolean isBinary(String contentType) {
+        try {
+            return contentType != null && MEDIA_TYPE.equalsTypeAndSubtype(MediaType.parseMediaType(contentType));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public byte[] encode(List<EventDTO> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + events.size() * 96);
+        try {
+            encode(events, bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory stream failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public void encode(List<EventDTO> events, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(events.size());
+
+        for (EventDTO event : events) {
+            writeString(out, event.getEvent_id());
+            writeString(out, event.getEvent_type());
+
+            if (event.getOperation_date() == null) {
+                throw new IllegalArgumentException("Missing operation_date for event " + event.getEvent_id());
+            }
+            ZonedDateTime operationDate = ZonedDateTime.parse(event.getOperation_date(), DateTimeFormatter.ISO_ZONED_DATE_TIME);
+            out.writeLong(operationDate.toEpochSecond());
+            out.writeInt(operationDate.getNano());
+            out.writeInt(operationDate.getOffset().getTotalSeconds());
+
+            writeAccount(out, event.getOrigin(), event.getEvent_id());
+            writeAccount(out, event.getDestination(), event.getEvent_id());
+        }
+        out.flush();
+    }
+
+    public List<TransactionData> decode(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input instanceof BufferedInputStream ? input : new BufferedInputStream(input));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary event batch");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary batch version " + version);
+        }
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Negative event count " + count);
+        }
+
+        //The count is untrusted until the events are actually read
+        List<TransactionData> transactions = new ArrayList<>(Math.min(count, MAX_PREALLOCATED_EVENTS));
+        for (int i = 0; i < count; i++) {
+            TransactionData transaction = new TransactionData();
+            transaction.setEventId(readString(in));
+            readString(in);
+            long epochSecond = in.readLong();
+            int nano = in.readInt();
+            int offsetSeconds = in.readInt();
+            try {
+                transaction.setOperationDate(
+                        LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.ofTotalSeconds(offsetSeconds)));
+            } catch (DateTimeException e) {
+                throw new IOException("Invalid operation date for event " + transaction.getEventId(), e);
+            }
+            transaction.setSourceAccount(readAccount(in));
+            transaction.setDestinationAccount(readAccount(in));
+            RequiredEventFields.validate(transaction);
+            transactions.add(transaction);
+        }
+
+        if (in.read() != -1) {
+            throw new IOException("Unexpected bytes after " + count + " events");
+        }
+        return transactions;
+    }
+
+    private static void writeAccount(DataOutputStream out, AccountDTO account, String eventId) throws IOException {
+        if (account == null || account.getAmount() == null) {
+            throw new IllegalArgumentException("Missing account or amount for event " + eventId);
+        }
+        BigDecimal amount = account.getAmount();
+        if (amount.scale() < Byte.MIN_VALUE || amount.scale() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Amount scale out of range for event " + eventId);
+        }
+
+        writeString(out, account.getAccount_id());
+        writeString(out, account.getCurrency());
+        out.writeByte(amount.scale());
+        try {
+            out.writeLong(amount.unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount does not fit the binary format for event " + eventId, e);
+        }
+    }
+
+    private static TransferAccount readAccount(DataInputStream in) throws IOException {
+        TransferAccount account = new TransferAccount();
+        account.setAccountId(readString(in));
+        account.setCurrency(readString(in));
+        int scale = in.readByte();
+        account.setAmount(BigDecimal.valueOf(in.readLong(), scale));
+        return account;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("String field longer than " + (NULL_LENGTH - 1) + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
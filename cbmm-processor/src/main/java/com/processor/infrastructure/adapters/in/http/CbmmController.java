@@ -1,27 +1,26 @@
 package com.processor.infrastructure.adapters.in.http;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processor.application.service.AdmissionController;
+import com.processor.application.service.AdmissionRejectedException;
 import com.processor.application.service.CbmmTransactionApplicationService;
 import com.processor.core.domain.value_object.TransactionData;
 import com.processor.core.domain.value_object.TransactionResult;
-import com.processor.core.domain.value_object.TransferAccount;
 import com.processor.infrastructure.adapters.in.http.dto.BatchProcessingResponse;
-import com.processor.infrastructure.adapters.in.http.dto.EventDTO;
 import lombok.AllArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
 
 
 @RestController
@@ -30,21 +29,40 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class CbmmController {
     private final CbmmTransactionApplicationService applicationService;
-    private final ObjectMapper objectMapper;
-
-    @PostMapping("/process-batch")
-    public ResponseEntity<BatchProcessingResponse> processBatch(
-            @RequestBody List<EventDTO> eventDTOS) {
-
-        List<TransactionData> transactions = eventDTOS.stream()
-                .map(this::mapFromEventDTO)
-                .toList();
+    private final TransactionDataJsonReader transactionDataJsonReader;
+    private final BatchFileStreamer batchFileStreamer;
+    private final AdmissionController admissionController;
+    private final BinaryEventCodec binaryEventCodec;
+
+    @PostMapping(value = "/process-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchProcessingResponse> processBatch(InputStream body) {
+        List<TransactionData> transactions;
+        try {
+            transactions = transactionDataJsonReader.readArray(body);
+        } catch (IOException e) {
+            log.error("Error reading JSON batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        return processTransactions(transactions);
+    }
 
-        List<CompletableFuture<TransactionResult>> futures =
-                applicationService.processTransactionsConcurrently(transactions);
+    @PostMapping(value = "/process-batch", consumes = BinaryEventCodec.MEDIA_TYPE_VALUE)
+    public ResponseEntity<BatchProcessingResponse> processBinaryBatch(InputStream body) {
+        List<TransactionData> transactions;
+        try {
+            transactions = binaryEventCodec.decode(body);
+        } catch (IOException e) {
+            log.error("Error reading binary batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        return processTransactions(transactions);
+    }
 
-        List<TransactionResult> results =
-                applicationService.waitForAllTransactions(futures);
+    private ResponseEntity<BatchProcessingResponse> processTransactions(List<TransactionData> transactions) {
+        List<TransactionResult> results;
+        try (AdmissionController.Admission admission = admissionController.tryAdmit(transactions.size())) {
+            results = applicationService.processBatch(transactions);
+        }
 
         long successCount = results.stream()
                 .filter(r -> r.getStatus() == TransactionResult.TransactionStatus.SUCCESS)
@@ -68,46 +86,66 @@ public class CbmmController {
     public ResponseEntity<BatchProcessingResponse> processBatchFile(
             @RequestParam("file") MultipartFile file) {
         try {
-            List<EventDTO> eventDTOS = objectMapper.readValue(
-                    file.getInputStream(),
-                    new TypeReference<>() {}
-            );
+            List<TransactionData> transactions = BinaryEventCodec.isBinary(file.getContentType())
+                    ? binaryEventCodec.decode(file.getInputStream())
+                    : transactionDataJsonReader.readArray(file.getInputStream());
 
-            return processBatch(eventDTOS);
+            return processTransactions(transactions);
         } catch (IOException e) {
-            log.error("Error reading JSON File", e);
+            log.error("Error reading batch file", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
-    @PostMapping("/process-single")
-    public ResponseEntity<TransactionResult> processSingle(
-            @RequestBody EventDTO event) {
-        TransactionResult result = applicationService.processTransactionSync(mapFromEventDTO(event));
-        return ResponseEntity.ok(result);
+    @PostMapping(value = "/process-batch-file/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> processBatchFileStream(
+            @RequestParam("file") MultipartFile file) {
+        //The request slot is held for the whole stream; each chunk then waits for its own event permits
+        AdmissionController.Admission admission = admissionController.tryAdmit(0);
+        try {
+            InputStream input = file.getInputStream();
+            StreamingResponseBody body = output -> {
+                try (admission; input) {
+                    batchFileStreamer.stream(input, output);
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(body);
+        } catch (IOException e) {
+            admission.close();
+            log.error("Error opening JSON File", e);
+            return ResponseEntity.badRequest().build();
+        }
     }
 
-    private TransactionData mapFromEventDTO(EventDTO event) {
-        TransactionData transaction = new TransactionData();
-        transaction.setEventId(event.getEvent_id());
-        LocalDateTime operationDate = ZonedDateTime
-                .parse(event.getOperation_date(), DateTimeFormatter.ISO_ZONED_DATE_TIME)
-                .toLocalDateTime();
-        transaction.setOperationDate(operationDate);
-
-        TransferAccount sourceAccount = new TransferAccount();
-        sourceAccount.setAccountId(event.getOrigin().getAccount_id());
-        sourceAccount.setAmount(event.getOrigin().getAmount());
-        sourceAccount.setCurrency(event.getOrigin().getCurrency());
+    @PostMapping(value = "/process-single", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransactionResult> processSingle(InputStream body) {
+        TransactionData transaction;
+        try {
+            transaction = transactionDataJsonReader.readObject(body);
+        } catch (IOException e) {
+            log.error("Error reading JSON event: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
 
-        TransferAccount destinationAccount = new TransferAccount();
-        destinationAccount.setAccountId(event.getDestination().getAccount_id());
-        destinationAccount.setAmount(event.getDestination().getAmount());
-        destinationAccount.setCurrency(event.getDestination().getCurrency());
+        try (AdmissionController.Admission admission = admissionController.tryAdmit(1)) {
+            TransactionResult result = applicationService.processTransactionSync(transaction);
+            return ResponseEntity.ok(result);
+        }
+    }
 
-        transaction.setSourceAccount(sourceAccount);
-        transaction.setDestinationAccount(destinationAccount);
+    @ExceptionHandler(InvalidEventException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidEvent(InvalidEventException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "field", e.getField()));
+    }
 
-        return transaction;
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleAdmissionRejected(AdmissionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", e.getMessage()));
     }
 }
@@ -0,0 +1,38 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.infrastructure.adapters.in.http.dto.EventDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Component
+public class EventDTOMapper {
+
+    public TransactionData mapFromEventDTO(EventDTO event) {
+        TransactionData transaction = new TransactionData();
+        transaction.setEventId(event.getEvent_id());
+        LocalDateTime operationDate = ZonedDateTime
+                .parse(event.getOperation_date(), DateTimeFormatter.ISO_ZONED_DATE_TIME)
+                .toLocalDateTime();
+        transaction.setOperationDate(operationDate);
+
+        TransferAccount sourceAccount = new TransferAccount();
+        sourceAccount.setAccountId(event.getOrigin().getAccount_id());
+        sourceAccount.setAmount(event.getOrigin().getAmount());
+        sourceAccount.setCurrency(event.getOrigin().getCurrency());
+
+        TransferAccount destinationAccount = new TransferAccount();
+        destinationAccount.setAccountId(event.getDestination().getAccount_id());
+        destinationAccount.setAmount(event.getDestination().getAmount());
+        destinationAccount.setCurrency(event.getDestination().getCurrency());
+
+        transaction.setSourceAccount(sourceAccount);
+        transaction.setDestinationAccount(destinationAccount);
+
+        return transaction;
+    }
+}
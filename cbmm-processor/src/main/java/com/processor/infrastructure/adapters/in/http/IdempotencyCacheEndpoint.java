@@ -0,0 +1,21 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.processor.infrastructure.adapters.out.reddis.CachingIdempotencyChecker;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "idempotencycache")
+@ConditionalOnProperty(prefix = "idempotency.near-cache", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class IdempotencyCacheEndpoint {
+    private final CachingIdempotencyChecker cachingIdempotencyChecker;
+
+    @ReadOperation
+    public CachingIdempotencyChecker.NearCacheStats stats() {
+        return cachingIdempotencyChecker.stats();
+    }
+}
@@ -0,0 +1,22 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.processor.infrastructure.adapters.out.reddis.IdempotencyMemoryReporter;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+//Read-only: samples the live keyspaces. Off by default and not in the default web exposure
+@Component
+@Endpoint(id = "idempotencymemory")
+@ConditionalOnProperty(prefix = "idempotency.memory-report", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class IdempotencyMemoryEndpoint {
+    private final IdempotencyMemoryReporter idempotencyMemoryReporter;
+
+    @ReadOperation
+    public IdempotencyMemoryReporter.MemoryReport report() {
+        return idempotencyMemoryReporter.report();
+    }
+}
@@ -0,0 +1,16 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import lombok.Getter;
+
+//A well-formed JSON event with a missing or malformed field; the rest of the payload is still readable
+@Getter
+public class InvalidEventException extends RuntimeException {
+    private final String eventId;
+    private final String field;
+
+    public InvalidEventException(String eventId, String field, String reason) {
+        super("Invalid " + field + " for event " + eventId + ": " + reason);
+        this.eventId = eventId;
+        this.field = field;
+    }
+}
@@ -0,0 +1,50 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransferAccount;
+
+/**
+ * Fields every transfer event must carry, whatever the wire format. A decoded event missing one is rejected
+ * with {@link InvalidEventException} before it reaches the application, which would otherwise fail it deep
+ * inside the transfer (or claim a null event id).
+ */
+final class RequiredEventFields {
+
+    private RequiredEventFields() {
+    }
+
+    static void validate(TransactionData transaction) {
+        String missing = firstMissing(transaction);
+        if (missing != null) {
+            throw new InvalidEventException(transaction.getEventId(), missing, "is required");
+        }
+    }
+
+    private static String firstMissing(TransactionData transaction) {
+        if (isBlank(transaction.getEventId())) {
+            return "event_id";
+        }
+        if (transaction.getOperationDate() == null) {
+            return "operation_date";
+        }
+        String origin = firstMissing(transaction.getSourceAccount(), "origin");
+        return origin != null ? origin : firstMissing(transaction.getDestinationAccount(), "destination");
+    }
+
+    private static String firstMissing(TransferAccount account, String field) {
+        if (account == null) {
+            return field;
+        }
+        if (isBlank(account.getAccountId())) {
+            return field + ".account_id";
+        }
+        if (isBlank(account.getCurrency())) {
+            return field + ".currency";
+        }
+        return account.getAmount() == null ? field + ".amount" : null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,67 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.processor.core.domain.value_object.StatementCursor;
+import com.processor.core.domain.value_object.StatementPage;
+import com.processor.core.ports.in.GetAccountStatementUseCase;
+import com.processor.infrastructure.adapters.in.http.dto.StatementResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/cbmm/accounts")
+@AllArgsConstructor
+public class StatementController {
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final GetAccountStatementUseCase getAccountStatementUseCase;
+
+    @GetMapping("/{accountId}/statement")
+    public ResponseEntity<StatementResponse> statement(
+            @PathVariable String accountId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor) {
+
+        StatementPage page = getAccountStatementUseCase.getStatement(accountId, decodeCursor(cursor), limit);
+
+        return ResponseEntity.ok(StatementResponse.builder()
+                .accountId(accountId)
+                .entries(page.getEntries())
+                .nextCursor(encodeCursor(page.getNext()))
+                .build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursor(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    static String encodeCursor(StatementCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.getOperationDate() + CURSOR_SEPARATOR + cursor.getTransactionId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static StatementCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(CURSOR_SEPARATOR);
+            return new StatementCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid statement cursor");
+        }
+    }
+}
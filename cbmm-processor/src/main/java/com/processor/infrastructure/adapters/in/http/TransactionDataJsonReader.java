@@ -0,0 +1,265 @@
+package com.processor.infrastructure.adapters.in.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.infrastructure.adapters.in.http.dto.EventDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the {@link EventDTO} JSON schema straight from parser tokens into {@link TransactionData}, without the
+ * intermediate DTOs or a throw-away {@code ZonedDateTime}. Results are the same as {@link EventDTOMapper} for
+ * complete events; an event with a missing or malformed field is consumed whole and then rejected with
+ * {@link InvalidEventException} (see {@link RequiredEventFields}).
+ */
+@Component
+public class TransactionDataJsonReader {
+    private static final int SECONDS_LENGTH = "2025-10-10T10:15:30".length();
+
+    private final JsonFactory jsonFactory;
+
+    public TransactionDataJsonReader(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public List<TransactionData> readArray(InputStream input) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of events");
+            }
+            List<TransactionData> transactions = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                transactions.add(read(parser));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected an event object or the end of the array");
+            }
+            return transactions;
+        }
+    }
+
+    public TransactionData readObject(InputStream input) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON event object");
+            }
+            return read(parser);
+        }
+    }
+
+    //Expects the parser on the event's START_OBJECT and leaves it on the matching END_OBJECT
+    public TransactionData read(JsonParser parser) throws IOException {
+        JsonStreamContext event = parser.getParsingContext();
+        TransactionData transaction = new TransactionData();
+        String invalidField = null;
+        String reason = null;
+
+        try {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "event_id" -> transaction.setEventId(text(parser, field));
+                    case "operation_date" -> transaction.setOperationDate(operationDate(parser));
+                    case "origin" -> transaction.setSourceAccount(account(parser, field));
+                    case "destination" -> transaction.setDestinationAccount(account(parser, field));
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (FieldException e) {
+            invalidField = e.field;
+            reason = e.reason;
+            skipRest(parser, event, transaction);
+        }
+
+        if (invalidField != null) {
+            throw new InvalidEventException(transaction.getEventId(), invalidField, reason);
+        }
+        RequiredEventFields.validate(transaction);
+        return transaction;
+    }
+
+    private static TransferAccount account(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new FieldException(field, "must be an object");
+        }
+
+        TransferAccount account = new TransferAccount();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "account_id" -> account.setAccountId(text(parser, field + ".account_id"));
+                case "currency" -> account.setCurrency(text(parser, field + ".currency"));
+                case "amount" -> account.setAmount(amount(parser, field + ".amount"));
+                default -> parser.skipChildren();
+            }
+        }
+        return account;
+    }
+
+    //Same coercions as Jackson's String deserializer: any scalar is taken as its text
+    private static String text(JsonParser parser, String field) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new FieldException(field, "must be a string");
+        }
+        return parser.getText();
+    }
+
+    private static BigDecimal amount(JsonParser parser, String field) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                return parser.getDecimalValue();
+            }
+            case VALUE_NULL -> {
+                return null;
+            }
+            case VALUE_STRING -> {
+                String value = parser.getText().trim();
+                try {
+                    return value.isEmpty() ? null : new BigDecimal(value);
+                } catch (NumberFormatException e) {
+                    throw new FieldException(field, "must be a decimal number");
+                }
+            }
+            default -> throw new FieldException(field, "must be a decimal number");
+        }
+    }
+
+    private static LocalDateTime operationDate(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new FieldException("operation_date", "must be an ISO-8601 date-time with offset");
+        }
+
+        try {
+            LocalDateTime fast = parseOffsetDateTime(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            return fast != null ? fast
+                    : ZonedDateTime.parse(parser.getText(), DateTimeFormatter.ISO_ZONED_DATE_TIME).toLocalDateTime();
+        } catch (DateTimeException e) {
+            throw new FieldException("operation_date", "must be an ISO-8601 date-time with offset");
+        }
+    }
+
+    /**
+     * Fast path for {@code yyyy-MM-ddTHH:mm:ss[.S{1,9}](Z|±HH:mm)}, read in place from the parser buffer.
+     * Returns null for any other shape so the caller can fall back to the full ISO parser; values that have the
+     * shape but are out of range throw {@link DateTimeException}, as the ISO parser would.
+     */
+    static LocalDateTime parseOffsetDateTime(char[] text, int offset, int length) {
+        int end = offset + length;
+        if (length < SECONDS_LENGTH + 1 || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+                || text[offset + 13] != ':' || text[offset + 16] != ':') {
+            return null;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = digits(text, offset + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+
+        int position = offset + SECONDS_LENGTH;
+        int nano = 0;
+        if (text[position] == '.') {
+            int fractionStart = ++position;
+            while (position < end && position - fractionStart < 9 && isDigit(text[position])) {
+                nano = nano * 10 + (text[position++] - '0');
+            }
+            int fractionDigits = position - fractionStart;
+            if (fractionDigits == 0 || (position < end && isDigit(text[position]))) {
+                return null;
+            }
+            for (int i = fractionDigits; i < 9; i++) {
+                nano *= 10;
+            }
+        }
+
+        if (end - position == 1 && text[position] == 'Z') {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        }
+        if (end - position != 6 || (text[position] != '+' && text[position] != '-') || text[position + 3] != ':') {
+            return null;
+        }
+        int offsetHours = digits(text, position + 1, 2);
+        int offsetMinutes = digits(text, position + 4, 2);
+        if ((offsetHours | offsetMinutes) < 0) {
+            return null;
+        }
+        //Only validated: the local date-time is what the JSON path keeps
+        int sign = text[position] == '-' ? -1 : 1;
+        ZoneOffset.ofHoursMinutes(sign * offsetHours, sign * offsetMinutes);
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    private static int digits(char[] text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            if (!isDigit(text[i])) {
+                return -1;
+            }
+            value = value * 10 + (text[i] - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    //Consumes the rest of the event, however deep the failure was, so the next one can still be read;
+    //an event_id that comes after the failing field is still picked up for the error
+    private static void skipRest(JsonParser parser, JsonStreamContext event, TransactionData transaction) throws IOException {
+        JsonStreamContext enclosing = event.getParent();
+        while (parser.getParsingContext() != enclosing) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new EOFException("Unexpected end of input inside an event");
+            }
+            if (token == JsonToken.FIELD_NAME && parser.getParsingContext() == event && "event_id".equals(parser.currentName())
+                    && parser.nextToken().isScalarValue()) {
+                transaction.setEventId(parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getText());
+            }
+        }
+    }
+
+    private static final class FieldException extends RuntimeException {
+        private final String field;
+        private final String reason;
+
+        FieldException(String field, String reason) {
+            super(field + " " + reason, null, false, false);
+            this.field = field;
+            this.reason = reason;
+        }
+    }
+}
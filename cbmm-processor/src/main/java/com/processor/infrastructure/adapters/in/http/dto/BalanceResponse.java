@@ -0,0 +1,14 @@
+package com.processor.infrastructure.adapters.in.http.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class BalanceResponse {
+    private String accountId;
+    private String currency;
+    private BigDecimal availableBalance;
+}
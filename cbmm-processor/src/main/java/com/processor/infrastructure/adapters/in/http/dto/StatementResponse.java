@@ -0,0 +1,16 @@
+package com.processor.infrastructure.adapters.in.http.dto;
+
+import com.processor.core.domain.value_object.StatementEntry;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class StatementResponse {
+    private String accountId;
+    private List<StatementEntry> entries;
+    //Opaque; pass back as ?cursor= to get the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,293 @@
+package com.processor.infrastructure.adapters.out.journal;
+
+import com.processor.core.domain.value_object.JournalEntry;
+import com.processor.core.ports.out.LedgerJournal;
+import com.processor.infrastructure.config.InMemoryLedgerConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal in segment files named after their first sequence. Each record is framed as
+ * length, CRC32 and payload; a torn or corrupt record ends its segment on replay, which is where a crash
+ * mid-append leaves it. Segments wholly covered by the Postgres checkpoint are deleted on truncate.
+ */
+@Component
+@ConditionalOnProperty(prefix = "transaction.persistence", name = "mode", havingValue = "IN_MEMORY")
+@Slf4j
+public class FileLedgerJournal implements LedgerJournal {
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    //Far above any encoded entry; a larger length can only come from a corrupt frame
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+
+    //First sequence of each segment -> file; the last one is the segment being written
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel current;
+
+    public FileLedgerJournal(InMemoryLedgerConfig inMemoryLedgerConfig) {
+        this.directory = Path.of(inMemoryLedgerConfig.getJournalDir());
+        this.segmentBytes = inMemoryLedgerConfig.getSegmentBytes();
+        this.fsync = Boolean.TRUE.equals(inMemoryLedgerConfig.getFsync());
+
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(FileLedgerJournal::isSegment)
+                        .forEach(file -> segments.put(firstSequenceOf(file), file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open ledger journal in " + directory, e);
+        }
+        log.info("Ledger journal in {}: {} segments, fsync={}", directory, segments.size(), fsync);
+    }
+
+    @Override
+    public synchronized void append(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            //Replay never resumes a segment it found torn, so every run starts writing a new one
+            if (current == null || current.size() >= segmentBytes) {
+                roll(entries.getFirst().getSequence());
+            }
+
+            ByteArrayOutputStream records = new ByteArrayOutputStream(entries.size() * 256);
+            for (JournalEntry entry : entries) {
+                writeRecord(records, encode(entry));
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+            while (buffer.hasRemaining()) {
+                current.write(buffer);
+            }
+            if (fsync) {
+                current.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ledger journal append failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void replay(long afterSequence, Consumer<JournalEntry> consumer) {
+        List<Map.Entry<Long, Path>> ordered = new ArrayList<>(segments.entrySet());
+        for (int i = 0; i < ordered.size(); i++) {
+            //Everything in a segment precedes the first sequence of the next one
+            if (i + 1 < ordered.size() && ordered.get(i + 1).getKey() <= afterSequence + 1) {
+                continue;
+            }
+            replaySegment(ordered.get(i).getValue(), afterSequence, consumer);
+        }
+    }
+
+    @Override
+    public synchronized void truncate(long throughSequence) {
+        List<Long> firstSequences = new ArrayList<>(segments.keySet());
+        //The last segment is never deleted: it is the one being written
+        for (int i = 0; i + 1 < firstSequences.size(); i++) {
+            if (firstSequences.get(i + 1) > throughSequence + 1) {
+                break;
+            }
+            Path segment = segments.remove(firstSequences.get(i));
+            try {
+                Files.deleteIfExists(segment);
+                log.debug("Deleted ledger journal segment {}", segment);
+            } catch (IOException e) {
+                segments.put(firstSequences.get(i), segment);
+                log.warn("Could not delete ledger journal segment {}: {}", segment, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (current != null) {
+            current.force(true);
+            current.close();
+            current = null;
+        }
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        if (current != null) {
+            current.force(true);
+            current.close();
+        }
+        Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        current = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segments.put(firstSequence, segment);
+    }
+
+    private void replaySegment(Path segment, long afterSequence, Consumer<JournalEntry> consumer) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            while (true) {
+                byte[] payload = readRecord(input);
+                if (payload == null) {
+                    return;
+                }
+                JournalEntry entry = decode(payload);
+                if (entry.getSequence() > afterSequence) {
+                    consumer.accept(entry);
+                }
+            }
+        } catch (EOFException e) {
+            log.warn("Ledger journal segment {} ends in a torn record, ignoring it", segment);
+        } catch (CorruptRecordException e) {
+            log.warn("Ledger journal segment {} has a corrupt record, ignoring the rest of it", segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ledger journal replay failed on " + segment, e);
+        }
+    }
+
+    private static void writeRecord(ByteArrayOutputStream records, byte[] payload) throws IOException {
+        DataOutputStream frame = new DataOutputStream(records);
+        frame.writeInt(payload.length);
+        frame.writeInt(crc(payload));
+        frame.write(payload);
+    }
+
+    //Null at a clean end of segment
+    private static byte[] readRecord(DataInputStream input) throws IOException {
+        int first = input.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = (first << 24) | (input.readUnsignedByte() << 16) | (input.readUnsignedByte() << 8) | input.readUnsignedByte();
+        int crc = input.readInt();
+        if (length <= 0 || length > MAX_RECORD_BYTES) {
+            throw new CorruptRecordException();
+        }
+        byte[] payload = new byte[length];
+        input.readFully(payload);
+        if (crc(payload) != crc) {
+            throw new CorruptRecordException();
+        }
+        return payload;
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    static byte[] encode(JournalEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(entry.getSequence());
+        out.writeUTF(entry.getEventId());
+        writeDateTime(out, entry.getOperationDate());
+        writeDateTime(out, entry.getProcessedAt());
+
+        writeUuid(out, entry.getDebitId());
+        out.writeUTF(entry.getSourceAccountId());
+        out.writeUTF(entry.getSourceCurrency());
+        writeDecimal(out, entry.getSourceAmount());
+        writeDecimal(out, entry.getSourceBalanceAfter());
+
+        writeUuid(out, entry.getCreditId());
+        out.writeUTF(entry.getDestinationAccountId());
+        out.writeUTF(entry.getDestinationCurrency());
+        writeDecimal(out, entry.getDestinationAmount());
+        writeDecimal(out, entry.getDestinationBalanceAfter());
+        return bytes.toByteArray();
+    }
+
+    static JournalEntry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return JournalEntry.builder()
+                .sequence(in.readLong())
+                .eventId(in.readUTF())
+                .operationDate(readDateTime(in))
+                .processedAt(readDateTime(in))
+                .debitId(readUuid(in))
+                .sourceAccountId(in.readUTF())
+                .sourceCurrency(in.readUTF())
+                .sourceAmount(readDecimal(in))
+                .sourceBalanceAfter(readDecimal(in))
+                .creditId(readUuid(in))
+                .destinationAccountId(in.readUTF())
+                .destinationCurrency(in.readUTF())
+                .destinationAmount(readDecimal(in))
+                .destinationBalanceAfter(readDecimal(in))
+                .build();
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime dateTime) throws IOException {
+        out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(dateTime.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class CorruptRecordException extends IOException {
+    }
+}
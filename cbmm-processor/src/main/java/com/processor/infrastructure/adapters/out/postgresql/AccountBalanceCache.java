@@ -0,0 +1,112 @@
+package com.processor.infrastructure.adapters.out.postgresql;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.infrastructure.config.BalanceReadConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Balance reads for polling clients. Concurrent misses on the same account share one in-flight load
+ * (single-flight) and results live for {@code cache-ttl-ms}; committed transfers update or invalidate the
+ * entry. Loads run on their own small Hikari pool so reads never wait for a write-path connection.
+ */
+@Component
+@Slf4j
+public class AccountBalanceCache {
+    static final String BALANCE_SQL = "SELECT id, currency, balance, version FROM accounts WHERE id = ?";
+
+    private final AsyncLoadingCache<String, AccountSnapshot> balances;
+    private final ExecutorService loadExecutor;
+    private final HikariDataSource readPool;
+
+    @Autowired
+    public AccountBalanceCache(BalanceReadConfig balanceReadConfig,
+                               DataSourceProperties dataSourceProperties,
+                               MeterRegistry meterRegistry) {
+        this.readPool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.readPool.setPoolName("cbmm-balance-read");
+        this.readPool.setMaximumPoolSize(balanceReadConfig.getPoolSize());
+        this.readPool.setMinimumIdle(1);
+        this.readPool.setReadOnly(true);
+        this.readPool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(readPool);
+        this.loadExecutor = newLoadExecutor(balanceReadConfig);
+        this.balances = buildCache(balanceReadConfig, loadExecutor, accountId -> jdbcTemplate.query(BALANCE_SQL,
+                (rs, rowNum) -> new AccountSnapshot(rs.getString("id"), rs.getString("currency"),
+                        rs.getBigDecimal("balance"), rs.getLong("version")),
+                accountId).stream().findFirst().orElse(null));
+        log.info("Balance read path enabled: poolSize={}, cacheTtlMs={}",
+                balanceReadConfig.getPoolSize(), balanceReadConfig.getCacheTtlMs());
+    }
+
+    public AccountBalanceCache(BalanceReadConfig balanceReadConfig, Function<String, AccountSnapshot> loader) {
+        this.readPool = null;
+        this.loadExecutor = newLoadExecutor(balanceReadConfig);
+        this.balances = buildCache(balanceReadConfig, loadExecutor, loader);
+    }
+
+    //One loader thread per read connection, so a burst of misses queues here instead of inside Hikari
+    private static ExecutorService newLoadExecutor(BalanceReadConfig balanceReadConfig) {
+        return Executors.newFixedThreadPool(balanceReadConfig.getPoolSize(),
+                Thread.ofPlatform().name("cbmm-balance-read-", 0).daemon().factory());
+    }
+
+    private static AsyncLoadingCache<String, AccountSnapshot> buildCache(BalanceReadConfig balanceReadConfig,
+                                                                         ExecutorService loadExecutor,
+                                                                         Function<String, AccountSnapshot> loader) {
+        return Caffeine.newBuilder()
+                .maximumSize(balanceReadConfig.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(balanceReadConfig.getCacheTtlMs()))
+                .executor(loadExecutor)
+                .buildAsync(loader::apply);
+    }
+
+    public Optional<AccountSnapshot> get(String accountId) {
+        try {
+            return Optional.ofNullable(balances.get(accountId).join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    //Called after commit on the write path, so it works on the futures and never waits for an in-flight load.
+    //A pending load is replaced by the committed state; an older version never replaces a newer one.
+    public void publish(AccountSnapshot snapshot) {
+        balances.asMap().compute(snapshot.getId(), (accountId, current) -> {
+            AccountSnapshot cached = current != null && current.isDone() && !current.isCompletedExceptionally()
+                    ? current.join() : null;
+            return cached != null && cached.getVersion() > snapshot.getVersion()
+                    ? current : CompletableFuture.completedFuture(snapshot);
+        });
+    }
+
+    public void invalidate(String accountId) {
+        balances.synchronous().invalidate(accountId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        loadExecutor.shutdownNow();
+        if (readPool != null) {
+            readPool.close();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.processor.infrastructure.adapters.out.postgresql;
 
 import com.processor.core.domain.model.Account;
+import com.processor.core.domain.value_object.AccountSnapshot;
 import com.processor.core.ports.out.AccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 
@@ -11,6 +14,7 @@ import java.util.Optional;
 @AllArgsConstructor
 public class AccountRepositoryImpl implements AccountRepository {
     private final PostgresAccountRepository postgresAccountRepository;
+    private final AccountBalanceCache accountBalanceCache;
 
     @Override
     public Optional<Account> findById(String accountId) {
@@ -20,5 +24,31 @@ public class AccountRepositoryImpl implements AccountRepository {
     @Override
     public void save(Account account) {
         postgresAccountRepository.save(account);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accountBalanceCache.publish(AccountSnapshot.of(account));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accountBalanceCache.publish(AccountSnapshot.of(account));
+            }
+        });
+    }
+
+    @Override
+    public Optional<AccountSnapshot> findSnapshot(String accountId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<AccountSnapshot> refreshSnapshot(String accountId) {
+        return postgresAccountRepository.findById(accountId).map(AccountSnapshot::of);
+    }
+
+    @Override
+    public Optional<AccountSnapshot> readBalance(String accountId) {
+        return accountBalanceCache.get(accountId);
     }
 }
@@ -0,0 +1,87 @@
+package com.processor.infrastructure.adapters.out.postgresql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.processor.core.domain.model.Account;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.ports.out.AccountRepository;
+import com.processor.infrastructure.config.AccountCacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Write-through snapshot cache in front of {@link AccountRepositoryImpl}. Snapshots are only ever used to
+ * reject a transfer early; the transactional path keeps reading managed entities from the database.
+ * Saved balances are published after commit and an older version never replaces a newer one.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "transaction.account-cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class CachingAccountRepository implements AccountRepository {
+    private final AccountRepositoryImpl delegate;
+    private final Cache<String, AccountSnapshot> snapshots;
+
+    public CachingAccountRepository(AccountRepositoryImpl delegate, AccountCacheConfig accountCacheConfig) {
+        this.delegate = delegate;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(accountCacheConfig.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(accountCacheConfig.getTtlSeconds()))
+                .build();
+        log.info("Account cache enabled: maximumSize={}, ttlSeconds={}",
+                accountCacheConfig.getMaximumSize(), accountCacheConfig.getTtlSeconds());
+    }
+
+    @Override
+    public Optional<Account> findById(String accountId) {
+        Optional<Account> account = delegate.findById(accountId);
+        account.ifPresent(found -> remember(AccountSnapshot.of(found)));
+        return account;
+    }
+
+    @Override
+    public void save(Account account) {
+        delegate.save(account);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(AccountSnapshot.of(account));
+            return;
+        }
+        //The version is bumped on flush, so the snapshot is taken once the commit has gone through
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(AccountSnapshot.of(account));
+            }
+        });
+    }
+
+    @Override
+    public Optional<AccountSnapshot> findSnapshot(String accountId) {
+        return Optional.ofNullable(snapshots.getIfPresent(accountId));
+    }
+
+    @Override
+    public Optional<AccountSnapshot> refreshSnapshot(String accountId) {
+        Optional<AccountSnapshot> snapshot = delegate.refreshSnapshot(accountId);
+        snapshot.ifPresentOrElse(this::remember, () -> snapshots.invalidate(accountId));
+        return snapshot;
+    }
+
+    @Override
+    public Optional<AccountSnapshot> readBalance(String accountId) {
+        return delegate.readBalance(accountId);
+    }
+
+    private void remember(AccountSnapshot snapshot) {
+        snapshots.asMap().merge(snapshot.getId(), snapshot,
+                (cached, fresh) -> fresh.getVersion() >= cached.getVersion() ? fresh : cached);
+    }
+}
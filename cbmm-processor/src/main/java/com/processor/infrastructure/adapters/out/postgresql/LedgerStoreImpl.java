@@ -0,0 +1,131 @@
+package com.processor.infrastructure.adapters.out.postgresql;
+
+import com.processor.core.domain.enums.TransactionStatus;
+import com.processor.core.domain.enums.TransactionType;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.domain.value_object.JournalEntry;
+import com.processor.core.ports.out.LedgerStore;
+import com.processor.core.ports.out.OutboxRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+//Bulk writer behind the in-memory ledger: Postgres stays the system of record, just off the transfer path
+@Repository
+@ConditionalOnProperty(prefix = "transaction.persistence", name = "mode", havingValue = "IN_MEMORY")
+public class LedgerStoreImpl implements LedgerStore {
+    static final String LOAD_ACCOUNTS_SQL = "SELECT id, currency, balance, version FROM accounts";
+
+    static final String LOAD_ACCOUNT_SQL = "SELECT id, currency, balance, version FROM accounts WHERE id = :id";
+
+    static final String CHECKPOINT_SQL = "SELECT last_sequence FROM ledger_checkpoint WHERE id = 1";
+
+    static final String INSERT_TRANSACTION_SQL = """
+            INSERT INTO transactions (id, account_id, event_id, currency, amount, balance_after,
+                                      type, status, operation_date, processed_at)
+            VALUES (:id, :accountId, :eventId, :currency, :amount, :balanceAfter,
+                    :type, :status, :operationDate, :processedAt)
+            """;
+
+    static final String UPDATE_BALANCE_SQL = """
+            UPDATE accounts SET balance = :balance, version = version + 1, updated_at = CURRENT_TIMESTAMP
+            WHERE id = :id
+            """;
+
+    static final String CHECKPOINT_UPSERT_SQL = """
+            INSERT INTO ledger_checkpoint (id, last_sequence, updated_at) VALUES (1, :sequence, CURRENT_TIMESTAMP)
+            ON CONFLICT (id) DO UPDATE SET last_sequence = EXCLUDED.last_sequence, updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final RowMapper<AccountSnapshot> ACCOUNT_MAPPER = (rs, rowNum) -> new AccountSnapshot(
+            rs.getString("id"), rs.getString("currency"), rs.getBigDecimal("balance"), rs.getLong("version"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxRepository outboxRepository;
+    private final AccountBalanceCache accountBalanceCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public LedgerStoreImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                           OutboxRepository outboxRepository,
+                           AccountBalanceCache accountBalanceCache,
+                           PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxRepository = outboxRepository;
+        this.accountBalanceCache = accountBalanceCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @Override
+    public List<AccountSnapshot> loadAccounts() {
+        return jdbcTemplate.query(LOAD_ACCOUNTS_SQL, ACCOUNT_MAPPER);
+    }
+
+    @Override
+    public Optional<AccountSnapshot> loadAccount(String accountId) {
+        return jdbcTemplate.query(LOAD_ACCOUNT_SQL, new MapSqlParameterSource("id", accountId), ACCOUNT_MAPPER)
+                .stream().findFirst();
+    }
+
+    @Override
+    public long lastPersistedSequence() {
+        return jdbcTemplate.queryForList(CHECKPOINT_SQL, Map.of(), Long.class).stream().findFirst().orElse(0L);
+    }
+
+    @Override
+    public void persist(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<SqlParameterSource> rows = new ArrayList<>(entries.size() * 2);
+        //Only the last balance of each account matters; sorted so row locks are always taken in the same order
+        Map<String, BigDecimal> balances = new TreeMap<>();
+        for (JournalEntry entry : entries) {
+            rows.add(ledgerRow(entry.getDebitId(), entry.getSourceAccountId(), entry, TransactionType.DEBIT,
+                    entry.getSourceCurrency(), entry.getSourceAmount(), entry.getSourceBalanceAfter()));
+            rows.add(ledgerRow(entry.getCreditId(), entry.getDestinationAccountId(), entry, TransactionType.CREDIT,
+                    entry.getDestinationCurrency(), entry.getDestinationAmount(), entry.getDestinationBalanceAfter()));
+            balances.put(entry.getSourceAccountId(), entry.getSourceBalanceAfter());
+            balances.put(entry.getDestinationAccountId(), entry.getDestinationBalanceAfter());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, rows.toArray(SqlParameterSource[]::new));
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, balances.entrySet().stream()
+                    .map(balance -> new MapSqlParameterSource("id", balance.getKey()).addValue("balance", balance.getValue()))
+                    .toArray(SqlParameterSource[]::new));
+            //SUCCESS is already marked on the journal ack; the relay only repeats it in case that Redis write failed
+            outboxRepository.append(entries.stream().map(JournalEntry::getEventId).toList());
+            jdbcTemplate.update(CHECKPOINT_UPSERT_SQL, new MapSqlParameterSource("sequence", entries.getLast().getSequence()));
+        });
+        balances.keySet().forEach(accountBalanceCache::invalidate);
+    }
+
+    private static SqlParameterSource ledgerRow(UUID id, String accountId, JournalEntry entry, TransactionType type,
+                                                String currency, BigDecimal amount, BigDecimal balanceAfter) {
+        return new MapSqlParameterSource("id", id)
+                .addValue("accountId", accountId)
+                .addValue("eventId", entry.getEventId())
+                .addValue("currency", currency)
+                .addValue("amount", amount)
+                .addValue("balanceAfter", balanceAfter)
+                .addValue("type", type.name())
+                .addValue("status", TransactionStatus.APPLIED.name())
+                .addValue("operationDate", entry.getOperationDate())
+                .addValue("processedAt", entry.getProcessedAt());
+    }
+}
@@ -0,0 +1,54 @@
+package com.processor.infrastructure.adapters.out.postgresql;
+
+import com.processor.core.ports.out.OutboxRepository;
+import com.processor.infrastructure.config.OutboxConfig;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@AllArgsConstructor
+public class OutboxRepositoryImpl implements OutboxRepository {
+    static final String INSERT_SQL = "INSERT INTO outbox_events (event_id) VALUES (:eventId)";
+
+    static final String LOCK_PENDING_SQL = """
+            SELECT event_id FROM outbox_events
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    static final String DELETE_SQL = "DELETE FROM outbox_events WHERE event_id IN (:eventIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxConfig outboxConfig;
+
+    @Override
+    public void append(Collection<String> eventIds) {
+        if (!Boolean.TRUE.equals(outboxConfig.getEnabled()) || eventIds.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] rows = eventIds.stream()
+                .map(eventId -> new MapSqlParameterSource("eventId", eventId))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Override
+    public List<String> lockPending(int limit) {
+        return jdbcTemplate.queryForList(LOCK_PENDING_SQL, new MapSqlParameterSource("limit", limit), String.class);
+    }
+
+    @Override
+    public void delete(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("eventIds", eventIds));
+    }
+}
@@ -3,5 +3,7 @@ package com.processor.infrastructure.adapters.out.postgresql;
 import com.processor.core.domain.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface PostgresTransactionRepository extends JpaRepository<Transaction,String> {
+import java.util.UUID;
+
+public interface PostgresTransactionRepository extends JpaRepository<Transaction, UUID> {
 }
@@ -0,0 +1,104 @@
+package com.processor.infrastructure.adapters.out.postgresql;
+
+import com.processor.core.domain.enums.TransactionType;
+import com.processor.core.domain.value_object.StatementCursor;
+import com.processor.core.domain.value_object.StatementEntry;
+import com.processor.core.ports.out.StatementRepository;
+import com.processor.infrastructure.config.StatementConfig;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+//Keyset pages over idx_transactions_account_statement; every selected column is in the index, so each partition
+//scanned is an index-only range scan. transactions is partitioned by day, and the row comparison alone does not
+//prune partitions, so every query also carries plain operation_date bounds: a page reads a window of recent days
+//first and only widens it (doubling, up to max-window-days, then unbounded) while the page is still short. An empty
+//window goes straight to the unbounded scan, so an account with no recent rows costs two queries rather than one
+//per doubling.
+@Repository
+@AllArgsConstructor
+public class StatementRepositoryImpl implements StatementRepository {
+    static final String SELECT_SQL = """
+            SELECT id, event_id, type, amount, currency, balance_after, operation_date
+            FROM transactions
+            WHERE account_id = :accountId
+            """;
+    //Row comparison rather than OR-ed predicates, so both columns become index conditions; the redundant
+    //operation_date bound is what lets the planner prune partitions newer than the cursor
+    static final String AFTER_CURSOR_SQL = """
+              AND operation_date <= :operationDate
+              AND (operation_date, id) < (:operationDate, :transactionId)
+            """;
+    static final String FROM_SQL = """
+              AND operation_date >= :from
+            """;
+    static final String BEFORE_SQL = """
+              AND operation_date < :before
+            """;
+    static final String ORDER_SQL = """
+            ORDER BY operation_date DESC, id DESC
+            LIMIT :limit
+            """;
+
+    private static final RowMapper<StatementEntry> STATEMENT_ENTRY_MAPPER = (rs, rowNum) -> new StatementEntry(
+            rs.getObject("id", UUID.class),
+            rs.getString("event_id"),
+            TransactionType.valueOf(rs.getString("type")),
+            rs.getBigDecimal("amount"),
+            rs.getString("currency"),
+            rs.getBigDecimal("balance_after"),
+            rs.getTimestamp("operation_date").toLocalDateTime());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final StatementConfig statementConfig;
+
+    @Override
+    public List<StatementEntry> findStatement(String accountId, StatementCursor after, int limit) {
+        LocalDateTime top = after != null ? after.getOperationDate() : LocalDateTime.now();
+        List<StatementEntry> entries = new ArrayList<>(limit);
+        LocalDateTime before = null;
+
+        //Each window is strictly older than the previous one, so appending keeps the newest-first order
+        long days = statementConfig.getWindowDays();
+        while (true) {
+            LocalDateTime from = days > statementConfig.getMaxWindowDays() ? null : top.minusDays(days);
+            List<StatementEntry> window = findWindow(accountId, after, from, before, limit - entries.size());
+            entries.addAll(window);
+            if (entries.size() >= limit || from == null) {
+                return entries;
+            }
+            before = from;
+            days = window.isEmpty() ? Long.MAX_VALUE : days * 2;
+        }
+    }
+
+    private List<StatementEntry> findWindow(String accountId, StatementCursor after,
+                                            LocalDateTime from, LocalDateTime before, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountId", accountId)
+                .addValue("limit", limit);
+
+        if (after != null) {
+            sql.append(AFTER_CURSOR_SQL);
+            params.addValue("operationDate", after.getOperationDate())
+                    .addValue("transactionId", after.getTransactionId());
+        }
+        if (from != null) {
+            sql.append(FROM_SQL);
+            params.addValue("from", from);
+        }
+        if (before != null) {
+            sql.append(BEFORE_SQL);
+            params.addValue("before", before);
+        }
+        return jdbcTemplate.query(sql.append(ORDER_SQL).toString(), params, STATEMENT_ENTRY_MAPPER);
+    }
+}
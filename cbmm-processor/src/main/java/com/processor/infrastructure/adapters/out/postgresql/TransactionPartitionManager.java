@@ -0,0 +1,160 @@
+package com.processor.infrastructure.adapters.out.postgresql;
+
+import com.processor.infrastructure.config.PartitioningConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps daily partitions of {@code transactions} ahead of the clock and detaches the ones past retention.
+ * Detached partitions are left as plain tables for archiving unless {@code drop-expired} is set.
+ * A day whose rows already sit in the default partition (an {@code operation_date} past the premake horizon)
+ * gets its partition built from those rows and attached, instead of failing on every run.
+ */
+@Component
+@ConditionalOnProperty(prefix = "transaction.partitioning", name = "enabled", havingValue = "true")
+@Slf4j
+public class TransactionPartitionManager {
+    static final String PARTITION_PREFIX = "transactions_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    static final String LIST_PARTITIONS_SQL = """
+            SELECT child.relname FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = 'transactions'
+            """;
+
+    static final String DEFAULT_HAS_DAY_SQL =
+            "SELECT EXISTS (SELECT 1 FROM transactions_default WHERE operation_date >= ? AND operation_date < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitioningConfig partitioningConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionPartitionManager(JdbcTemplate jdbcTemplate,
+                                       PartitioningConfig partitioningConfig,
+                                       PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitioningConfig = partitioningConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain(LocalDate.now());
+    }
+
+    @Scheduled(cron = "${transaction.partitioning.cron}")
+    public void scheduledMaintenance() {
+        maintain(LocalDate.now());
+    }
+
+    public void maintain(LocalDate today) {
+        Set<LocalDate> existing = existingPartitions();
+
+        for (int offset = 0; offset <= partitioningConfig.getPremakeDays(); offset++) {
+            LocalDate day = today.plusDays(offset);
+            if (!existing.contains(day)) {
+                createPartition(day);
+            }
+        }
+
+        LocalDate cutoff = today.minusDays(partitioningConfig.getRetentionDays());
+        for (LocalDate day : existing) {
+            if (day.isBefore(cutoff)) {
+                expirePartition(day);
+            }
+        }
+    }
+
+    private Set<LocalDate> existingPartitions() {
+        Set<LocalDate> days = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            partitionDay(name).ifPresent(days::add);
+        }
+        return days;
+    }
+
+    //The default partition and anything not created here are left alone
+    private Optional<LocalDate> partitionDay(String name) {
+        if (!name.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    //A failure is logged and retried on the next run
+    private void createPartition(LocalDate day) {
+        String name = partitionName(day);
+        try {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(DEFAULT_HAS_DAY_SQL, Boolean.class,
+                    day.atStartOfDay(), day.plusDays(1).atStartOfDay()))) {
+                transactionTemplate.executeWithoutResult(status -> moveOutOfDefault(name, day));
+                log.warn("Created partition {} from rows already in the default partition", name);
+                return;
+            }
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF transactions FOR VALUES FROM ('%s') TO ('%s')",
+                    name, day, day.plusDays(1)));
+            log.info("Created partition {}", name);
+        } catch (DataAccessException e) {
+            log.error("Could not create partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    //CREATE ... PARTITION OF would fail while the default partition holds rows of the day, so the day's table is
+    //filled from those rows and attached in one transaction. The CHECK lets ATTACH skip scanning the new table;
+    //ATTACH still locks and scans the default partition, which is why this only runs when it has rows of the day.
+    private void moveOutOfDefault(String name, LocalDate day) {
+        String range = String.format("operation_date >= '%s' AND operation_date < '%s'", day, day.plusDays(1));
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE %s (LIKE transactions INCLUDING DEFAULTS, CONSTRAINT %s_range CHECK (%s))",
+                name, name, range));
+        jdbcTemplate.execute(String.format(
+                "WITH moved AS (DELETE FROM transactions_default WHERE %s RETURNING *) INSERT INTO %s SELECT * FROM moved",
+                range, name));
+        jdbcTemplate.execute(String.format(
+                "ALTER TABLE transactions ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')",
+                name, day, day.plusDays(1)));
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DROP CONSTRAINT %s_range", name, name));
+    }
+
+    //Plain DETACH: CONCURRENTLY is not allowed while a default partition exists
+    private void expirePartition(LocalDate day) {
+        String name = partitionName(day);
+        try {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + name);
+            if (Boolean.TRUE.equals(partitioningConfig.getDropExpired())) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                log.info("Dropped expired partition {}", name);
+            } else {
+                log.info("Detached expired partition {}", name);
+            }
+        } catch (DataAccessException e) {
+            log.error("Could not expire partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+}
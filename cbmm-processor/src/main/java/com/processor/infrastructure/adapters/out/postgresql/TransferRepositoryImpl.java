@@ -0,0 +1,130 @@
+package com.processor.infrastructure.adapters.out.postgresql;
+
+import com.processor.core.domain.enums.TransactionStatus;
+import com.processor.core.domain.enums.TransactionType;
+import com.processor.core.domain.value_object.AppliedTransfer;
+import com.processor.core.domain.value_object.Money;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.ports.out.TransferRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@AllArgsConstructor
+public class TransferRepositoryImpl implements TransferRepository {
+    //Locks both rows in id order (same order as the entity path) so opposite transfers cannot deadlock,
+    //then applies both legs only if every guard holds. Data-modifying CTEs run even when unreferenced.
+    static final String TRANSFER_SQL = """
+            WITH locked AS (
+                SELECT id, currency, balance FROM accounts
+                WHERE id IN (:sourceId, :destinationId)
+                ORDER BY id
+                FOR UPDATE
+            ), eligible AS (
+                SELECT count(*) = 2 AS ok FROM locked
+                WHERE (id = :sourceId AND currency = :sourceCurrency AND balance >= :debitAmount)
+                   OR (id = :destinationId AND currency = :destinationCurrency)
+            ), debit AS (
+                UPDATE accounts
+                SET balance = balance - :debitAmount, version = version + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE id = :sourceId AND (SELECT ok FROM eligible)
+                RETURNING balance
+            ), credit AS (
+                UPDATE accounts
+                SET balance = balance + :creditAmount, version = version + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE id = :destinationId AND (SELECT ok FROM eligible)
+                RETURNING balance
+            ), ledger AS (
+                INSERT INTO transactions (id, account_id, event_id, currency, amount, balance_after,
+                                          type, status, operation_date, processed_at)
+                SELECT :debitId, :sourceId, :eventId, :sourceCurrency, :debitAmount, debit.balance,
+                       :debitType, :status, :operationDate, CURRENT_TIMESTAMP FROM debit
+                UNION ALL
+                SELECT :creditId, :destinationId, :eventId, :destinationCurrency, :creditAmount, credit.balance,
+                       :creditType, :status, :operationDate, CURRENT_TIMESTAMP FROM credit
+            )
+            SELECT debit.balance AS source_balance, credit.balance AS destination_balance FROM debit, credit
+            """;
+
+    //Two UPDATEs of the same row in one statement would silently drop the second, so the legs are netted
+    static final String SELF_TRANSFER_SQL = """
+            WITH updated AS (
+                UPDATE accounts
+                SET balance = balance - :debitAmount + :creditAmount, version = version + 1,
+                    updated_at = CURRENT_TIMESTAMP
+                WHERE id = :sourceId AND currency = :sourceCurrency AND currency = :destinationCurrency
+                  AND balance >= :debitAmount
+                RETURNING balance
+            ), ledger AS (
+                INSERT INTO transactions (id, account_id, event_id, currency, amount, balance_after,
+                                          type, status, operation_date, processed_at)
+                SELECT :debitId, :sourceId, :eventId, :sourceCurrency, :debitAmount, updated.balance - :creditAmount,
+                       :debitType, :status, :operationDate, CURRENT_TIMESTAMP FROM updated
+                UNION ALL
+                SELECT :creditId, :destinationId, :eventId, :destinationCurrency, :creditAmount, updated.balance,
+                       :creditType, :status, :operationDate, CURRENT_TIMESTAMP FROM updated
+            )
+            SELECT balance - :creditAmount AS source_balance, balance AS destination_balance FROM updated
+            """;
+
+    private static final RowMapper<AppliedTransfer> APPLIED_TRANSFER_MAPPER = (rs, rowNum) ->
+            new AppliedTransfer(Money.of(rs.getBigDecimal("source_balance")),
+                    Money.of(rs.getBigDecimal("destination_balance")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final AccountBalanceCache accountBalanceCache;
+
+    @Override
+    public Optional<AppliedTransfer> applyTransfer(TransactionData transaction, Money debitAmount, Money creditAmount,
+                                                   UUID debitTransactionId, UUID creditTransactionId) {
+        String sourceId = transaction.getSourceAccount().getAccountId();
+        String destinationId = transaction.getDestinationAccount().getAccountId();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("eventId", transaction.getEventId())
+                .addValue("sourceId", sourceId)
+                .addValue("sourceCurrency", transaction.getSourceAccount().getCurrency())
+                .addValue("debitAmount", debitAmount.toBigDecimal())
+                .addValue("destinationId", destinationId)
+                .addValue("destinationCurrency", transaction.getDestinationAccount().getCurrency())
+                .addValue("creditAmount", creditAmount.toBigDecimal())
+                .addValue("debitId", debitTransactionId)
+                .addValue("creditId", creditTransactionId)
+                .addValue("debitType", TransactionType.DEBIT.name())
+                .addValue("creditType", TransactionType.CREDIT.name())
+                .addValue("status", TransactionStatus.APPLIED.name())
+                .addValue("operationDate", transaction.getOperationDate());
+
+        String sql = sourceId.equals(destinationId) ? SELF_TRANSFER_SQL : TRANSFER_SQL;
+        List<AppliedTransfer> applied = jdbcTemplate.query(sql, params, APPLIED_TRANSFER_MAPPER);
+        if (!applied.isEmpty()) {
+            invalidateBalancesOnCommit(sourceId, destinationId);
+        }
+        return applied.stream().findFirst();
+    }
+
+    //The statement does not return versions, so cached balances are dropped rather than replaced
+    private void invalidateBalancesOnCommit(String sourceId, String destinationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accountBalanceCache.invalidate(sourceId);
+            accountBalanceCache.invalidate(destinationId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accountBalanceCache.invalidate(sourceId);
+                accountBalanceCache.invalidate(destinationId);
+            }
+        });
+    }
+}
@@ -0,0 +1,277 @@
+package com.processor.infrastructure.adapters.out.reddis;
+
+import com.processor.core.domain.enums.ClaimStatus;
+import com.processor.core.domain.enums.ProcessingStatus;
+import com.processor.core.ports.out.IdempotencyChecker;
+import com.processor.infrastructure.config.IdempotencyBucketsConfig;
+import com.processor.infrastructure.config.IdempotencyConfig;
+import com.processor.infrastructure.metrics.TransactionMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Idempotency state in time-bucketed hashes (see {@link IdempotencyBuckets}): one listpack entry per tracked event
+ * instead of a key, a value object and an expiry entry per event. Claims, completions and the SUCCESS-is-terminal
+ * rule are the same as in {@link IdempotencyCheckerImpl}; with {@code read-legacy-keys} the key-per-event
+ * layout is still honoured until its keys have expired.
+ * <p>
+ * Opt-in: claims live under {@code cbmm:claim:<id>}, which a {@code KEYS}-layout instance never reads, so both
+ * layouts must never serve traffic at once. Switching layouts needs a full stop, not a rolling restart.
+ */
+@Service(IdempotencyCheckerImpl.BEAN_NAME)
+@ConditionalOnProperty(prefix = "idempotency", name = "layout", havingValue = "BUCKETED")
+@Slf4j
+public class BucketedIdempotencyChecker implements IdempotencyChecker {
+    private static final String CLAIMED = "CLAIMED";
+    private static final String WITH_LEGACY = "1";
+    private static final String WITHOUT_LEGACY = "0";
+
+    private static final RedisScript<String> CLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/idempotency_bucketed_claim.lua"), String.class);
+    private static final RedisScript<Long> TRANSITION_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/idempotency_bucketed_transition.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final IdempotencyConfig idempotencyConfig;
+    private final TransactionMetrics transactionMetrics;
+    private final IdempotencyBuckets buckets;
+    private final boolean readLegacyKeys;
+
+    public BucketedIdempotencyChecker(StringRedisTemplate stringRedisTemplate,
+                                      IdempotencyConfig idempotencyConfig,
+                                      IdempotencyBucketsConfig bucketsConfig,
+                                      TransactionMetrics transactionMetrics) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.idempotencyConfig = idempotencyConfig;
+        this.transactionMetrics = transactionMetrics;
+        this.buckets = new IdempotencyBuckets(idempotencyConfig, bucketsConfig);
+        this.readLegacyKeys = Boolean.TRUE.equals(bucketsConfig.getReadLegacyKeys());
+        log.info("Bucketed idempotency keyspace: bucketSeconds={}, shards={}, readLegacyKeys={}",
+                bucketsConfig.getBucketSeconds(), bucketsConfig.getShards(), readLegacyKeys);
+    }
+
+    @Override
+    public boolean isProcessed(String eventId) {
+        long start = System.nanoTime();
+        try {
+            return lookupProcessed(List.of(eventId)).contains(eventId);
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.IDEMPOTENCY_CHECK, start);
+        }
+    }
+
+    @Override
+    public Set<String> findProcessed(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+
+        List<String> ids = new ArrayList<>(eventIds);
+        long start = System.nanoTime();
+        try {
+            Set<String> processed = lookupProcessed(ids);
+            log.info("Prefetched idempotency state for {} events: {} already processed",
+                    ids.size(), processed.size());
+            return processed;
+
+        } catch (Exception e) {
+            log.error("Error prefetching idempotency state for {} events: {}",
+                    ids.size(), e.getMessage(), e);
+            return Set.of();
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.IDEMPOTENCY_CHECK, start);
+        }
+    }
+
+    @Override
+    public ClaimStatus tryClaim(String eventId) {
+        long start = System.nanoTime();
+        try {
+            List<String> keys = new ArrayList<>();
+            keys.add(buckets.claimKey(eventId));
+            keys.addAll(successKeys(eventId, now()));
+
+            String outcome = stringRedisTemplate.execute(CLAIM_SCRIPT, keys, eventId,
+                    String.valueOf(idempotencyConfig.getProcessingTtlSeconds()), legacyFlag());
+
+            if (CLAIMED.equals(outcome)) {
+                log.info("Event {} marked as processing", eventId);
+                return ClaimStatus.CLAIMED;
+            }
+
+            if (ProcessingStatus.SUCCESS.name().equals(outcome)) {
+                log.info("Event {} already processed successfully", eventId);
+                return ClaimStatus.ALREADY_PROCESSED;
+            }
+
+            log.warn("Event {} is already being processed by another instance", eventId);
+            return ClaimStatus.ALREADY_PROCESSING;
+
+        } catch (Exception e) {
+            log.error("Error trying to mark event {} as processing: {}",
+                    eventId, e.getMessage(), e);
+            return ClaimStatus.ALREADY_PROCESSING;
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.CLAIM, start);
+        }
+    }
+
+    @Override
+    public void markAsProcessed(String eventId) {
+        long start = System.nanoTime();
+        try {
+            long now = now();
+            //Writing SUCCESS needs no check: it is terminal and overwrites nothing but an older FAILED
+            stringRedisTemplate.execute(TRANSITION_SCRIPT, transitionKeys(eventId, now, false),
+                    eventId, IdempotencyBuckets.SUCCESS_CODE,
+                    String.valueOf(buckets.expiresAt(IdempotencyBuckets.SUCCESS_CODE, now)), WITHOUT_LEGACY);
+
+            log.info("Event {} marked as successfully processed", eventId);
+
+        } catch (Exception e) {
+            log.error("Error marking event {} as processed: {}",
+                    eventId, e.getMessage(), e);
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.COMPLETION_MARK, start);
+        }
+    }
+
+    @Override
+    public void markAllAsProcessed(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        long now = now();
+        String expiresAt = String.valueOf(buckets.expiresAt(IdempotencyBuckets.SUCCESS_CODE, now));
+        long start = System.nanoTime();
+        try {
+            //SCRIPT LOAD is queued first, so the EVALSHAs behind it never hit NOSCRIPT on a fresh node
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.scriptLoad(TRANSITION_SCRIPT.getScriptAsString());
+                for (String eventId : eventIds) {
+                    stringConnection.evalSha(TRANSITION_SCRIPT.getSha1(), ReturnType.INTEGER, 2,
+                            buckets.claimKey(eventId), buckets.bucketKey(eventId, now),
+                            eventId, IdempotencyBuckets.SUCCESS_CODE, expiresAt, WITHOUT_LEGACY);
+                }
+                return null;
+            });
+            log.info("{} events marked as successfully processed", eventIds.size());
+
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.COMPLETION_MARK, start);
+        }
+    }
+
+    @Override
+    public void markAsFailed(String eventId, String errorMessage) {
+        long start = System.nanoTime();
+        try {
+            long now = now();
+            Long transitioned = stringRedisTemplate.execute(TRANSITION_SCRIPT, transitionKeys(eventId, now, true),
+                    eventId, IdempotencyBuckets.FAILED_CODE,
+                    String.valueOf(buckets.expiresAt(IdempotencyBuckets.FAILED_CODE, now)), legacyFlag());
+
+            if (Long.valueOf(0).equals(transitioned)) {
+                log.warn("Event {} already succeeded, ignoring failure: {}", eventId, errorMessage);
+                return;
+            }
+
+            log.error("Event {} marked as failed: {}", eventId, errorMessage);
+
+        } catch (Exception e) {
+            log.error("Error marking event {} as failed: {}",
+                    eventId, e.getMessage(), e);
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.COMPLETION_MARK, start);
+        }
+    }
+
+    //The claim key only ever holds an in-flight claim, so releasing is a plain delete
+    @Override
+    public void release(String eventId) {
+        try {
+            stringRedisTemplate.delete(buckets.claimKey(eventId));
+            log.info("Released processing lock for event {}", eventId);
+        } catch (Exception e) {
+            log.error("Error releasing lock for event {}: {}",
+                    eventId, e.getMessage(), e);
+        }
+    }
+
+    //One pipelined round trip: a HGET per bucket in each event's SUCCESS window, plus the legacy key if enabled
+    private Set<String> lookupProcessed(List<String> ids) {
+        long now = now();
+        List<List<String>> keysPerEvent = ids.stream().map(eventId -> successKeys(eventId, now)).toList();
+
+        List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (int i = 0; i < ids.size(); i++) {
+                for (String key : keysPerEvent.get(i)) {
+                    if (key.startsWith(IdempotencyBuckets.LEGACY_PREFIX)) {
+                        stringConnection.get(key);
+                    } else {
+                        stringConnection.hGet(key, ids.get(i));
+                    }
+                }
+            }
+            return null;
+        });
+
+        Set<String> processed = new HashSet<>();
+        int reply = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            for (String key : keysPerEvent.get(i)) {
+                Object value = replies.get(reply++);
+                if (IdempotencyBuckets.SUCCESS_CODE.equals(value) || ProcessingStatus.SUCCESS.name().equals(value)) {
+                    processed.add(ids.get(i));
+                }
+            }
+        }
+        return processed;
+    }
+
+    //Legacy key first (when enabled), then the SUCCESS window of the event's shard
+    private List<String> successKeys(String eventId, long now) {
+        List<String> window = buckets.successWindow(eventId, now);
+        if (!readLegacyKeys) {
+            return window;
+        }
+        List<String> keys = new ArrayList<>(window.size() + 1);
+        keys.add(buckets.legacyKey(eventId));
+        keys.addAll(window);
+        return keys;
+    }
+
+    private List<String> transitionKeys(String eventId, long now, boolean checkSuccess) {
+        List<String> keys = new ArrayList<>();
+        keys.add(buckets.claimKey(eventId));
+        keys.add(buckets.bucketKey(eventId, now));
+        if (checkSuccess) {
+            keys.addAll(successKeys(eventId, now));
+        }
+        return keys;
+    }
+
+    private String legacyFlag() {
+        return readLegacyKeys ? WITH_LEGACY : WITHOUT_LEGACY;
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,186 @@
+package com.processor.infrastructure.adapters.out.reddis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.processor.core.domain.enums.ClaimStatus;
+import com.processor.core.ports.out.IdempotencyChecker;
+import com.processor.infrastructure.config.IdempotencyConfig;
+import com.processor.infrastructure.config.NearCacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Near-cache in front of the Redis checker of either layout ({@link IdempotencyCheckerImpl},
+ * {@link BucketedIdempotencyChecker}). SUCCESS is terminal, so a locally cached SUCCESS answers without
+ * a Redis hop. The Bloom filter only knows ids claimed by this instance, so its "never seen" answer is
+ * sound only for a sole writer whose filter covers the whole SUCCESS retention: it skips the read-side
+ * lookup only with {@code trust-bloom-negatives} (on by default) and while the oldest kept generation is
+ * older than {@code success-ttl-seconds} (never in the first TTL after startup, nor after a rotation dropped
+ * younger ids). Otherwise every uncached id goes to Redis. The claim script stays authoritative either way.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "idempotency.near-cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class CachingIdempotencyChecker implements IdempotencyChecker {
+    //Rough size of a Caffeine node with expiry plus a ~36 char event id and its boxed value
+    private static final long ESTIMATED_ENTRY_BYTES = 160;
+
+    private final IdempotencyChecker delegate;
+    private final Cache<String, Boolean> processedEvents;
+    private final EventIdBloomFilter seenEvents;
+    private final boolean trustBloomNegatives;
+    private final long successTtlMillis;
+
+    private final AtomicLong filterNegatives = new AtomicLong();
+    private final AtomicLong filterPassThroughs = new AtomicLong();
+
+    public CachingIdempotencyChecker(@Qualifier(IdempotencyCheckerImpl.BEAN_NAME) IdempotencyChecker delegate,
+                                     IdempotencyConfig idempotencyConfig,
+                                     NearCacheConfig nearCacheConfig) {
+        this.delegate = delegate;
+        this.processedEvents = Caffeine.newBuilder()
+                .maximumSize(nearCacheConfig.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(idempotencyConfig.getSuccessTtlSeconds()))
+                .recordStats()
+                .build();
+        this.seenEvents = new EventIdBloomFilter(nearCacheConfig.getBloomExpectedInsertions(),
+                nearCacheConfig.getBloomFalsePositiveRate());
+        this.trustBloomNegatives = Boolean.TRUE.equals(nearCacheConfig.getTrustBloomNegatives());
+        this.successTtlMillis = idempotencyConfig.getSuccessTtlSeconds() * 1000;
+        log.info("Idempotency near-cache enabled: maximumSize={}, bloomExpectedInsertions={}, trustBloomNegatives={}",
+                nearCacheConfig.getMaximumSize(), nearCacheConfig.getBloomExpectedInsertions(),
+                nearCacheConfig.getTrustBloomNegatives());
+    }
+
+    @Override
+    public boolean isProcessed(String eventId) {
+        if (processedEvents.getIfPresent(eventId) != null) {
+            return true;
+        }
+        if (filterTrusted() && !seenEvents.mightContain(eventId)) {
+            filterNegatives.incrementAndGet();
+            return false;
+        }
+        filterPassThroughs.incrementAndGet();
+
+        boolean processed = delegate.isProcessed(eventId);
+        if (processed) {
+            processedEvents.put(eventId, Boolean.TRUE);
+        }
+        return processed;
+    }
+
+    @Override
+    public Set<String> findProcessed(Collection<String> eventIds) {
+        Set<String> processed = new HashSet<>();
+        List<String> unresolved = new ArrayList<>();
+        boolean filterTrusted = filterTrusted();
+
+        for (String eventId : eventIds) {
+            if (processedEvents.getIfPresent(eventId) != null) {
+                processed.add(eventId);
+            } else if (!filterTrusted || seenEvents.mightContain(eventId)) {
+                unresolved.add(eventId);
+            }
+        }
+        filterNegatives.addAndGet(eventIds.size() - processed.size() - unresolved.size());
+        filterPassThroughs.addAndGet(unresolved.size());
+
+        if (!unresolved.isEmpty()) {
+            Set<String> fromRedis = delegate.findProcessed(unresolved);
+            fromRedis.forEach(eventId -> processedEvents.put(eventId, Boolean.TRUE));
+            processed.addAll(fromRedis);
+        }
+        return processed;
+    }
+
+    @Override
+    public ClaimStatus tryClaim(String eventId) {
+        if (processedEvents.getIfPresent(eventId) != null) {
+            log.info("Event {} already processed successfully (near-cache)", eventId);
+            return ClaimStatus.ALREADY_PROCESSED;
+        }
+
+        seenEvents.put(eventId);
+        ClaimStatus status = delegate.tryClaim(eventId);
+        if (status == ClaimStatus.ALREADY_PROCESSED) {
+            processedEvents.put(eventId, Boolean.TRUE);
+        }
+        return status;
+    }
+
+    @Override
+    public void markAsProcessed(String eventId) {
+        delegate.markAsProcessed(eventId);
+        processedEvents.put(eventId, Boolean.TRUE);
+    }
+
+    @Override
+    public void markAllAsProcessed(Collection<String> eventIds) {
+        delegate.markAllAsProcessed(eventIds);
+        eventIds.forEach(eventId -> processedEvents.put(eventId, Boolean.TRUE));
+    }
+
+    @Override
+    public void markAsFailed(String eventId, String errorMessage) {
+        delegate.markAsFailed(eventId, errorMessage);
+    }
+
+    @Override
+    public void release(String eventId) {
+        delegate.release(eventId);
+    }
+
+    private boolean filterTrusted() {
+        return trustBloomNegatives && System.currentTimeMillis() - successTtlMillis >= seenEvents.coveredSince();
+    }
+
+    public NearCacheStats stats() {
+        CacheStats cacheStats = processedEvents.stats();
+        long negatives = filterNegatives.get();
+        long passThroughs = filterPassThroughs.get();
+        long filterLookups = negatives + passThroughs;
+
+        long cacheBytes = processedEvents.estimatedSize() * ESTIMATED_ENTRY_BYTES;
+        long filterBytes = seenEvents.memoryBytes();
+
+        return new NearCacheStats(
+                cacheStats.hitCount(),
+                cacheStats.missCount(),
+                cacheStats.hitRate(),
+                cacheStats.missRate(),
+                processedEvents.estimatedSize(),
+                negatives,
+                passThroughs,
+                filterLookups == 0 ? 0.0 : (double) negatives / filterLookups,
+                cacheBytes,
+                filterBytes,
+                cacheBytes + filterBytes);
+    }
+
+    public record NearCacheStats(long cacheHits,
+                                 long cacheMisses,
+                                 double cacheHitRatio,
+                                 double cacheMissRatio,
+                                 long cacheEntries,
+                                 long filterNegatives,
+                                 long filterPassThroughs,
+                                 double filterNegativeRatio,
+                                 long estimatedCacheBytes,
+                                 long filterBytes,
+                                 long estimatedTotalBytes) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.processor.infrastructure.adapters.out.reddis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Two-generation Bloom filter over event ids. When the current generation reaches its expected
+ * insertions it becomes the previous one and a fresh generation starts, so memory stays bounded
+ * and ids older than two generations age out instead of saturating the bit set.
+ */
+class EventIdBloomFilter {
+    private final long expectedInsertions;
+    private final int bitCount;
+    private final int hashFunctions;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    EventIdBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(bits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.current = new Generation(bitCount);
+        this.previous = new Generation(bitCount);
+    }
+
+    boolean mightContain(String eventId) {
+        long hash = hash(eventId);
+        return current.contains(hash, bitCount, hashFunctions)
+                || previous.contains(hash, bitCount, hashFunctions);
+    }
+
+    void put(String eventId) {
+        long hash = hash(eventId);
+        Generation generation = current;
+        generation.put(hash, bitCount, hashFunctions);
+        if (generation.insertions.incrementAndGet() >= expectedInsertions) {
+            rotate(generation);
+        }
+    }
+
+    //Epoch millis since which every put is still remembered: the start of the oldest kept generation
+    long coveredSince() {
+        return previous.createdAt;
+    }
+
+    long memoryBytes() {
+        return 2L * (bitCount / Long.SIZE + 1) * Long.BYTES;
+    }
+
+    private synchronized void rotate(Generation full) {
+        if (current != full) {
+            return;
+        }
+        previous = full;
+        current = new Generation(bitCount);
+    }
+
+    //64-bit FNV-1a over the UTF-8 bytes; the two halves feed Kirsch-Mitzenmacher double hashing
+    private static long hash(String eventId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : eventId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static final class Generation {
+        private final AtomicLongArray words;
+        private final AtomicLong insertions = new AtomicLong();
+        private final long createdAt = System.currentTimeMillis();
+
+        private Generation(int bitCount) {
+            this.words = new AtomicLongArray(bitCount / Long.SIZE + 1);
+        }
+
+        private boolean contains(long hash, int bitCount, int hashFunctions) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash, int bitCount, int hashFunctions) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.processor.infrastructure.adapters.out.reddis;
+
+import com.processor.infrastructure.config.IdempotencyBucketsConfig;
+import com.processor.infrastructure.config.IdempotencyConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Key layout of the bucketed idempotency keyspace. Terminal states go to {@code cbmm:idem:<bucket>:<shard>}
+ * hashes, field = event id and value = a one-byte state code; {@code bucket} is the write time divided by
+ * {@code bucket-seconds} and {@code shard} spreads a bucket over enough hashes to keep each one small enough
+ * for Redis' listpack encoding. A bucket expires once the longest retention written into it has passed.
+ * In-flight claims stay plain keys with the processing TTL, so a crashed claim still frees up on time.
+ * All times are Unix seconds.
+ */
+public class IdempotencyBuckets {
+    static final String BUCKET_PREFIX = "cbmm:idem:";
+    static final String CLAIM_PREFIX = "cbmm:claim:";
+    //Key-per-event layout, only read while its keys age out after a switch
+    static final String LEGACY_PREFIX = "cbmm:event:";
+
+    static final String SUCCESS_CODE = "S";
+    static final String FAILED_CODE = "F";
+
+    private final long bucketSeconds;
+    private final int shards;
+    private final long successTtlSeconds;
+    private final long failedTtlSeconds;
+
+    public IdempotencyBuckets(IdempotencyConfig idempotencyConfig, IdempotencyBucketsConfig bucketsConfig) {
+        this.bucketSeconds = bucketsConfig.getBucketSeconds();
+        this.shards = bucketsConfig.getShards();
+        this.successTtlSeconds = idempotencyConfig.getSuccessTtlSeconds();
+        this.failedTtlSeconds = idempotencyConfig.getFailedTtlSeconds();
+    }
+
+    public String claimKey(String eventId) {
+        return CLAIM_PREFIX + eventId;
+    }
+
+    public String legacyKey(String eventId) {
+        return LEGACY_PREFIX + eventId;
+    }
+
+    //String.hashCode is fixed by the language spec, so every instance picks the same shard
+    public int shard(String eventId) {
+        return Math.floorMod(eventId.hashCode(), shards);
+    }
+
+    public String bucketKey(String eventId, long now) {
+        return bucketKey(Math.floorDiv(now, bucketSeconds), shard(eventId));
+    }
+
+    /**
+     * Buckets of the event's shard that can still hold a SUCCESS inside its retention, newest first. A SUCCESS
+     * written into bucket {@code b} counts until {@code (b + 1) * bucket-seconds + success-ttl-seconds}, so
+     * retention is rounded up to the bucket, never cut short.
+     */
+    public List<String> successWindow(String eventId, long now) {
+        int shard = shard(eventId);
+        long newest = Math.floorDiv(now, bucketSeconds);
+        long oldest = Math.floorDiv(now - successTtlSeconds, bucketSeconds);
+        List<String> keys = new ArrayList<>((int) (newest - oldest + 1));
+        for (long bucket = newest; bucket >= oldest; bucket--) {
+            keys.add(bucketKey(bucket, shard));
+        }
+        return keys;
+    }
+
+    public long expiresAt(String code, long now) {
+        long ttl = SUCCESS_CODE.equals(code) ? successTtlSeconds : failedTtlSeconds;
+        return (Math.floorDiv(now, bucketSeconds) + 1) * bucketSeconds + ttl;
+    }
+
+    private static String bucketKey(long bucket, int shard) {
+        return BUCKET_PREFIX + bucket + ":" + shard;
+    }
+}
@@ -1,114 +1,210 @@
 package com.processor.infrastructure.adapters.out.reddis;
 
+import com.processor.core.domain.enums.ClaimStatus;
 import com.processor.core.domain.enums.ProcessingStatus;
 import com.processor.core.ports.out.IdempotencyChecker;
+import com.processor.infrastructure.config.IdempotencyConfig;
+import com.processor.infrastructure.metrics.TransactionMetrics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
-@Service
+@Service(IdempotencyCheckerImpl.BEAN_NAME)
+@ConditionalOnProperty(prefix = "idempotency", name = "layout", havingValue = "KEYS", matchIfMissing = true)
 @AllArgsConstructor
 @Slf4j
 public class IdempotencyCheckerImpl implements IdempotencyChecker {
+    //Shared by both Redis layouts so the near-cache can wrap whichever one is active
+    public static final String BEAN_NAME = "redisIdempotencyChecker";
+
     private final StringRedisTemplate stringRedisTemplate;
+    private final IdempotencyConfig idempotencyConfig;
+    private final TransactionMetrics transactionMetrics;
 
     private static final String KEY_PREFIX = "cbmm:event:";
-    private static final String PROCESSING_SUFFIX = ":processing";
+    private static final String CLAIMED = "CLAIMED";
 
-    //TODO take this to environment variables
-    private static final long PROCESSING_TTL_SECONDS = 300; // 5 min
-    private static final long SUCCESS_TTL_SECONDS = 86400; // 24 horas
-    private static final long FAILED_TTL_SECONDS = 86400; // 24 horas
+    //One key per event: PROCESSING -> SUCCESS | FAILED, each transition is a single EVALSHA
+    private static final RedisScript<String> CLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/idempotency_claim.lua"), String.class);
+    private static final RedisScript<Long> TRANSITION_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/idempotency_transition.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/idempotency_release.lua"), Long.class);
 
     @Override
     public boolean isProcessed(String eventId) {
-        String key = buildKey(eventId);
-        String value = stringRedisTemplate.opsForValue().get(key);
-        return ProcessingStatus.SUCCESS.name().equals(value);
+        long start = System.nanoTime();
+        try {
+            String value = stringRedisTemplate.opsForValue().get(buildKey(eventId));
+            return ProcessingStatus.SUCCESS.name().equals(value);
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.IDEMPOTENCY_CHECK, start);
+        }
     }
 
     @Override
-    public boolean tryMarkAsProcessing(String eventId) {
-        String key = buildKey(eventId);
-        String processingKey = key + PROCESSING_SUFFIX;
+    public Set<String> findProcessed(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+
+        List<String> ids = new ArrayList<>(eventIds);
+        int chunkSize = idempotencyConfig.getPrefetchChunkSize();
+        long start = System.nanoTime();
 
         try {
-            if (isProcessed(eventId)) {
-                log.info("Event {} already processed successfully", eventId);
-                return false;
+            //One MGET per chunk, all chunks in a single pipelined round trip
+            List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    String[] keys = ids.subList(from, Math.min(from + chunkSize, ids.size())).stream()
+                            .map(this::buildKey)
+                            .toArray(String[]::new);
+                    stringConnection.mGet(keys);
+                }
+                return null;
+            });
+
+            Set<String> processed = new HashSet<>();
+            int index = 0;
+            for (Object reply : replies) {
+                for (Object value : (List<?>) reply) {
+                    if (ProcessingStatus.SUCCESS.name().equals(value)) {
+                        processed.add(ids.get(index));
+                    }
+                    index++;
+                }
             }
+            log.info("Prefetched idempotency state for {} events: {} already processed",
+                    ids.size(), processed.size());
+            return processed;
+
+        } catch (Exception e) {
+            log.error("Error prefetching idempotency state for {} events: {}",
+                    ids.size(), e.getMessage(), e);
+            return Set.of();
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.IDEMPOTENCY_CHECK, start);
+        }
+    }
 
-            Boolean acquired = stringRedisTemplate.opsForValue()
-                    .setIfAbsent(processingKey,
-                            ProcessingStatus.PROCESSING.name(),
-                            Duration.ofSeconds(PROCESSING_TTL_SECONDS));
+    @Override
+    public ClaimStatus tryClaim(String eventId) {
+        long start = System.nanoTime();
+        try {
+            String outcome = stringRedisTemplate.execute(CLAIM_SCRIPT,
+                    List.of(buildKey(eventId)),
+                    String.valueOf(idempotencyConfig.getProcessingTtlSeconds()));
 
-            if (Boolean.TRUE.equals(acquired)) {
+            if (CLAIMED.equals(outcome)) {
                 log.info("Event {} marked as processing", eventId);
-                return true;
-            } else {
-                log.warn("Event {} is already being processed by another instance", eventId);
-                return false;
+                return ClaimStatus.CLAIMED;
             }
 
+            if (ProcessingStatus.SUCCESS.name().equals(outcome)) {
+                log.info("Event {} already processed successfully", eventId);
+                return ClaimStatus.ALREADY_PROCESSED;
+            }
+
+            log.warn("Event {} is already being processed by another instance", eventId);
+            return ClaimStatus.ALREADY_PROCESSING;
+
         } catch (Exception e) {
             log.error("Error trying to mark event {} as processing: {}",
                     eventId, e.getMessage(), e);
-            return false;
+            return ClaimStatus.ALREADY_PROCESSING;
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.CLAIM, start);
         }
     }
 
     @Override
     public void markAsProcessed(String eventId) {
-        String key = buildKey(eventId);
-        String processingKey = key + PROCESSING_SUFFIX;
-
+        long start = System.nanoTime();
         try {
-            stringRedisTemplate.opsForValue()
-                    .set(key,
-                            ProcessingStatus.SUCCESS.name(),
-                            Duration.ofSeconds(SUCCESS_TTL_SECONDS));
-
-            stringRedisTemplate.delete(processingKey);
+            stringRedisTemplate.execute(TRANSITION_SCRIPT,
+                    List.of(buildKey(eventId)),
+                    ProcessingStatus.SUCCESS.name(),
+                    String.valueOf(idempotencyConfig.getSuccessTtlSeconds()));
 
             log.info("Event {} marked as successfully processed", eventId);
 
         } catch (Exception e) {
             log.error("Error marking event {} as processed: {}",
                     eventId, e.getMessage(), e);
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.COMPLETION_MARK, start);
         }
     }
 
     @Override
-    public void markAsFailed(String eventId, String errorMessage) {
-        String key = buildKey(eventId);
-        String processingKey = key + PROCESSING_SUFFIX;
+    public void markAllAsProcessed(Collection<String> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
 
+        String successTtl = String.valueOf(idempotencyConfig.getSuccessTtlSeconds());
+        long start = System.nanoTime();
         try {
-            stringRedisTemplate.opsForValue()
-                    .set(key,
-                            ProcessingStatus.FAILED.name(),
-                            Duration.ofSeconds(FAILED_TTL_SECONDS));
+            //SCRIPT LOAD is queued first, so the EVALSHAs behind it never hit NOSCRIPT on a fresh node
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.scriptLoad(TRANSITION_SCRIPT.getScriptAsString());
+                for (String eventId : eventIds) {
+                    stringConnection.evalSha(TRANSITION_SCRIPT.getSha1(), ReturnType.INTEGER, 1,
+                            buildKey(eventId), ProcessingStatus.SUCCESS.name(), successTtl);
+                }
+                return null;
+            });
+            log.info("{} events marked as successfully processed", eventIds.size());
+
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.COMPLETION_MARK, start);
+        }
+    }
 
-            stringRedisTemplate.delete(processingKey);
+    @Override
+    public void markAsFailed(String eventId, String errorMessage) {
+        long start = System.nanoTime();
+        try {
+            Long transitioned = stringRedisTemplate.execute(TRANSITION_SCRIPT,
+                    List.of(buildKey(eventId)),
+                    ProcessingStatus.FAILED.name(),
+                    String.valueOf(idempotencyConfig.getFailedTtlSeconds()));
+
+            if (Long.valueOf(0).equals(transitioned)) {
+                log.warn("Event {} already succeeded, ignoring failure: {}", eventId, errorMessage);
+                return;
+            }
 
             log.error("Event {} marked as failed: {}", eventId, errorMessage);
 
         } catch (Exception e) {
             log.error("Error marking event {} as failed: {}",
                     eventId, e.getMessage(), e);
+        } finally {
+            transactionMetrics.recordStage(TransactionMetrics.Stage.COMPLETION_MARK, start);
         }
     }
 
     @Override
     public void release(String eventId) {
-        String processingKey = buildKey(eventId) + PROCESSING_SUFFIX;
-
         try {
-            stringRedisTemplate.delete(processingKey);
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(buildKey(eventId)));
             log.info("Released processing lock for event {}", eventId);
         } catch (Exception e) {
             log.error("Error releasing lock for event {}: {}",
@@ -0,0 +1,67 @@
+package com.processor.infrastructure.adapters.out.reddis;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bytes per tracked event of both idempotency layouts, from {@code MEMORY USAGE} on a sample of keys. During a
+ * layout switch both keyspaces are live, so {@link #report()} shows before and after side by side. It only reads
+ * (SCAN and MEMORY USAGE), never writes. {@code MEMORY USAGE} leaves out the expiry entry that the key-per-event
+ * layout pays per event, so its figure is a lower bound.
+ */
+@Component
+@ConditionalOnProperty(prefix = "idempotency.memory-report", name = "enabled", havingValue = "true")
+@AllArgsConstructor
+public class IdempotencyMemoryReporter {
+    private static final int SAMPLE_KEYS = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public MemoryReport report() {
+        return stringRedisTemplate.execute((RedisCallback<MemoryReport>) connection -> new MemoryReport(
+                measure(connection, sample(connection, IdempotencyBuckets.LEGACY_PREFIX + "*"), false),
+                measure(connection, sample(connection, IdempotencyBuckets.BUCKET_PREFIX + "*"), true)));
+    }
+
+    private static List<String> sample(RedisConnection connection, String pattern) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SAMPLE_KEYS).build();
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext() && keys.size() < SAMPLE_KEYS) {
+                keys.add(new String(cursor.next(), StandardCharsets.UTF_8));
+            }
+        }
+        return keys;
+    }
+
+    private static LayoutUsage measure(RedisConnection connection, List<String> keys, boolean hashes) {
+        long bytes = 0;
+        long events = 0;
+        for (String key : keys) {
+            byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+            Object usage = connection.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), rawKey);
+            if (usage == null) {
+                continue;
+            }
+            bytes += (Long) usage;
+            events += hashes ? connection.hashCommands().hLen(rawKey) : 1;
+        }
+        return new LayoutUsage(keys.size(), events, bytes, events == 0 ? 0.0 : (double) bytes / events);
+    }
+
+    public record MemoryReport(LayoutUsage keyPerEvent, LayoutUsage bucketed) {
+    }
+
+    public record LayoutUsage(long sampledKeys, long trackedEvents, long bytes, double bytesPerEvent) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.account-cache")
+@Getter
+@Setter
+public class AccountCacheConfig {
+    private Boolean enabled;
+    private Long maximumSize;
+    private Long ttlSeconds;
+}
@@ -0,0 +1,17 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.admission")
+@Getter
+@Setter
+public class AdmissionConfig {
+    private Integer maxInFlightEvents;
+    private Integer maxConcurrentRequests;
+    private Long maxWaitMs;
+    private Long retryAfterSeconds;
+}
@@ -1,26 +1,71 @@
 package com.processor.infrastructure.config;
 
+import com.processor.application.service.BoundedVirtualThreadExecutor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import javax.sql.DataSource;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
+@EnableScheduling
+@RequiredArgsConstructor
+@Slf4j
 public class AsyncConfiguration {
+    private final ExecutionConfig executionConfig;
+    private final AdmissionConfig admissionConfig;
 
     @Bean(name = "cbmmTransactionExecutor")
-    public Executor cbmmTransactionExecutor() {
+    public Executor cbmmTransactionExecutor(DataSource dataSource, MeterRegistry meterRegistry) {
+        if (executionConfig.getMode() == ExecutionConfig.ExecutionMode.VIRTUAL) {
+            int maxConcurrency = executionConfig.getMaxConcurrency() != null
+                    ? executionConfig.getMaxConcurrency()
+                    : connectionPoolSize(dataSource) * executionConfig.getPermitsPerConnection();
+            log.info("Virtual thread execution enabled: maxConcurrency={}", maxConcurrency);
+            BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(maxConcurrency);
+            bindExecutorMetrics(executor, maxConcurrency, meterRegistry);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(10);
         executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
+        //Admission bounds the events in flight and a batch above that budget is submitted in waves of it,
+        //so admitted work always fits in the queue and a rejection here is a bug rather than overload;
+        //never run transfers on the caller's request thread
+        executor.setQueueCapacity(admissionConfig.getMaxInFlightEvents());
         executor.setThreadNamePrefix("cbmm-tx-");
-        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
         executor.initialize();
         return executor;
     }
+
+    //Same names and tag as the executor metrics Boot binds for the ThreadPoolTaskExecutor in PLATFORM mode
+    private void bindExecutorMetrics(BoundedVirtualThreadExecutor executor, int maxConcurrency,
+                                     MeterRegistry meterRegistry) {
+        Gauge.builder("executor.active", executor, e -> maxConcurrency - e.availablePermits())
+                .tag("name", "cbmmTransactionExecutor")
+                .register(meterRegistry);
+        Gauge.builder("executor.queued", executor, BoundedVirtualThreadExecutor::queuedTasks)
+                .tag("name", "cbmmTransactionExecutor")
+                .register(meterRegistry);
+    }
+
+    //A transfer holds its connection only for the DB step; the Redis claim and mark run outside it
+    private int connectionPoolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            return hikariDataSource.getMaximumPoolSize();
+        }
+        throw new IllegalStateException("transaction.execution.max-concurrency is required without a Hikari pool");
+    }
 }
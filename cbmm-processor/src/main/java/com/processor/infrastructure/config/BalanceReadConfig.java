@@ -0,0 +1,16 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.balance-read")
+@Getter
+@Setter
+public class BalanceReadConfig {
+    private Long cacheTtlMs;
+    private Long maximumSize;
+    private Integer poolSize;
+}
@@ -0,0 +1,20 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.dispatch")
+@Getter
+@Setter
+public class DispatchConfig {
+    private DispatchMode mode;
+    private Integer lanes;
+
+    public enum DispatchMode {
+        FAN_OUT,
+        SHARDED
+    }
+}
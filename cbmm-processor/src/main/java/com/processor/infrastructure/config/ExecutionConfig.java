@@ -0,0 +1,21 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.execution")
+@Getter
+@Setter
+public class ExecutionConfig {
+    private ExecutionMode mode;
+    private Integer maxConcurrency;
+    private Integer permitsPerConnection;
+
+    public enum ExecutionMode {
+        PLATFORM,
+        VIRTUAL
+    }
+}
@@ -0,0 +1,16 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.group-commit")
+@Getter
+@Setter
+public class GroupCommitConfig {
+    private Boolean enabled;
+    private Integer maxBatchSize;
+    private Long lingerMs;
+}
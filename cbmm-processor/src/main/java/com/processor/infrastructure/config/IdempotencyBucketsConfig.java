@@ -0,0 +1,16 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "idempotency.buckets")
+@Getter
+@Setter
+public class IdempotencyBucketsConfig {
+    private Long bucketSeconds;
+    private Integer shards;
+    private Boolean readLegacyKeys;
+}
@@ -0,0 +1,23 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+@Getter
+@Setter
+public class IdempotencyConfig {
+    private IdempotencyLayout layout;
+    private Long processingTtlSeconds;
+    private Long successTtlSeconds;
+    private Long failedTtlSeconds;
+    private Integer prefetchChunkSize;
+
+    public enum IdempotencyLayout {
+        KEYS,
+        BUCKETED
+    }
+}
@@ -0,0 +1,21 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.in-memory")
+@Getter
+@Setter
+public class InMemoryLedgerConfig {
+    private Integer ringSize;
+    private Integer maxBatchSize;
+    private String journalDir;
+    private Long segmentBytes;
+    private Boolean fsync;
+    private Long flushIntervalMs;
+    private Integer flushBatchSize;
+    private Long ackTimeoutMs;
+}
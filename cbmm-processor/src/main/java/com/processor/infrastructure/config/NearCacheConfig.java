@@ -0,0 +1,18 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "idempotency.near-cache")
+@Getter
+@Setter
+public class NearCacheConfig {
+    private Boolean enabled;
+    private Long maximumSize;
+    private Long bloomExpectedInsertions;
+    private Double bloomFalsePositiveRate;
+    private Boolean trustBloomNegatives;
+}
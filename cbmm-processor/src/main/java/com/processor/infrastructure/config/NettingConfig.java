@@ -0,0 +1,15 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.netting")
+@Getter
+@Setter
+public class NettingConfig {
+    private Boolean enabled;
+    private Integer maxBatchSize;
+}
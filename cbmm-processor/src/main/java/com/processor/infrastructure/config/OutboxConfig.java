@@ -0,0 +1,16 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.outbox")
+@Getter
+@Setter
+public class OutboxConfig {
+    private Boolean enabled;
+    private Integer batchSize;
+    private Long pollIntervalMs;
+}
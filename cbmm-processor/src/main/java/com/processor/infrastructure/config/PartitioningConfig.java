@@ -0,0 +1,18 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.partitioning")
+@Getter
+@Setter
+public class PartitioningConfig {
+    private Boolean enabled;
+    private Integer premakeDays;
+    private Integer retentionDays;
+    private Boolean dropExpired;
+    private String cron;
+}
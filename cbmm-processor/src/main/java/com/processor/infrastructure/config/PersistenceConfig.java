@@ -0,0 +1,20 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.persistence")
+@Getter
+@Setter
+public class PersistenceConfig {
+    private PersistenceMode mode;
+
+    public enum PersistenceMode {
+        ENTITY,
+        CONDITIONAL_UPDATE,
+        IN_MEMORY
+    }
+}
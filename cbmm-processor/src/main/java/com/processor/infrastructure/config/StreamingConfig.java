@@ -0,0 +1,15 @@
+package com.processor.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.streaming")
+@Getter
+@Setter
+public class StreamingConfig {
+    private Integer maxInFlight;
+    private Integer chunkSize;
+}
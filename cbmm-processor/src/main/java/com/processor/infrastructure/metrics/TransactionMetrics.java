@@ -0,0 +1,76 @@
+package com.processor.infrastructure.metrics;
+
+import com.processor.core.domain.value_object.TransactionResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TransactionMetrics {
+    private final MeterRegistry meterRegistry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<TransactionResult.TransactionStatus, Counter> outcomes =
+            new EnumMap<>(TransactionResult.TransactionStatus.class);
+    private final Timer backoff;
+
+    public TransactionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("cbmm.stage.duration")
+                    .description("Latency of each stage of the transfer pipeline")
+                    .tag("stage", stage.tagValue)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        for (TransactionResult.TransactionStatus status : TransactionResult.TransactionStatus.values()) {
+            outcomes.put(status, Counter.builder("cbmm.transactions")
+                    .description("Transfer outcomes")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+
+        this.backoff = Timer.builder("cbmm.retry.backoff")
+                .description("Time slept between optimistic lock retries")
+                .register(meterRegistry);
+    }
+
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    //Tagged by the attempt that conflicted, bounded by transaction.retry.max-attempts
+    public void recordConflict(int attempt) {
+        meterRegistry.counter("cbmm.retry.conflicts", "attempt", String.valueOf(attempt)).increment();
+    }
+
+    public void recordBackoff(long milliseconds) {
+        backoff.record(Duration.ofMillis(milliseconds));
+    }
+
+    public TransactionResult recordOutcome(TransactionResult result) {
+        outcomes.get(result.getStatus()).increment();
+        return result;
+    }
+
+    public enum Stage {
+        EXECUTOR_QUEUE("executor_queue"),
+        IDEMPOTENCY_CHECK("idempotency_check"),
+        CLAIM("claim"),
+        DB_TRANSACTION("db_transaction"),
+        COMPLETION_MARK("completion_mark");
+
+        private final String tagValue;
+
+        Stage(String tagValue) {
+            this.tagValue = tagValue;
+        }
+    }
+}
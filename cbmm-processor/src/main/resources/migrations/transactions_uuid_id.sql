@@ -0,0 +1,13 @@
+-- Moves an existing database to time-ordered UUID ledger ids; schema.sql already creates the column as UUID.
+-- Only needed where the schema is not recreated on start (spring.sql.init.mode other than always).
+--
+-- Existing ids are random UUID text and are cast as they are; ids written from now on are UUIDv7, so new rows
+-- land on the right edge of the primary key instead of on random leaf pages.
+-- The type change rewrites every partition and rebuilds its indexes under an ACCESS EXCLUSIVE lock: run it
+-- with the processors stopped. In IN_MEMORY mode stop them cleanly first (the last flush moves the checkpoint
+-- past every journaled entry) and empty transaction.in-memory.journal-dir, since journal records now carry
+-- the ids as 16 bytes.
+
+ALTER TABLE transactions ALTER COLUMN id TYPE UUID USING id::uuid;
+
+ANALYZE transactions;
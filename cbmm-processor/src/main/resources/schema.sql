@@ -1,3 +1,5 @@
+DROP TABLE IF EXISTS ledger_checkpoint CASCADE;
+DROP TABLE IF EXISTS outbox_events CASCADE;
 DROP TABLE IF EXISTS transactions CASCADE;
 DROP TABLE IF EXISTS accounts CASCADE;
 
@@ -10,8 +12,11 @@ CREATE TABLE accounts (
                           updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Daily range partitions on operation_date, created ahead and detached after retention by
+-- TransactionPartitionManager. The partition key has to be part of the primary key.
+-- Ids are time-ordered UUIDv7 (TransactionIds), so primary key inserts append to the right edge of the index.
 CREATE TABLE transactions (
-                              id VARCHAR(255) PRIMARY KEY,
+                              id UUID NOT NULL,
                               account_id VARCHAR(255) NOT NULL,
                               event_id VARCHAR(255) NOT NULL,
                               currency VARCHAR(3) NOT NULL,
@@ -21,11 +26,31 @@ CREATE TABLE transactions (
                               status VARCHAR(50) NOT NULL,
                               operation_date TIMESTAMP NOT NULL,
                               processed_at TIMESTAMP,
+                              CONSTRAINT pk_transactions PRIMARY KEY (id, operation_date),
                               CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+) PARTITION BY RANGE (operation_date);
+
+-- Back-dated or far-future events land here instead of failing the transfer
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Committed events whose SUCCESS mark has not reached Redis yet; drained by the outbox relay
+CREATE TABLE outbox_events (
+                               event_id VARCHAR(255) PRIMARY KEY,
+                               created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Last journal sequence written by the in-memory ledger; updated in the same transaction as the rows it covers
+CREATE TABLE ledger_checkpoint (
+                                   id SMALLINT PRIMARY KEY,
+                                   last_sequence BIGINT NOT NULL,
+                                   updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
-CREATE INDEX idx_transactions_account_id ON transactions(account_id);
+-- Statement keyset: leading account_id also serves the foreign key, INCLUDE makes every page an index-only scan
+CREATE INDEX idx_transactions_account_statement ON transactions (account_id, operation_date DESC, id DESC)
+    INCLUDE (event_id, type, amount, currency, balance_after);
 CREATE INDEX idx_transactions_event_id ON transactions(event_id);
-CREATE INDEX idx_transactions_status ON transactions(status);
-CREATE INDEX idx_transactions_operation_date ON transactions(operation_date);
-CREATE INDEX idx_accounts_currency ON accounts(currency);
\ No newline at end of file
+-- Rows arrive roughly in operation_date order, so a BRIN index is a few pages instead of a B-tree per row
+CREATE INDEX idx_transactions_operation_date ON transactions USING BRIN (operation_date);
+CREATE INDEX idx_accounts_currency ON accounts(currency);
+CREATE INDEX idx_outbox_events_created_at ON outbox_events(created_at);
\ No newline at end of file
@@ -0,0 +1,21 @@
+-- KEYS[1]: claim key, KEYS[2..]: legacy event key (when ARGV[3] is 1), then the shard's buckets newest first
+-- ARGV[1]: event id, ARGV[2]: processing TTL in seconds, ARGV[3]: 1 when KEYS[2] is a legacy key
+-- Returns CLAIMED when the caller now owns the event, otherwise the state that blocked the claim
+local first = 2
+if ARGV[3] == '1' then
+    local legacy = redis.call('GET', KEYS[2])
+    if legacy == 'SUCCESS' or legacy == 'PROCESSING' then
+        return legacy
+    end
+    first = 3
+end
+for i = first, #KEYS do
+    if redis.call('HGET', KEYS[i], ARGV[1]) == 'S' then
+        return 'SUCCESS'
+    end
+end
+-- Only the claim key's existence matters; its value is never read
+if not redis.call('SET', KEYS[1], 'P', 'NX', 'EX', ARGV[2]) then
+    return 'PROCESSING'
+end
+return 'CLAIMED'
@@ -0,0 +1,23 @@
+-- KEYS[1]: claim key, KEYS[2]: bucket to write, KEYS[3..]: legacy event key (when ARGV[4] is 1), then the
+-- shard's buckets to check for SUCCESS. ARGV[1]: event id, ARGV[2]: state code (S | F),
+-- ARGV[3]: Unix time the state is kept until, ARGV[4]: 1 when KEYS[3] is a legacy key
+-- SUCCESS is terminal: a late FAILED mark never overwrites it
+local first = 3
+if ARGV[4] == '1' then
+    if redis.call('GET', KEYS[3]) == 'SUCCESS' then
+        return 0
+    end
+    first = 4
+end
+for i = first, #KEYS do
+    if redis.call('HGET', KEYS[i], ARGV[1]) == 'S' then
+        return 0
+    end
+end
+redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+-- The bucket lives as long as the longest retention written into it
+if redis.call('EXPIRETIME', KEYS[2]) < tonumber(ARGV[3]) then
+    redis.call('EXPIREAT', KEYS[2], ARGV[3])
+end
+redis.call('DEL', KEYS[1])
+return 1
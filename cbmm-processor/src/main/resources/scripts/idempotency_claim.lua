@@ -0,0 +1,8 @@
+-- KEYS[1]: event key, ARGV[1]: processing TTL in seconds
+-- Returns CLAIMED when the caller now owns the event, otherwise the state that blocked the claim
+local state = redis.call('GET', KEYS[1])
+if state == 'SUCCESS' or state == 'PROCESSING' then
+    return state
+end
+redis.call('SET', KEYS[1], 'PROCESSING', 'EX', ARGV[1])
+return 'CLAIMED'
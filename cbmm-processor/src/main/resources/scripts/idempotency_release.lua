@@ -0,0 +1,5 @@
+-- KEYS[1]: event key. Only an in-flight claim can be released
+if redis.call('GET', KEYS[1]) == 'PROCESSING' then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,7 @@
+-- KEYS[1]: event key, ARGV[1]: final state (SUCCESS | FAILED), ARGV[2]: TTL in seconds
+-- SUCCESS is terminal: a late FAILED mark never overwrites it
+if redis.call('GET', KEYS[1]) == 'SUCCESS' then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+return 1
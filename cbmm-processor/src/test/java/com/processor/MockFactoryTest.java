@@ -1,5 +1,6 @@
 package com.processor;
 
+import com.processor.core.domain.value_object.Money;
 import com.processor.core.domain.model.Account;
 import com.processor.core.domain.value_object.TransactionData;
 import com.processor.core.domain.value_object.TransferAccount;
@@ -38,6 +39,6 @@ public class MockFactoryTest {
     }
 
     protected Account createAccount(String accountId, BigDecimal balance, String currency) {
-        return new Account(accountId, balance, currency, 1L, LocalDateTime.now(), LocalDateTime.now());
+        return new Account(accountId, Money.of(balance), currency, 1L, LocalDateTime.now(), LocalDateTime.now());
     }
 }
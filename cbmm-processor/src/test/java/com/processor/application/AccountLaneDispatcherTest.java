@@ -0,0 +1,76 @@
+package com.processor.application;
+
+import com.processor.application.service.AccountLaneDispatcher;
+import com.processor.infrastructure.config.DispatchConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountLaneDispatcherTest {
+    private AccountLaneDispatcher laneDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        DispatchConfig dispatchConfig = new DispatchConfig();
+        dispatchConfig.setLanes(4);
+        laneDispatcher = new AccountLaneDispatcher(dispatchConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        laneDispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run tasks with the same lane key one after another in submission order")
+    void testGivenSameLaneKey_ThenRunSequentiallyInOrder() {
+        List<Integer> executionOrder = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int index = i;
+            futures.add(laneDispatcher.submit("ACC123456789", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                executionOrder.add(index);
+                running.decrementAndGet();
+                return index;
+            }));
+        }
+
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, executionOrder.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete the future with the task result")
+    void testGivenTask_ThenCompleteWithResult() {
+        String result = laneDispatcher.submit("ACC987654321", () -> "done").join();
+
+        assertEquals("done", result);
+    }
+
+    @Test
+    @DisplayName("Should complete the future exceptionally when the task fails")
+    void testGivenFailingTask_ThenCompleteExceptionally() {
+        CompletableFuture<String> future = laneDispatcher.submit("ACC987654321", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(Exception.class, future::join);
+        assertEquals("ok", laneDispatcher.submit("ACC987654321", () -> "ok").join());
+    }
+}
@@ -0,0 +1,98 @@
+package com.processor.application;
+
+import com.processor.MockFactoryTest;
+import com.processor.application.service.AccountPrecheck;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.ports.out.AccountRepository;
+import com.processor.infrastructure.config.PersistenceConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountPrecheckTest extends MockFactoryTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Spy
+    private PersistenceConfig persistenceConfig = new PersistenceConfig();
+
+    @InjectMocks
+    private AccountPrecheck accountPrecheck;
+
+    @Test
+    @DisplayName("Should let the transfer through when nothing is cached")
+    void testGivenCacheMiss_ThenPass() {
+        when(accountRepository.findSnapshot(anyString())).thenReturn(Optional.empty());
+
+        assertDoesNotThrow(() -> accountPrecheck.verify(createTransactionData()));
+        verify(accountRepository, never()).refreshSnapshot(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a currency mismatch straight from the cache")
+    void testGivenCachedCurrencyMismatch_ThenReject() {
+        when(accountRepository.findSnapshot(DEST_ACCOUNT_ID))
+                .thenReturn(Optional.of(snapshot(DEST_ACCOUNT_ID, INITIAL_DEST_BALANCE, "GBP")));
+
+        assertThatThrownBy(() -> accountPrecheck.verify(createTransactionData()))
+                .isInstanceOf(InvalidCurrencyException.class)
+                .hasMessageContaining("Currency mismatch for account " + DEST_ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Should reject insufficient funds only after the database confirms the balance")
+    void testGivenCachedLowBalance_ThenConfirmBeforeRejecting() {
+        when(accountRepository.findSnapshot(DEST_ACCOUNT_ID)).thenReturn(Optional.empty());
+        when(accountRepository.findSnapshot(SOURCE_ACCOUNT_ID))
+                .thenReturn(Optional.of(snapshot(SOURCE_ACCOUNT_ID, new BigDecimal("10.00"), SOURCE_VALID_CURRENCY)));
+        when(accountRepository.refreshSnapshot(SOURCE_ACCOUNT_ID))
+                .thenReturn(Optional.of(snapshot(SOURCE_ACCOUNT_ID, new BigDecimal("10.00"), SOURCE_VALID_CURRENCY)));
+
+        assertThatThrownBy(() -> accountPrecheck.verify(createTransactionData()))
+                .isInstanceOf(InsufficientFundsException.class)
+                .hasMessageContaining("Source account has insufficient balance for event " + EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should not reject when the cached balance is stale and the account was credited since")
+    void testGivenStaleLowBalance_ThenPass() {
+        when(accountRepository.findSnapshot(DEST_ACCOUNT_ID)).thenReturn(Optional.empty());
+        when(accountRepository.findSnapshot(SOURCE_ACCOUNT_ID))
+                .thenReturn(Optional.of(snapshot(SOURCE_ACCOUNT_ID, new BigDecimal("10.00"), SOURCE_VALID_CURRENCY)));
+        when(accountRepository.refreshSnapshot(SOURCE_ACCOUNT_ID))
+                .thenReturn(Optional.of(snapshot(SOURCE_ACCOUNT_ID, INITIAL_SOURCE_BALANCE, SOURCE_VALID_CURRENCY)));
+
+        assertDoesNotThrow(() -> accountPrecheck.verify(createTransactionData()));
+    }
+
+    @Test
+    @DisplayName("Should not reject in IN_MEMORY mode, where Postgres has not seen a credit made within the flush interval")
+    void testGivenInMemoryMode_ThenLeaveFundsToTheLedgerBook() {
+        persistenceConfig.setMode(PersistenceConfig.PersistenceMode.IN_MEMORY);
+        lenient().when(accountRepository.findSnapshot(SOURCE_ACCOUNT_ID))
+                .thenReturn(Optional.of(snapshot(SOURCE_ACCOUNT_ID, new BigDecimal("10.00"), SOURCE_VALID_CURRENCY)));
+        lenient().when(accountRepository.refreshSnapshot(SOURCE_ACCOUNT_ID))
+                .thenReturn(Optional.of(snapshot(SOURCE_ACCOUNT_ID, new BigDecimal("10.00"), SOURCE_VALID_CURRENCY)));
+
+        assertDoesNotThrow(() -> accountPrecheck.verify(createTransactionData()));
+        verifyNoInteractions(accountRepository);
+    }
+
+    private AccountSnapshot snapshot(String accountId, BigDecimal balance, String currency) {
+        return new AccountSnapshot(accountId, currency, balance, 1L);
+    }
+}
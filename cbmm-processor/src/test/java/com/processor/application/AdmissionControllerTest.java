@@ -0,0 +1,63 @@
+package com.processor.application;
+
+import com.processor.application.service.AdmissionController;
+import com.processor.application.service.AdmissionRejectedException;
+import com.processor.infrastructure.config.AdmissionConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControllerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdmissionController admissionController;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionConfig admissionConfig = new AdmissionConfig();
+        admissionConfig.setMaxInFlightEvents(10);
+        admissionConfig.setMaxConcurrentRequests(2);
+        admissionConfig.setMaxWaitMs(0L);
+        admissionConfig.setRetryAfterSeconds(3L);
+
+        admissionController = new AdmissionController(admissionConfig, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should reject with a retry hint once the in-flight event budget is used up")
+    void testGivenSaturatedEvents_ThenRejectWithRetryAfter() {
+        AdmissionController.Admission first = admissionController.tryAdmit(8);
+
+        AdmissionRejectedException rejection =
+                assertThrows(AdmissionRejectedException.class, () -> admissionController.tryAdmit(5));
+        assertEquals(3L, rejection.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("cbmm.admission.rejected").tag("reason", "events").counter().count());
+
+        first.close();
+        assertDoesNotThrow(() -> admissionController.tryAdmit(5).close());
+    }
+
+    @Test
+    @DisplayName("Should bound concurrent requests independently of their size")
+    void testGivenTooManyRequests_ThenReject() {
+        admissionController.tryAdmit(1);
+        admissionController.tryAdmit(1);
+
+        assertThrows(AdmissionRejectedException.class, () -> admissionController.tryAdmit(1));
+        assertEquals(2.0, meterRegistry.get("cbmm.admission.in_flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should admit a batch larger than the budget by reserving the whole budget")
+    void testGivenOversizedBatch_ThenReserveWholeBudget() {
+        AdmissionController.Admission admission = admissionController.tryAdmit(50);
+
+        assertEquals(10.0, meterRegistry.get("cbmm.admission.in_flight").gauge().value());
+        admission.close();
+        admission.close();
+        assertEquals(0.0, meterRegistry.get("cbmm.admission.in_flight").gauge().value());
+    }
+}
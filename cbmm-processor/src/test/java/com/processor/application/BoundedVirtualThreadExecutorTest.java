@@ -0,0 +1,49 @@
+package com.processor.application;
+
+import com.processor.application.service.BoundedVirtualThreadExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedVirtualThreadExecutorTest {
+
+    @Test
+    @DisplayName("Should run tasks on virtual threads")
+    void testGivenTask_ThenRunOnVirtualThread() {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(2);
+
+        boolean virtual = CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor).join();
+
+        assertTrue(virtual);
+    }
+
+    @Test
+    @DisplayName("Should never run more tasks at once than the configured permits")
+    void testGivenBurst_ThenBoundConcurrency() {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }, executor));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertTrue(maxRunning.get() <= 3);
+    }
+}
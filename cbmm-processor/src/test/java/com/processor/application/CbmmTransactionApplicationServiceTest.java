@@ -1,22 +1,48 @@
 package com.processor.application;
 
 import com.processor.MockFactoryTest;
+import com.processor.application.service.AccountLaneDispatcher;
+import com.processor.application.service.AccountPrecheck;
 import com.processor.application.service.CbmmTransactionApplicationService;
+import com.processor.application.service.GroupCommitProcessor;
+import com.processor.application.service.RetryScheduler;
+import com.processor.core.domain.enums.ClaimStatus;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
 import com.processor.core.domain.value_object.TransactionData;
 import com.processor.core.domain.value_object.TransactionResult;
 import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
+import com.processor.core.ports.in.ProcessNettedBatchUseCase;
 import com.processor.core.ports.out.IdempotencyChecker;
+import com.processor.infrastructure.config.AdmissionConfig;
+import com.processor.infrastructure.config.DispatchConfig;
+import com.processor.infrastructure.config.NettingConfig;
+import com.processor.infrastructure.config.OutboxConfig;
+import com.processor.infrastructure.config.PersistenceConfig;
 import com.processor.infrastructure.config.TransactionConfig;
+import com.processor.infrastructure.metrics.TransactionMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,6 +58,44 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
     @Mock
     private IdempotencyChecker idempotencyChecker;
 
+    @Mock
+    private DispatchConfig dispatchConfig;
+
+    @Mock
+    private AccountLaneDispatcher laneDispatcher;
+
+    @Mock
+    private GroupCommitProcessor groupCommitProcessor;
+
+    @Spy
+    private Executor cbmmTransactionExecutor = new SimpleAsyncTaskExecutor();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TransactionMetrics transactionMetrics = new TransactionMetrics(meterRegistry);
+
+    @Mock
+    private AccountPrecheck accountPrecheck;
+
+    @Mock
+    private NettingConfig nettingConfig;
+
+    @Mock
+    private ProcessNettedBatchUseCase nettedBatchUseCase;
+
+    @Spy
+    private RetryScheduler retryScheduler = new RetryScheduler(cbmmTransactionExecutor, meterRegistry);
+
+    @Mock
+    private OutboxConfig outboxConfig;
+
+    @Spy
+    private AdmissionConfig admissionConfig = admissionConfig(2000);
+
+    @Spy
+    private PersistenceConfig persistenceConfig = new PersistenceConfig();
+
     @InjectMocks
     private CbmmTransactionApplicationService cbmmTransactionApplicationService;
 
@@ -42,8 +106,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
 
         when(transactionConfig.getMaxAttempts()).thenReturn(5);
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
         doNothing().when(processCbmmTransactionUseCase).process(transaction);
         doNothing().when(idempotencyChecker).markAsProcessed(EVENT_ID);
 
@@ -54,19 +117,114 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
         assertEquals(TransactionResult.TransactionStatus.SUCCESS, result.getStatus());
         assertEquals(EVENT_ID, result.getEventId());
 
-        verify(idempotencyChecker).isProcessed(EVENT_ID);
-        verify(idempotencyChecker).tryMarkAsProcessing(EVENT_ID);
+        verify(idempotencyChecker).tryClaim(EVENT_ID);
         verify(processCbmmTransactionUseCase).process(transaction);
         verify(idempotencyChecker).markAsProcessed(EVENT_ID);
         verify(idempotencyChecker, never()).markAsFailed(anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("Should leave the SUCCESS mark to the outbox relay when the outbox is enabled")
+    void testProcessTransactionAsync_OutboxEnabled_ThenSkipMarkAsProcessed() {
+        TransactionData transaction = createTransactionData();
+
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(outboxConfig.getEnabled()).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+
+        TransactionResult result = cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+
+        assertEquals(TransactionResult.TransactionStatus.SUCCESS, result.getStatus());
+        verify(processCbmmTransactionUseCase).process(transaction);
+        verify(idempotencyChecker, never()).markAsProcessed(anyString());
+        verify(idempotencyChecker, never()).markAsFailed(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should mark SUCCESS on the journal ack in IN_MEMORY mode, so a claim expiring during a persister outage cannot apply the event twice")
+    void testProcessTransactionAsync_InMemoryWithOutbox_ThenMarkProcessedOnAck() {
+        TransactionData transaction = createTransactionData();
+        persistenceConfig.setMode(PersistenceConfig.PersistenceMode.IN_MEMORY);
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(outboxConfig.getEnabled()).thenReturn(true);
+        //Postgres is down, so the outbox row never commits; once the claim has expired only a SUCCESS mark blocks a resubmission
+        Set<String> succeeded = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> succeeded.add(invocation.getArgument(0))).when(idempotencyChecker).markAsProcessed(anyString());
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenAnswer(invocation ->
+                succeeded.contains(EVENT_ID) ? ClaimStatus.ALREADY_PROCESSED : ClaimStatus.CLAIMED);
+
+        TransactionResult first = cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+        TransactionResult resubmitted = cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+
+        assertEquals(TransactionResult.TransactionStatus.SUCCESS, first.getStatus());
+        assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSED, resubmitted.getStatus());
+        verify(processCbmmTransactionUseCase, times(1)).process(transaction);
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer the account cache rules out and release its claim")
+    void testProcessTransactionAsync_RejectedByPrecheck() {
+        TransactionData transaction = createTransactionData();
+
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+        doThrow(new InvalidCurrencyException("Currency mismatch for account " + DEST_ACCOUNT_ID))
+                .when(accountPrecheck).verify(transaction);
+
+        TransactionResult result = cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+
+        assertEquals(TransactionResult.TransactionStatus.FAILED, result.getStatus());
+        assertEquals(1.0, meterRegistry.get("cbmm.transactions").tag("status", "FAILED").counter().count());
+        verify(idempotencyChecker).release(EVENT_ID);
+        verify(idempotencyChecker, never()).markAsFailed(anyString(), anyString());
+        verifyNoInteractions(processCbmmTransactionUseCase);
+    }
+
+    @Test
+    @DisplayName("Should answer a replay of a succeeded event as already processed even if its source account is now empty")
+    void testProcessTransactionAsync_ReplayAgainstEmptyAccount_ThenAlreadyProcessed() {
+        TransactionData transaction = createTransactionData();
+
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.ALREADY_PROCESSED);
+        lenient().doThrow(new InsufficientFundsException("Source account has insufficient balance for event " + EVENT_ID))
+                .when(accountPrecheck).verify(transaction);
+
+        TransactionResult result = cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+
+        assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSED, result.getStatus());
+        verify(accountPrecheck, never()).verify(any());
+        verify(idempotencyChecker, never()).release(anyString());
+        verify(idempotencyChecker, never()).markAsFailed(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should route transaction to the source account lane in sharded mode")
+    void testProcessTransactionAsync_ShardedMode() {
+        TransactionData transaction = createTransactionData();
+
+        when(dispatchConfig.getMode()).thenReturn(DispatchConfig.DispatchMode.SHARDED);
+        when(laneDispatcher.submit(eq(SOURCE_ACCOUNT_ID), any())).thenAnswer(invocation -> {
+            Supplier<?> task = invocation.getArgument(1);
+            return CompletableFuture.completedFuture(task.get());
+        });
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+        doNothing().when(processCbmmTransactionUseCase).process(transaction);
+
+        TransactionResult result = cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+
+        assertEquals(TransactionResult.TransactionStatus.SUCCESS, result.getStatus());
+        verify(laneDispatcher).submit(eq(SOURCE_ACCOUNT_ID), any());
+        verify(processCbmmTransactionUseCase).process(transaction);
+        verify(idempotencyChecker).markAsProcessed(EVENT_ID);
+    }
+
     @Test
     @DisplayName("Should skip already processed transaction async")
     void testProcessTransactionAsync_AlreadyProcessed() {
         TransactionData transaction = createTransactionData();
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.ALREADY_PROCESSED);
 
         CompletableFuture<TransactionResult> resultPromise =
                 cbmmTransactionApplicationService.processTransactionAsync(transaction);
@@ -75,8 +233,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
         assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSED, result.getStatus());
         assertEquals(EVENT_ID, result.getEventId());
 
-        verify(idempotencyChecker).isProcessed(EVENT_ID);
-        verify(idempotencyChecker, never()).tryMarkAsProcessing(anyString());
+        verify(idempotencyChecker).tryClaim(EVENT_ID);
         verify(processCbmmTransactionUseCase, never()).process(any());
         verify(idempotencyChecker, never()).markAsProcessed(anyString());
     }
@@ -86,8 +243,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
     void testProcessTransactionAsync_AlreadyProcessing() {
         TransactionData transaction = createTransactionData();
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(false);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.ALREADY_PROCESSING);
 
         CompletableFuture<TransactionResult> resultPromise =
                 cbmmTransactionApplicationService.processTransactionAsync(transaction);
@@ -96,8 +252,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
         assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSING, result.getStatus());
         assertEquals(EVENT_ID, result.getEventId());
 
-        verify(idempotencyChecker).isProcessed(EVENT_ID);
-        verify(idempotencyChecker).tryMarkAsProcessing(EVENT_ID);
+        verify(idempotencyChecker).tryClaim(EVENT_ID);
         verify(processCbmmTransactionUseCase, never()).process(any());
         verify(idempotencyChecker, never()).markAsProcessed(anyString());
     }
@@ -111,8 +266,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
 
         when(transactionConfig.getMaxAttempts()).thenReturn(5);
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
         doThrow(exception).when(processCbmmTransactionUseCase).process(transaction);
         doNothing().when(idempotencyChecker).markAsFailed(EVENT_ID, errorMessage);
 
@@ -136,8 +290,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
 
         when(transactionConfig.getMaxAttempts()).thenReturn(5);
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
         doThrow(exception).
                 doNothing().
                 when(processCbmmTransactionUseCase).process(transaction);
@@ -152,11 +305,122 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
 
         verify(processCbmmTransactionUseCase, times(2)).process(transaction);
 
-        verify(idempotencyChecker).isProcessed(EVENT_ID);
-        verify(idempotencyChecker).tryMarkAsProcessing(EVENT_ID);
+        verify(idempotencyChecker).tryClaim(EVENT_ID);
         verify(idempotencyChecker).markAsProcessed(EVENT_ID);
     }
 
+    @Test
+    @DisplayName("Should record conflicts by attempt, DB stage latency and the outcome")
+    void testGivenOptimisticLockConflict_ThenRecordMetrics() {
+        TransactionData transaction = createTransactionData();
+
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+        doThrow(new OptimisticLockingFailureException("conflict")).
+                doNothing().
+                when(processCbmmTransactionUseCase).process(transaction);
+
+        cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+
+        assertEquals(1.0, meterRegistry.get("cbmm.retry.conflicts").tag("attempt", "1").counter().count());
+        assertEquals(2, meterRegistry.get("cbmm.stage.duration").tag("stage", "db_transaction").timer().count());
+        assertEquals(1, meterRegistry.get("cbmm.retry.backoff").timer().count());
+        assertEquals(1.0, meterRegistry.get("cbmm.transactions").tag("status", "SUCCESS").counter().count());
+        assertEquals(0.0, meterRegistry.get("cbmm.transactions").tag("status", "FAILED").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should hand a conflicted event to the retry timer instead of sleeping on the worker")
+    void testGivenOptimisticLockConflict_ThenRescheduleOnRetryQueue() {
+        TransactionData transaction = createTransactionData();
+        List<Thread> attemptThreads = new CopyOnWriteArrayList<>();
+
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+        doAnswer(invocation -> {
+            attemptThreads.add(Thread.currentThread());
+            if (attemptThreads.size() == 1) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return null;
+        }).when(processCbmmTransactionUseCase).process(transaction);
+
+        TransactionResult result = cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+
+        assertEquals(TransactionResult.TransactionStatus.SUCCESS, result.getStatus());
+        verify(retryScheduler).schedule(anyLong(), eq(cbmmTransactionExecutor), any());
+        assertNotSame(attemptThreads.get(0), attemptThreads.get(1));
+        assertEquals(1.0, meterRegistry.get("cbmm.retry.scheduled").counter().count());
+        assertEquals(1, meterRegistry.get("cbmm.retry.queue.time").timer().count());
+        assertEquals(0, retryScheduler.pendingRetries());
+    }
+
+    @Test
+    @DisplayName("Should free the account lane while a conflicted event waits and retry it on the same lane")
+    void testGivenShardedConflict_ThenRetryOnLaneWithoutHoldingIt() {
+        TransactionData transaction = createTransactionData();
+        ExecutorService lane = Executors.newSingleThreadExecutor();
+        List<String> laneOrder = new CopyOnWriteArrayList<>();
+
+        when(dispatchConfig.getMode()).thenReturn(DispatchConfig.DispatchMode.SHARDED);
+        when(laneDispatcher.lane(SOURCE_ACCOUNT_ID)).thenReturn(lane);
+        when(laneDispatcher.submit(eq(SOURCE_ACCOUNT_ID), any())).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync(invocation.<Supplier<?>>getArgument(1), lane));
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(transactionConfig.getBaseDelayMs()).thenReturn(200L);
+        when(transactionConfig.getMaxDelayMs()).thenReturn(200L);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+        doAnswer(invocation -> {
+            laneOrder.add("attempt");
+            if (laneOrder.size() == 1) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return null;
+        }).when(processCbmmTransactionUseCase).process(transaction);
+
+        try {
+            CompletableFuture<TransactionResult> result = cbmmTransactionApplicationService.processTransactionAsync(transaction);
+            //Queued behind the first attempt: it only runs before the retry if the backoff does not hold the lane
+            lane.submit(() -> laneOrder.add("next event")).get();
+
+            assertEquals(TransactionResult.TransactionStatus.SUCCESS, result.join().getStatus());
+            assertEquals(List.of("attempt", "next event", "attempt"), laneOrder);
+            verify(retryScheduler).schedule(anyLong(), eq(lane), any());
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            lane.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry a conflicted netted chunk from the retry timer instead of sleeping on the caller")
+    void testGivenNettedConflict_ThenRescheduleOnRetryQueue() {
+        List<TransactionData> transactions = List.of(createTransactionData("event1"), createTransactionData("event2"));
+        List<Thread> attemptThreads = new CopyOnWriteArrayList<>();
+
+        when(nettingConfig.getEnabled()).thenReturn(true);
+        when(nettingConfig.getMaxBatchSize()).thenReturn(1000);
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(idempotencyChecker.findProcessed(anySet())).thenReturn(Set.of());
+        when(idempotencyChecker.tryClaim(anyString())).thenReturn(ClaimStatus.CLAIMED);
+        when(nettedBatchUseCase.processNetted(transactions)).thenAnswer(invocation -> {
+            attemptThreads.add(Thread.currentThread());
+            if (attemptThreads.size() == 1) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return List.of(TransactionResult.success("event1"), TransactionResult.success("event2"));
+        });
+
+        List<TransactionResult> results = cbmmTransactionApplicationService.processBatch(transactions);
+
+        assertEquals(List.of(TransactionResult.TransactionStatus.SUCCESS, TransactionResult.TransactionStatus.SUCCESS),
+                results.stream().map(TransactionResult::getStatus).toList());
+        verify(retryScheduler).schedule(anyLong(), any());
+        assertSame(Thread.currentThread(), attemptThreads.get(0));
+        assertNotSame(Thread.currentThread(), attemptThreads.get(1));
+    }
+
     @Test
     @DisplayName("Should handle OptimisticLockException, retry 5 times and failed")
     void testGivenOptimisticLockConflict_ThenRetryMaxTimesAndFailed() {
@@ -170,8 +434,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
         when(transactionConfig.getBaseDelayMs()).thenReturn(10L);
         when(transactionConfig.getBaseDelayMs()).thenReturn(20L);
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
         doThrow(exception).when(processCbmmTransactionUseCase).process(transaction);
         doNothing().when(idempotencyChecker).markAsFailed(EVENT_ID, resultErrorMessage);
 
@@ -184,18 +447,39 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
 
         verify(processCbmmTransactionUseCase, times(5)).process(transaction);
 
-        verify(idempotencyChecker).isProcessed(EVENT_ID);
-        verify(idempotencyChecker).tryMarkAsProcessing(EVENT_ID);
+        verify(idempotencyChecker).tryClaim(EVENT_ID);
         verify(idempotencyChecker).markAsFailed(EVENT_ID, resultErrorMessage);
     }
 
+    @Test
+    @DisplayName("Should apply transaction through group commit and retry when its savepoint conflicts")
+    void testGivenGroupCommitEnabled_ThenSubmitAndRetryOnConflict() {
+        TransactionData transaction = createTransactionData();
+        OptimisticLockingFailureException exception = new OptimisticLockingFailureException("conflict");
+
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(transactionConfig.getBaseDelayMs()).thenReturn(1L);
+        when(groupCommitProcessor.isEnabled()).thenReturn(true);
+        when(groupCommitProcessor.submit(transaction))
+                .thenReturn(CompletableFuture.failedFuture(exception))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+
+        TransactionResult result = cbmmTransactionApplicationService.processTransactionAsync(transaction).join();
+
+        assertEquals(TransactionResult.TransactionStatus.SUCCESS, result.getStatus());
+        verify(groupCommitProcessor, times(2)).submit(transaction);
+        verify(processCbmmTransactionUseCase, never()).process(any());
+        verify(idempotencyChecker).markAsProcessed(EVENT_ID);
+    }
+
     @Test
     @DisplayName("Should process transaction synchronously successfully")
     void testProcessTransaction_Success() {
         TransactionData transaction = createTransactionData();
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
         doNothing().when(processCbmmTransactionUseCase).process(transaction);
         doNothing().when(idempotencyChecker).markAsProcessed(EVENT_ID);
 
@@ -204,8 +488,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
         assertEquals(TransactionResult.TransactionStatus.SUCCESS, result.getStatus());
         assertEquals(EVENT_ID, result.getEventId());
 
-        verify(idempotencyChecker).isProcessed(EVENT_ID);
-        verify(idempotencyChecker).tryMarkAsProcessing(EVENT_ID);
+        verify(idempotencyChecker).tryClaim(EVENT_ID);
         verify(processCbmmTransactionUseCase).process(transaction);
         verify(idempotencyChecker).markAsProcessed(EVENT_ID);
     }
@@ -215,33 +498,62 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
     void testProcessTransaction_AlreadyProcessed() {
         TransactionData transaction = createTransactionData();
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.ALREADY_PROCESSED);
 
         TransactionResult result = cbmmTransactionApplicationService.processTransactionSync(transaction);
 
         assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSED, result.getStatus());
         assertEquals(EVENT_ID, result.getEventId());
 
-        verify(idempotencyChecker).isProcessed(EVENT_ID);
-        verify(idempotencyChecker, never()).tryMarkAsProcessing(anyString());
+        verify(idempotencyChecker).tryClaim(EVENT_ID);
         verify(processCbmmTransactionUseCase, never()).process(any());
     }
 
+    @Test
+    @DisplayName("Should answer a synchronous replay of a succeeded event as already processed even if its source account is now empty")
+    void testProcessTransaction_ReplayAgainstEmptyAccount_ThenAlreadyProcessed() {
+        TransactionData transaction = createTransactionData();
+
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.ALREADY_PROCESSED);
+        lenient().doThrow(new InsufficientFundsException("Source account has insufficient balance for event " + EVENT_ID))
+                .when(accountPrecheck).verify(transaction);
+
+        TransactionResult result = cbmmTransactionApplicationService.processTransactionSync(transaction);
+
+        assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSED, result.getStatus());
+        verify(accountPrecheck, never()).verify(any());
+    }
+
+    @Test
+    @DisplayName("Should release the claim and rethrow when the precheck rejects a synchronous transfer")
+    void testProcessTransaction_RejectedByPrecheck() {
+        TransactionData transaction = createTransactionData();
+
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+        doThrow(new InsufficientFundsException("Source account has insufficient balance for event " + EVENT_ID))
+                .when(accountPrecheck).verify(transaction);
+
+        assertThrows(InsufficientFundsException.class, () ->
+                cbmmTransactionApplicationService.processTransactionSync(transaction));
+
+        verify(idempotencyChecker).release(EVENT_ID);
+        verify(idempotencyChecker, never()).markAsFailed(anyString(), anyString());
+        verifyNoInteractions(processCbmmTransactionUseCase);
+    }
+
     @Test
     @DisplayName("Should handle transaction already being processed synchronously")
     void testProcessTransaction_AlreadyProcessing() {
         TransactionData transaction = createTransactionData();
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(false);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.ALREADY_PROCESSING);
 
         TransactionResult result = cbmmTransactionApplicationService.processTransactionSync(transaction);
 
         assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSING, result.getStatus());
         assertEquals(EVENT_ID, result.getEventId());
 
-        verify(idempotencyChecker).isProcessed(EVENT_ID);
-        verify(idempotencyChecker).tryMarkAsProcessing(EVENT_ID);
+        verify(idempotencyChecker).tryClaim(EVENT_ID);
         verify(processCbmmTransactionUseCase, never()).process(any());
     }
 
@@ -252,8 +564,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
         String errorMessage = "Database connection failed";
         RuntimeException exception = new RuntimeException(errorMessage);
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
         doThrow(exception).when(processCbmmTransactionUseCase).process(transaction);
         doNothing().when(idempotencyChecker).markAsFailed(EVENT_ID, errorMessage);
 
@@ -275,8 +586,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
 
         when(transactionConfig.getMaxAttempts()).thenReturn(5);
 
-        when(idempotencyChecker.isProcessed(anyString())).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(anyString())).thenReturn(true);
+        when(idempotencyChecker.tryClaim(anyString())).thenReturn(ClaimStatus.CLAIMED);
         doNothing().when(processCbmmTransactionUseCase).process(any());
         doNothing().when(idempotencyChecker).markAsProcessed(anyString());
 
@@ -296,6 +606,110 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
         verify(processCbmmTransactionUseCase, times(3)).process(any());
     }
 
+    @Test
+    @DisplayName("Should submit a batch larger than the in-flight budget in waves that never exceed it")
+    void testProcessTransactionsConcurrently_BatchAboveInFlightBudget_ThenSubmitInWaves() {
+        List<TransactionData> transactions = IntStream.rangeClosed(1, 7)
+                .mapToObj(i -> createTransactionData("event" + i))
+                .toList();
+        admissionConfig.setMaxInFlightEvents(3);
+
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(idempotencyChecker.tryClaim(anyString())).thenReturn(ClaimStatus.CLAIMED);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return null;
+        }).when(processCbmmTransactionUseCase).process(any());
+
+        List<TransactionResult> results = cbmmTransactionApplicationService.processBatch(transactions);
+
+        assertEquals(7, results.size());
+        results.forEach(result -> assertEquals(TransactionResult.TransactionStatus.SUCCESS, result.getStatus()));
+        assertTrue(maxRunning.get() <= 3, "at most one wave in flight, got " + maxRunning.get());
+        verify(processCbmmTransactionUseCase, times(7)).process(any());
+    }
+
+    @Test
+    @DisplayName("Should claim fresh events, net them in payload order and mark each outcome")
+    void testProcessBatch_NettingMode() {
+        List<TransactionData> transactions = List.of(
+                createTransactionData("event1"),
+                createTransactionData("event2"),
+                createTransactionData("event3"),
+                createTransactionData("event1")
+        );
+
+        when(nettingConfig.getEnabled()).thenReturn(true);
+        when(nettingConfig.getMaxBatchSize()).thenReturn(1000);
+        when(idempotencyChecker.findProcessed(Set.of("event1", "event2", "event3"))).thenReturn(Set.of("event3"));
+        when(idempotencyChecker.tryClaim(anyString())).thenReturn(ClaimStatus.CLAIMED);
+        when(nettedBatchUseCase.processNetted(List.of(transactions.get(0), transactions.get(1))))
+                .thenReturn(List.of(TransactionResult.success("event1"), TransactionResult.failed("event2", "Insufficient")));
+
+        List<TransactionResult> results = cbmmTransactionApplicationService.processBatch(transactions);
+
+        assertEquals(List.of(TransactionResult.TransactionStatus.SUCCESS,
+                        TransactionResult.TransactionStatus.FAILED,
+                        TransactionResult.TransactionStatus.ALREADY_PROCESSED,
+                        TransactionResult.TransactionStatus.ALREADY_PROCESSED),
+                results.stream().map(TransactionResult::getStatus).toList());
+        verify(idempotencyChecker).markAsProcessed("event1");
+        verify(idempotencyChecker).markAsFailed("event2", "Insufficient");
+        verify(idempotencyChecker, times(2)).tryClaim(anyString());
+        verifyNoInteractions(processCbmmTransactionUseCase, accountPrecheck);
+    }
+
+    @Test
+    @DisplayName("Should answer prefetched and duplicated events without dispatching them")
+    void testProcessTransactionsConcurrently_PrefetchAndDedupe() {
+        List<TransactionData> transactions = List.of(
+                createTransactionData("event1"),
+                createTransactionData("event2"),
+                createTransactionData("event1"),
+                createTransactionData("event2")
+        );
+
+        when(transactionConfig.getMaxAttempts()).thenReturn(5);
+        when(idempotencyChecker.findProcessed(Set.of("event1", "event2"))).thenReturn(Set.of("event2"));
+        when(idempotencyChecker.tryClaim("event1")).thenReturn(ClaimStatus.CLAIMED);
+
+        List<TransactionResult> results = cbmmTransactionApplicationService.waitForAllTransactions(
+                cbmmTransactionApplicationService.processTransactionsConcurrently(transactions));
+
+        assertEquals(4, results.size());
+        assertEquals(TransactionResult.TransactionStatus.SUCCESS, results.get(0).getStatus());
+        assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSED, results.get(1).getStatus());
+        assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSED, results.get(2).getStatus());
+        assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSED, results.get(3).getStatus());
+
+        verify(idempotencyChecker, times(1)).findProcessed(any());
+        verify(idempotencyChecker, times(1)).tryClaim(anyString());
+        verify(processCbmmTransactionUseCase, times(1)).process(any());
+    }
+
+    @Test
+    @DisplayName("Should report the same failure for a duplicated event whose first occurrence failed")
+    void testProcessTransactionsConcurrently_DuplicateOfFailedEvent() {
+        List<TransactionData> transactions = List.of(
+                createTransactionData("event1"),
+                createTransactionData("event1")
+        );
+
+        when(idempotencyChecker.tryClaim("event1")).thenReturn(ClaimStatus.ALREADY_PROCESSING);
+
+        List<TransactionResult> results = cbmmTransactionApplicationService.waitForAllTransactions(
+                cbmmTransactionApplicationService.processTransactionsConcurrently(transactions));
+
+        assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSING, results.get(0).getStatus());
+        assertEquals(TransactionResult.TransactionStatus.ALREADY_PROCESSING, results.get(1).getStatus());
+        verify(idempotencyChecker, times(1)).tryClaim("event1");
+    }
+
     @Test
     @DisplayName("Should handle empty transaction list")
     void testProcessTransactionsConcurrently_EmptyList() {
@@ -315,8 +729,7 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
 
         when(transactionConfig.getMaxAttempts()).thenReturn(5);
 
-        when(idempotencyChecker.isProcessed(EVENT_ID)).thenReturn(false);
-        when(idempotencyChecker.tryMarkAsProcessing(EVENT_ID)).thenReturn(true);
+        when(idempotencyChecker.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
         doNothing().when(processCbmmTransactionUseCase).process(any());
         doNothing().when(idempotencyChecker).markAsProcessed(EVENT_ID);
 
@@ -373,4 +786,10 @@ public class CbmmTransactionApplicationServiceTest extends MockFactoryTest {
 
         assertTrue(results.isEmpty());
     }
+
+    private static AdmissionConfig admissionConfig(int maxInFlightEvents) {
+        AdmissionConfig config = new AdmissionConfig();
+        config.setMaxInFlightEvents(maxInFlightEvents);
+        return config;
+    }
 }
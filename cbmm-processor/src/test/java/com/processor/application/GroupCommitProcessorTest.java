@@ -0,0 +1,173 @@
+package com.processor.application;
+
+import com.processor.MockFactoryTest;
+import com.processor.application.service.GroupCommitProcessor;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.ports.in.ProcessCbmmTransactionUseCase;
+import com.processor.infrastructure.config.GroupCommitConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.jdbc.ReturningWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Savepoint;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class GroupCommitProcessorTest extends MockFactoryTest {
+    @Mock
+    private ProcessCbmmTransactionUseCase useCase;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private Session session;
+    @Mock
+    private Transaction hibernateTransaction;
+    @Mock
+    private Savepoint savepoint;
+
+    private GroupCommitProcessor groupCommitProcessor;
+
+    @BeforeEach
+    void setUp() {
+        GroupCommitConfig groupCommitConfig = new GroupCommitConfig();
+        groupCommitConfig.setEnabled(true);
+        groupCommitConfig.setMaxBatchSize(10);
+        groupCommitConfig.setLingerMs(50L);
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.doReturningWork(ArgumentMatchers.<ReturningWork<Savepoint>>any())).thenReturn(savepoint);
+        when(session.getTransaction()).thenReturn(hibernateTransaction);
+
+        groupCommitProcessor = new GroupCommitProcessor(groupCommitConfig, useCase, entityManager, transactionManager);
+        groupCommitProcessor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        groupCommitProcessor.stop();
+    }
+
+    @Test
+    @DisplayName("Should complete every future once the group is committed")
+    void testGivenValidEvents_ThenCompleteAllOnCommit() {
+        CompletableFuture<Void> first = groupCommitProcessor.submit(createTransactionData("event1"));
+        CompletableFuture<Void> second = groupCommitProcessor.submit(createTransactionData("event2"));
+
+        assertDoesNotThrow(first::join);
+        assertDoesNotThrow(second::join);
+
+        verify(useCase, times(2)).processWithinTransaction(any());
+        verify(useCase, never()).process(any());
+        verify(transactionManager, atLeastOnce()).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should fail only the rejected event and roll it back to its savepoint")
+    void testGivenBusinessFailure_ThenOnlyFailThatEvent() {
+        TransactionData rejected = createTransactionData("event2");
+        InsufficientFundsException exception = new InsufficientFundsException("Insufficient balance");
+        doThrow(exception).when(useCase).processWithinTransaction(rejected);
+
+        CompletableFuture<Void> first = groupCommitProcessor.submit(createTransactionData("event1"));
+        CompletableFuture<Void> second = groupCommitProcessor.submit(rejected);
+        CompletableFuture<Void> third = groupCommitProcessor.submit(createTransactionData("event3"));
+
+        assertDoesNotThrow(first::join);
+        CompletionException failure = assertThrows(CompletionException.class, second::join);
+        assertSame(exception, failure.getCause());
+        assertDoesNotThrow(third::join);
+
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Should drop the after-commit publishes of an event rolled back to its savepoint")
+    void testGivenBusinessFailureAfterSave_ThenOnlyPublishAppliedEvents() {
+        //Minimal synchronization lifecycle of a real transaction manager on the flusher thread
+        doAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            return new SimpleTransactionStatus();
+        }).when(transactionManager).getTransaction(any());
+        doAnswer(invocation -> {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            return null;
+        }).when(transactionManager).commit(any());
+
+        List<String> published = new CopyOnWriteArrayList<>();
+        TransactionData rejected = createTransactionData("event2");
+        doAnswer(invocation -> {
+            TransactionData transaction = invocation.getArgument(0);
+            //What the account repository does on save
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    published.add(transaction.getEventId());
+                }
+            });
+            if (transaction == rejected) {
+                throw new DataIntegrityViolationException("duplicate key value violates \"outbox_events_pkey\"");
+            }
+            return null;
+        }).when(useCase).processWithinTransaction(any());
+
+        CompletableFuture<Void> first = groupCommitProcessor.submit(createTransactionData("event1"));
+        CompletableFuture<Void> second = groupCommitProcessor.submit(rejected);
+        CompletableFuture<Void> third = groupCommitProcessor.submit(createTransactionData("event3"));
+
+        assertDoesNotThrow(first::join);
+        assertThrows(CompletionException.class, second::join);
+        assertDoesNotThrow(third::join);
+        assertEquals(List.of("event1", "event3"), published);
+    }
+
+    @Test
+    @DisplayName("Should replay the neighbours in a new transaction when a failed flush poisons the session")
+    void testGivenRollbackOnlySession_ThenReplayNeighbours() {
+        TransactionData conflicting = createTransactionData("event2");
+        OptimisticLockException exception = new OptimisticLockException("Row was updated by another transaction");
+        doThrow(exception).when(useCase).processWithinTransaction(conflicting);
+        when(hibernateTransaction.getRollbackOnly()).thenReturn(true, false);
+
+        CompletableFuture<Void> first = groupCommitProcessor.submit(createTransactionData("event1"));
+        CompletableFuture<Void> second = groupCommitProcessor.submit(conflicting);
+        CompletableFuture<Void> third = groupCommitProcessor.submit(createTransactionData("event3"));
+
+        assertDoesNotThrow(first::join);
+        CompletionException failure = assertThrows(CompletionException.class, second::join);
+        assertSame(exception, failure.getCause());
+        assertDoesNotThrow(third::join);
+
+        verify(useCase, times(1)).processWithinTransaction(conflicting);
+    }
+}
@@ -0,0 +1,231 @@
+package com.processor.application;
+
+import com.processor.MockFactoryTest;
+import com.processor.application.service.InMemoryLedgerEngine;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
+import com.processor.core.domain.exception.TransactionProcessingException;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.core.domain.value_object.JournalEntry;
+import com.processor.core.ports.out.LedgerJournal;
+import com.processor.core.ports.out.LedgerStore;
+import com.processor.infrastructure.config.InMemoryLedgerConfig;
+import com.processor.infrastructure.config.NettingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryLedgerEngineTest extends MockFactoryTest {
+    @Mock
+    private LedgerStore ledgerStore;
+
+    private final RecordingJournal ledgerJournal = new RecordingJournal();
+    private final NettingConfig nettingConfig = new NettingConfig();
+    private InMemoryLedgerEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryLedgerConfig inMemoryLedgerConfig = new InMemoryLedgerConfig();
+        inMemoryLedgerConfig.setRingSize(16);
+        inMemoryLedgerConfig.setMaxBatchSize(8);
+        inMemoryLedgerConfig.setFlushIntervalMs(10L);
+        inMemoryLedgerConfig.setFlushBatchSize(100);
+        inMemoryLedgerConfig.setAckTimeoutMs(200L);
+        nettingConfig.setEnabled(false);
+
+        engine = new InMemoryLedgerEngine(inMemoryLedgerConfig, nettingConfig, ledgerJournal, ledgerStore,
+                new SimpleMeterRegistry());
+        lenient().when(ledgerStore.loadAccounts()).thenReturn(List.of(
+                new AccountSnapshot(SOURCE_ACCOUNT_ID, SOURCE_VALID_CURRENCY, INITIAL_SOURCE_BALANCE, 1L),
+                new AccountSnapshot(DEST_ACCOUNT_ID, DEST_VALID_CURRENCY, INITIAL_DEST_BALANCE, 1L)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("Should journal an accepted transfer before acknowledging it and write it to Postgres afterwards")
+    void testGivenValidTransfer_ThenJournalThenPersist() {
+        engine.start();
+
+        engine.process(createTransactionData());
+
+        JournalEntry entry = ledgerJournal.entries.getFirst();
+        assertEquals(1L, entry.getSequence());
+        assertEquals(EVENT_ID, entry.getEventId());
+        assertThat(entry.getSourceBalanceAfter()).isEqualByComparingTo("70.00");
+        assertThat(entry.getDestinationBalanceAfter()).isEqualByComparingTo("80.00");
+        verify(ledgerStore, timeout(2000)).persist(List.of(entry));
+        assertEquals(1L, ledgerJournal.truncatedThrough);
+    }
+
+    @Test
+    @DisplayName("Should reject with the same messages as the entity use case and journal nothing")
+    void testGivenInvalidTransfers_ThenRejectWithoutJournaling() {
+        engine.start();
+
+        InsufficientFundsException funds = assertThrows(InsufficientFundsException.class, () ->
+                engine.process(createTransactionData(SOURCE_ACCOUNT_ID, DEST_ACCOUNT_ID, SOURCE_VALID_CURRENCY,
+                        DEST_VALID_CURRENCY, new BigDecimal("100.01"), TRANSFER_AMOUNT)));
+        InvalidCurrencyException currency = assertThrows(InvalidCurrencyException.class, () ->
+                engine.process(createTransactionData(SOURCE_ACCOUNT_ID, DEST_ACCOUNT_ID, DEST_VALID_CURRENCY,
+                        DEST_VALID_CURRENCY, TRANSFER_AMOUNT, TRANSFER_AMOUNT)));
+
+        assertEquals("Source account has insufficient balance for event " + EVENT_ID, funds.getMessage());
+        assertEquals("Currency mismatch for account " + SOURCE_ACCOUNT_ID + ". Expected: " + SOURCE_VALID_CURRENCY +
+                ", Got: " + DEST_VALID_CURRENCY, currency.getMessage());
+        assertTrue(ledgerJournal.entries.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rebuild balances from Postgres plus the journal entries past the checkpoint")
+    void testGivenJournalPastCheckpoint_ThenReplayAndContinueSequence() {
+        ledgerJournal.entries.add(entry(4, "60.00", "90.00"));
+        ledgerJournal.entries.add(entry(5, "40.00", "110.00"));
+        ledgerJournal.entries.add(entry(6, "20.00", "130.00"));
+        when(ledgerStore.lastPersistedSequence()).thenReturn(4L);
+
+        engine.start();
+        verify(ledgerStore, timeout(2000)).persist(List.of(entry(5, "40.00", "110.00"), entry(6, "20.00", "130.00")));
+
+        //20.00 left after replay, so a 30.00 debit must fail and a 20.00 one must take sequence 7
+        assertThrows(InsufficientFundsException.class, () -> engine.process(createTransactionData("evt-over")));
+        engine.process(createTransactionData(SOURCE_ACCOUNT_ID, DEST_ACCOUNT_ID, SOURCE_VALID_CURRENCY,
+                DEST_VALID_CURRENCY, new BigDecimal("20.00"), new BigDecimal("20.00")));
+        assertEquals(7L, ledgerJournal.entries.getLast().getSequence());
+    }
+
+    @Test
+    @DisplayName("Should stop acknowledging transfers once a journal append has failed")
+    void testGivenJournalFailure_ThenRefuseFurtherTransfers() {
+        engine.start();
+        ledgerJournal.failing = true;
+
+        assertThrows(TransactionProcessingException.class, () -> engine.process(createTransactionData("evt1")));
+        ledgerJournal.failing = false;
+        TransactionProcessingException refused = assertThrows(TransactionProcessingException.class,
+                () -> engine.process(createTransactionData("evt2")));
+
+        assertEquals("In-memory ledger stopped after a journal failure", refused.getMessage());
+        verify(ledgerStore, never()).persist(anyList());
+    }
+
+    @Test
+    @DisplayName("Should fund a debit with a credit sequenced just before it, before either reaches Postgres")
+    void testGivenCreditThenDebitWithinOneFlush_ThenDebitUsesTheBookBalance() {
+        engine.start();
+
+        //Postgres still says 50.00 for the destination account; the book already has 80.00
+        engine.process(createTransactionData());
+        engine.process(createTransactionData(DEST_ACCOUNT_ID, SOURCE_ACCOUNT_ID, DEST_VALID_CURRENCY,
+                SOURCE_VALID_CURRENCY, new BigDecimal("70.00"), new BigDecimal("70.00")));
+
+        assertThat(ledgerJournal.entries.getLast().getSourceBalanceAfter()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    @DisplayName("Should fail only the transfer that breaks unexpectedly and keep the sequencer running")
+    void testGivenUnexpectedFailure_ThenFailThatTransferAndKeepSequencing() {
+        when(ledgerStore.loadAccount("ACC404")).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        engine.start();
+
+        TransactionProcessingException overPrecise = assertThrows(TransactionProcessingException.class, () ->
+                engine.process(createTransactionData(SOURCE_ACCOUNT_ID, DEST_ACCOUNT_ID, SOURCE_VALID_CURRENCY,
+                        DEST_VALID_CURRENCY, new BigDecimal("1.00001"), new BigDecimal("1.00001"))));
+        TransactionProcessingException unloadable = assertThrows(TransactionProcessingException.class, () ->
+                engine.process(createTransactionData(SOURCE_ACCOUNT_ID, "ACC404", SOURCE_VALID_CURRENCY,
+                        DEST_VALID_CURRENCY, TRANSFER_AMOUNT, TRANSFER_AMOUNT)));
+        engine.process(createTransactionData());
+
+        assertInstanceOf(IllegalArgumentException.class, overPrecise.getCause());
+        assertEquals("Could not load account ACC404", unloadable.getMessage());
+        //The failed transfers left the book untouched: the good one debits from the initial balance
+        assertThat(ledgerJournal.entries.getLast().getSourceBalanceAfter()).isEqualByComparingTo("70.00");
+        assertEquals(1, ledgerJournal.entries.size());
+    }
+
+    @Test
+    @DisplayName("Should withdraw a transfer the sequencer never took once the acknowledgement times out")
+    void testGivenNoSequencer_ThenTimeOutInsteadOfBlocking() {
+        TransactionProcessingException timedOut = assertThrows(TransactionProcessingException.class,
+                () -> engine.process(createTransactionData()));
+
+        assertEquals("In-memory ledger did not sequence the transfer in time", timedOut.getMessage());
+        assertTrue(ledgerJournal.entries.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse to start next to netting, which writes balances straight to Postgres")
+    void testGivenNettingEnabled_ThenFailStartup() {
+        nettingConfig.setEnabled(true);
+
+        assertThrows(IllegalStateException.class, () -> engine.start());
+        verify(ledgerStore, never()).loadAccount(anyString());
+    }
+
+    private static JournalEntry entry(long sequence, String sourceBalance, String destinationBalance) {
+        return JournalEntry.builder()
+                .sequence(sequence)
+                .eventId("evt" + sequence)
+                .operationDate(LocalDateTime.of(2026, 10, 17, 10, 0))
+                .processedAt(LocalDateTime.of(2026, 10, 17, 10, 0))
+                .debitId(new UUID(0, sequence))
+                .sourceAccountId(SOURCE_ACCOUNT_ID)
+                .sourceCurrency(SOURCE_VALID_CURRENCY)
+                .sourceAmount(new BigDecimal("20.00"))
+                .sourceBalanceAfter(new BigDecimal(sourceBalance))
+                .creditId(new UUID(1, sequence))
+                .destinationAccountId(DEST_ACCOUNT_ID)
+                .destinationCurrency(DEST_VALID_CURRENCY)
+                .destinationAmount(new BigDecimal("20.00"))
+                .destinationBalanceAfter(new BigDecimal(destinationBalance))
+                .build();
+    }
+
+    private static final class RecordingJournal implements LedgerJournal {
+        private final List<JournalEntry> entries = new ArrayList<>();
+        private volatile boolean failing;
+        private volatile long truncatedThrough;
+
+        @Override
+        public synchronized void append(List<JournalEntry> appended) {
+            if (failing) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+            entries.addAll(appended);
+        }
+
+        @Override
+        public synchronized void replay(long afterSequence, Consumer<JournalEntry> consumer) {
+            entries.stream().filter(entry -> entry.getSequence() > afterSequence).forEach(consumer);
+        }
+
+        @Override
+        public void truncate(long throughSequence) {
+            truncatedThrough = throughSequence;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.processor.application;
+
+import com.processor.application.service.OutboxRelay;
+import com.processor.core.ports.out.IdempotencyChecker;
+import com.processor.core.ports.out.OutboxRepository;
+import com.processor.infrastructure.config.OutboxConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+    @Mock
+    private OutboxRepository outboxRepository;
+    @Mock
+    private IdempotencyChecker idempotencyChecker;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxConfig outboxConfig = new OutboxConfig();
+        outboxConfig.setEnabled(true);
+        outboxConfig.setBatchSize(2);
+        outboxConfig.setPollIntervalMs(50L);
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        outboxRelay = new OutboxRelay(outboxConfig, outboxRepository, idempotencyChecker, transactionManager,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should finalize full batches back to back until the outbox is drained")
+    void testGivenBacklog_ThenDrainInBatches() {
+        when(outboxRepository.lockPending(2))
+                .thenReturn(List.of("e1", "e2"))
+                .thenReturn(List.of("e3"));
+
+        outboxRelay.relay();
+
+        verify(idempotencyChecker).markAllAsProcessed(List.of("e1", "e2"));
+        verify(idempotencyChecker).markAllAsProcessed(List.of("e3"));
+        verify(outboxRepository).delete(List.of("e1", "e2"));
+        verify(outboxRepository).delete(List.of("e3"));
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3.0, meterRegistry.get("cbmm.outbox.relayed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep the rows pending and roll back when Redis cannot be finalized")
+    void testGivenRedisFailure_ThenKeepRowsPending() {
+        when(outboxRepository.lockPending(2)).thenReturn(List.of("e1"));
+        doThrow(new RedisConnectionFailureException("Connection refused"))
+                .when(idempotencyChecker).markAllAsProcessed(List.of("e1"));
+
+        outboxRelay.relay();
+
+        verify(outboxRepository, never()).delete(any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.get("cbmm.outbox.failures").counter().count());
+        assertEquals(0.0, meterRegistry.get("cbmm.outbox.relayed").counter().count());
+    }
+}
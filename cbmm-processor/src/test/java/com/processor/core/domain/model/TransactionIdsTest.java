@@ -0,0 +1,45 @@
+package com.processor.core.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionIdsTest {
+
+    @Test
+    @DisplayName("Should lay out ids as RFC 9562 version 7 with the generation millisecond in front")
+    void testGivenNewId_ThenVersion7WithTimestamp() {
+        long millis = System.currentTimeMillis() + 60_000;
+
+        UUID id = TransactionIds.next(millis);
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(millis, TransactionIds.epochMillis(id));
+        assertEquals(id, UUID.fromString(id.toString()));
+    }
+
+    @Test
+    @DisplayName("Should keep ids strictly increasing within a millisecond and when the clock goes back")
+    void testGivenSameOrEarlierMillis_ThenStrictlyIncreasing() {
+        long millis = System.currentTimeMillis() + 120_000;
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ids.add(TransactionIds.next(millis));
+        }
+        ids.add(TransactionIds.next(millis - 1_000));
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "id " + i);
+            //Postgres orders uuid bytewise, which is what the lowercase text order gives
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0, "id " + i);
+        }
+        //Past 4096 ids in one millisecond the counter carries into the next one
+        assertEquals(millis + 1, TransactionIds.epochMillis(ids.getLast()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.processor.core.domain.value_object;
+
+import com.processor.core.domain.model.MoneyConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+    private final MoneyConverter converter = new MoneyConverter();
+
+    @Test
+    @DisplayName("Should map to and from the DECIMAL(19,4) column exactly")
+    void testGivenColumnValues_ThenRoundTripExactly() {
+        for (String amount : new String[]{"0", "125.5", "0.0001", "-30.00", "922337203685477.5807", "1E+3"}) {
+            Money money = Money.of(new BigDecimal(amount));
+            BigDecimal column = converter.convertToDatabaseColumn(money);
+
+            assertEquals(Money.SCALE, column.scale());
+            assertEquals(0, column.compareTo(new BigDecimal(amount)), amount);
+            assertEquals(money, converter.convertToEntityAttribute(column));
+        }
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    @DisplayName("Should reject amounts that would need rounding or do not fit the column")
+    void testGivenAmountOutsideColumn_ThenReject() {
+        assertEquals(Money.ofUnits(12_000), Money.of(new BigDecimal("1.20000")));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("0.00001")));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("922337203685477.5808")));
+    }
+
+    @Test
+    @DisplayName("Should fail instead of wrapping when arithmetic overflows")
+    void testGivenOverflowingArithmetic_ThenThrow() {
+        Money max = Money.ofUnits(Long.MAX_VALUE);
+
+        assertEquals(Money.of(new BigDecimal("95.50")), Money.of(new BigDecimal("125.50")).minus(Money.of(new BigDecimal("30"))));
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofUnits(1)));
+        assertThrows(ArithmeticException.class, () -> max.negate().minus(Money.ofUnits(2)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.processor.core.use_case;
+
+import com.processor.MockFactoryTest;
+import com.processor.core.domain.exception.AccountNotFoundException;
+import com.processor.core.domain.exception.InsufficientFundsException;
+import com.processor.core.domain.exception.InvalidCurrencyException;
+import com.processor.core.domain.value_object.AppliedTransfer;
+import com.processor.core.domain.value_object.Money;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.ports.out.AccountRepository;
+import com.processor.core.ports.out.OutboxRepository;
+import com.processor.core.ports.out.TransferRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.Optional;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalUpdateTransactionUseCaseImplTest extends MockFactoryTest {
+    @Mock
+    private TransferRepository transferRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @InjectMocks
+    private ConditionalUpdateTransactionUseCaseImpl conditionalUpdateTransactionUseCase;
+
+    @Test
+    @DisplayName("Should apply the transfer in one statement without loading the accounts")
+    void testGivenValidTransaction_ThenApplyWithoutReads() {
+        TransactionData transaction = createTransactionData();
+        Money amount = Money.of(TRANSFER_AMOUNT);
+        when(transferRepository.applyTransfer(eq(transaction), eq(amount), eq(amount), any(UUID.class), any(UUID.class)))
+                .thenReturn(Optional.of(new AppliedTransfer(
+                        Money.of(INITIAL_SOURCE_BALANCE).minus(amount), Money.of(INITIAL_DEST_BALANCE).plus(amount))));
+
+        conditionalUpdateTransactionUseCase.process(transaction);
+
+        verify(transferRepository).applyTransfer(eq(transaction), eq(amount), eq(amount), any(UUID.class), any(UUID.class));
+        verify(outboxRepository).append(List.of(EVENT_ID));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw InsufficientFundsException when the debit guard rejects the transfer")
+    void testGivenInsufficientBalance_ThenThrowException() {
+        TransactionData transaction = createTransactionData();
+        when(transferRepository.applyTransfer(any(), any(Money.class), any(Money.class), any(UUID.class), any(UUID.class)))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findById(SOURCE_ACCOUNT_ID))
+                .thenReturn(Optional.of(createAccount(SOURCE_ACCOUNT_ID, new BigDecimal("10.00"), SOURCE_VALID_CURRENCY)));
+        when(accountRepository.findById(DEST_ACCOUNT_ID))
+                .thenReturn(Optional.of(createAccount(DEST_ACCOUNT_ID, INITIAL_DEST_BALANCE, DEST_VALID_CURRENCY)));
+
+        assertThatThrownBy(() -> conditionalUpdateTransactionUseCase.process(transaction))
+                .isInstanceOf(InsufficientFundsException.class)
+                .hasMessageContaining("Source account has insufficient balance for event " + EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidCurrencyException when the destination currency does not match")
+    void testGivenDestinationCurrencyMismatch_ThenThrowException() {
+        TransactionData transaction = createTransactionData();
+        when(transferRepository.applyTransfer(any(), any(Money.class), any(Money.class), any(UUID.class), any(UUID.class)))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findById(SOURCE_ACCOUNT_ID))
+                .thenReturn(Optional.of(createAccount(SOURCE_ACCOUNT_ID, INITIAL_SOURCE_BALANCE, SOURCE_VALID_CURRENCY)));
+        when(accountRepository.findById(DEST_ACCOUNT_ID))
+                .thenReturn(Optional.of(createAccount(DEST_ACCOUNT_ID, INITIAL_DEST_BALANCE, "GBP")));
+
+        assertThatThrownBy(() -> conditionalUpdateTransactionUseCase.process(transaction))
+                .isInstanceOf(InvalidCurrencyException.class)
+                .hasMessageContaining("Currency mismatch for account " + DEST_ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException when an account does not exist")
+    void testGivenMissingAccount_ThenThrowException() {
+        TransactionData transaction = createTransactionData();
+        when(transferRepository.applyTransfer(any(), any(Money.class), any(Money.class), any(UUID.class), any(UUID.class)))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findById(SOURCE_ACCOUNT_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> conditionalUpdateTransactionUseCase.process(transaction))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Account not found: " + SOURCE_ACCOUNT_ID);
+    }
+
+    @Test
+    @DisplayName("Should reject an amount with more than four decimals before issuing the statement")
+    void testGivenOverPreciseAmount_ThenRejectWithoutStatement() {
+        TransactionData transaction = createTransactionData();
+        transaction.getSourceAccount().setAmount(new BigDecimal("30.00001"));
+
+        assertThatThrownBy(() -> conditionalUpdateTransactionUseCase.process(transaction))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not fit 4 decimal places");
+        verifyNoInteractions(transferRepository, outboxRepository);
+    }
+}
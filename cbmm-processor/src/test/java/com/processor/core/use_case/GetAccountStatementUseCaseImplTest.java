@@ -0,0 +1,90 @@
+package com.processor.core.use_case;
+
+import com.processor.MockFactoryTest;
+import com.processor.core.domain.enums.TransactionType;
+import com.processor.core.domain.value_object.StatementCursor;
+import com.processor.core.domain.value_object.StatementEntry;
+import com.processor.core.domain.value_object.StatementPage;
+import com.processor.core.ports.out.StatementRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetAccountStatementUseCaseImplTest extends MockFactoryTest {
+    private static final LocalDateTime NEWEST = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    @Mock
+    private StatementRepository statementRepository;
+
+    @InjectMocks
+    private GetAccountStatementUseCaseImpl getAccountStatementUseCase;
+
+    @Test
+    @DisplayName("Should return a cursor at the last entry when one more row exists")
+    void testGivenMoreRowsThanPage_ThenReturnNextCursor() {
+        when(statementRepository.findStatement(SOURCE_ACCOUNT_ID, null, 3)).thenReturn(entries(3));
+
+        StatementPage page = getAccountStatementUseCase.getStatement(SOURCE_ACCOUNT_ID, null, 2);
+
+        assertEquals(List.of(transactionId(0), transactionId(1)), page.getEntries().stream().map(StatementEntry::getTransactionId).toList());
+        assertEquals(new StatementCursor(NEWEST.minusMinutes(1), transactionId(1)), page.getNext());
+    }
+
+    @Test
+    @DisplayName("Should pass the cursor through and close the statement on a short page")
+    void testGivenCursorAndLastPage_ThenNoNextCursor() {
+        StatementCursor cursor = new StatementCursor(NEWEST, transactionId(9));
+        when(statementRepository.findStatement(SOURCE_ACCOUNT_ID, cursor, 3)).thenReturn(entries(1));
+
+        StatementPage page = getAccountStatementUseCase.getStatement(SOURCE_ACCOUNT_ID, cursor, 2);
+
+        assertEquals(1, page.getEntries().size());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    @DisplayName("Should clamp the page size to the supported range")
+    void testGivenOutOfRangePageSize_ThenClamp() {
+        when(statementRepository.findStatement(eq(SOURCE_ACCOUNT_ID), isNull(), anyInt())).thenReturn(List.of());
+
+        getAccountStatementUseCase.getStatement(SOURCE_ACCOUNT_ID, null, 100_000);
+        getAccountStatementUseCase.getStatement(SOURCE_ACCOUNT_ID, null, 0);
+
+        verify(statementRepository).findStatement(SOURCE_ACCOUNT_ID, null, GetAccountStatementUseCaseImpl.MAX_PAGE_SIZE + 1);
+        verify(statementRepository).findStatement(SOURCE_ACCOUNT_ID, null, 2);
+    }
+
+    private List<StatementEntry> entries(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> StatementEntry.builder()
+                        .transactionId(transactionId(i))
+                        .eventId("evt" + i)
+                        .type(TransactionType.DEBIT)
+                        .amount(TRANSFER_AMOUNT)
+                        .currency(SOURCE_VALID_CURRENCY)
+                        .balanceAfter(INITIAL_SOURCE_BALANCE)
+                        .operationDate(NEWEST.minusMinutes(i))
+                        .build())
+                .toList();
+    }
+
+    private static UUID transactionId(int i) {
+        return new UUID(0, i);
+    }
+}
@@ -0,0 +1,195 @@
+package com.processor.core.use_case;
+
+import com.processor.core.domain.value_object.Money;
+import com.processor.MockFactoryTest;
+import com.processor.core.domain.enums.TransactionType;
+import com.processor.core.domain.model.Account;
+import com.processor.core.domain.model.Transaction;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransactionResult;
+import com.processor.core.domain.value_object.TransferAccount;
+import com.processor.core.ports.out.AccountRepository;
+import com.processor.core.ports.out.OutboxRepository;
+import com.processor.core.ports.out.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NettingBatchUseCaseImplTest extends MockFactoryTest {
+    private static final String PAYROLL_ACCOUNT = "ACC000";
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Test
+    @DisplayName("Should produce the same balances, ledger rows and failures as sequential processing")
+    void testGivenPayrollBatch_ThenMatchSequentialProcessing() {
+        List<TransactionData> batch = List.of(
+                transfer("evt1", PAYROLL_ACCOUNT, "ACC001", "30.00"),
+                transfer("evt2", PAYROLL_ACCOUNT, "ACC002", "30.00"),
+                transfer("evt3", "ACC003", PAYROLL_ACCOUNT, "15.00"),
+                transfer("evt4", PAYROLL_ACCOUNT, "ACC001", "50.00"),
+                transfer("evt5", PAYROLL_ACCOUNT, "ACC004", "10.00"),
+                transfer("evt6", PAYROLL_ACCOUNT, PAYROLL_ACCOUNT, "20.00"),
+                transfer("evt7", PAYROLL_ACCOUNT, "MISSING", "1.00"));
+
+        Ledger sequential = new Ledger();
+        ProcessCbmmTransactionUseCaseImpl sequentialUseCase = new ProcessCbmmTransactionUseCaseImpl(
+                sequential.accountRepository(), sequential.transactionRepository(), entityManager,
+                mock(OutboxRepository.class));
+        List<TransactionResult.TransactionStatus> sequentialStatuses = new ArrayList<>();
+        for (TransactionData transaction : batch) {
+            try {
+                sequentialUseCase.process(transaction);
+                sequentialStatuses.add(TransactionResult.TransactionStatus.SUCCESS);
+            } catch (RuntimeException e) {
+                sequentialStatuses.add(TransactionResult.TransactionStatus.FAILED);
+            }
+        }
+
+        Ledger netted = new Ledger();
+        List<TransactionResult> results = new NettingBatchUseCaseImpl(
+                netted.accountRepository(), netted.transactionRepository(), entityManager, outboxRepository).processNetted(batch);
+
+        assertEquals(sequentialStatuses, results.stream().map(TransactionResult::getStatus).toList());
+        assertThat(netted.balances()).isEqualTo(sequential.balances());
+        assertThat(netted.balancesAfter()).isEqualTo(sequential.balancesAfter());
+        assertEquals(1, netted.saves.get(PAYROLL_ACCOUNT));
+        verify(outboxRepository).append(batch.stream()
+                .filter(tx -> sequentialStatuses.get(batch.indexOf(tx)) == TransactionResult.TransactionStatus.SUCCESS)
+                .map(TransactionData::getEventId)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should let an earlier credit in the batch fund a later debit")
+    void testGivenCreditBeforeDebit_ThenDebitSucceeds() {
+        Ledger netted = new Ledger();
+        netted.accounts.put("EMPTY", account("EMPTY", "0.00", SOURCE_VALID_CURRENCY));
+
+        List<TransactionResult> results = new NettingBatchUseCaseImpl(
+                netted.accountRepository(), netted.transactionRepository(), entityManager, outboxRepository).processNetted(List.of(
+                transfer("evt1", PAYROLL_ACCOUNT, "EMPTY", "40.00"),
+                transfer("evt2", "EMPTY", "ACC001", "25.00")));
+
+        assertEquals(TransactionResult.TransactionStatus.SUCCESS, results.get(1).getStatus());
+        assertThat(netted.accounts.get("EMPTY").getBalance().toBigDecimal()).isEqualByComparingTo("15.00");
+    }
+
+    @Test
+    @DisplayName("Should fail a currency mismatch with the per-event message and skip its ledger rows")
+    void testGivenCurrencyMismatch_ThenFailOnlyThatEvent() {
+        when(accountRepository.findById(anyString())).thenAnswer(invocation ->
+                Optional.of(createAccount(invocation.getArgument(0), INITIAL_SOURCE_BALANCE, SOURCE_VALID_CURRENCY)));
+        TransactionData mismatched = createTransactionData();
+
+        List<TransactionResult> results = new NettingBatchUseCaseImpl(accountRepository, transactionRepository,
+                entityManager, outboxRepository).processNetted(List.of(mismatched));
+
+        assertEquals(TransactionResult.TransactionStatus.FAILED, results.getFirst().getStatus());
+        assertThat(results.getFirst().getMessage()).contains("Currency mismatch for account " + DEST_ACCOUNT_ID);
+        verify(transactionRepository, never()).save(any());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should fail only the event with a malformed amount and still net the rest of the chunk")
+    void testGivenOneBadAmountInChunk_ThenFailOnlyThatEvent() {
+        Ledger netted = new Ledger();
+        netted.accounts.put("RICH", new Account("RICH", Money.ofUnits(Long.MAX_VALUE), SOURCE_VALID_CURRENCY, 1L,
+                LocalDateTime.now(), LocalDateTime.now()));
+
+        List<TransactionResult> results = new NettingBatchUseCaseImpl(
+                netted.accountRepository(), netted.transactionRepository(), entityManager, outboxRepository).processNetted(List.of(
+                transfer("evt1", PAYROLL_ACCOUNT, "ACC001", "10.00"),
+                transfer("evt2", PAYROLL_ACCOUNT, "ACC002", "0.00001"),
+                transfer("evt3", "ACC003", "RICH", "1.00"),
+                transfer("evt4", PAYROLL_ACCOUNT, "ACC002", "20.00")));
+
+        assertEquals(List.of(TransactionResult.TransactionStatus.SUCCESS, TransactionResult.TransactionStatus.FAILED,
+                TransactionResult.TransactionStatus.FAILED, TransactionResult.TransactionStatus.SUCCESS),
+                results.stream().map(TransactionResult::getStatus).toList());
+        assertThat(netted.accounts.get(PAYROLL_ACCOUNT).getBalance().toBigDecimal()).isEqualByComparingTo("70.00");
+        assertThat(netted.accounts.get("ACC002").getBalance().toBigDecimal()).isEqualByComparingTo("70.00");
+        assertThat(netted.accounts.get("ACC003").getBalance().toBigDecimal()).isEqualByComparingTo("50.00");
+        assertEquals(4, netted.rows.size());
+        verify(outboxRepository).append(List.of("evt1", "evt4"));
+    }
+
+    private TransactionData transfer(String eventId, String sourceId, String destinationId, String amount) {
+        BigDecimal value = new BigDecimal(amount);
+        return new TransactionData(eventId,
+                new TransferAccount(sourceId, SOURCE_VALID_CURRENCY, value),
+                new TransferAccount(destinationId, SOURCE_VALID_CURRENCY, value),
+                LocalDateTime.now());
+    }
+
+    private static Account account(String accountId, String balance, String currency) {
+        return new Account(accountId, Money.of(new BigDecimal(balance)), currency, 1L, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    //Independent account set per engine, so both start from the same state
+    private static final class Ledger {
+        private final Map<String, Account> accounts = new HashMap<>();
+        private final Map<String, Integer> saves = new HashMap<>();
+        private final List<Transaction> rows = new ArrayList<>();
+
+        Ledger() {
+            accounts.put(PAYROLL_ACCOUNT, account(PAYROLL_ACCOUNT, "100.00", SOURCE_VALID_CURRENCY));
+            for (String id : List.of("ACC001", "ACC002", "ACC003", "ACC004")) {
+                accounts.put(id, account(id, "50.00", SOURCE_VALID_CURRENCY));
+            }
+        }
+
+        AccountRepository accountRepository() {
+            AccountRepository repository = mock(AccountRepository.class);
+            lenient().when(repository.findById(anyString()))
+                    .thenAnswer(invocation -> Optional.ofNullable(accounts.get(invocation.<String>getArgument(0))));
+            lenient().doAnswer(invocation -> saves.merge(invocation.<Account>getArgument(0).getId(), 1, Integer::sum))
+                    .when(repository).save(any());
+            return repository;
+        }
+
+        TransactionRepository transactionRepository() {
+            return rows::add;
+        }
+
+        Map<String, BigDecimal> balances() {
+            Map<String, BigDecimal> balances = new HashMap<>();
+            accounts.forEach((id, account) -> balances.put(id, account.getBalance().toBigDecimal().stripTrailingZeros()));
+            return balances;
+        }
+
+        List<String> balancesAfter() {
+            return rows.stream()
+                    .map(row -> row.getEventId() + ":" + row.getAccountId() + ":" +
+                            (row.getType() == TransactionType.DEBIT ? "D" : "C") + ":" +
+                            row.getBalanceAfter().toBigDecimal().stripTrailingZeros().toPlainString())
+                    .toList();
+        }
+    }
+}
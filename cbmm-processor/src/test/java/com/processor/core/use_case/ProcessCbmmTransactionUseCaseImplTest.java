@@ -10,6 +10,7 @@ import com.processor.core.domain.model.Account;
 import com.processor.core.domain.model.Transaction;
 import com.processor.core.domain.value_object.TransactionData;
 import com.processor.core.ports.out.AccountRepository;
+import com.processor.core.ports.out.OutboxRepository;
 import com.processor.core.ports.out.TransactionRepository;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.DisplayName;
@@ -39,6 +40,8 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
     private TransactionRepository transactionRepository;
     @Mock
     private EntityManager entityManager;
+    @Mock
+    private OutboxRepository outboxRepository;
 
     @InjectMocks
     private ProcessCbmmTransactionUseCaseImpl processCbmmTransactionUseCaseImpl;
@@ -64,6 +67,7 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
         verify(accountRepository, times(2)).findById(anyString());
         verify(accountRepository, times(2)).save(accountCaptor.capture());
         verify(transactionRepository, times(2)).save(transactionCaptor.capture());
+        verify(outboxRepository).append(List.of(EVENT_ID));
 
         List<Account> savedAccounts = accountCaptor.getAllValues();
         Account savedSourceAccount = savedAccounts.stream()
@@ -75,9 +79,9 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
                 .findFirst()
                 .orElseThrow();
 
-        assertThat(savedSourceAccount.getBalance())
+        assertThat(savedSourceAccount.getBalance().toBigDecimal())
                 .isEqualByComparingTo(INITIAL_SOURCE_BALANCE.subtract(TRANSFER_AMOUNT));
-        assertThat(savedDestAccount.getBalance())
+        assertThat(savedDestAccount.getBalance().toBigDecimal())
                 .isEqualByComparingTo(INITIAL_DEST_BALANCE.add(TRANSFER_AMOUNT));
 
         List<Transaction> savedTransactions = transactionCaptor.getAllValues();
@@ -93,9 +97,9 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
                 .orElseThrow();
 
         assertThat(debitTx.getAccountId()).isEqualTo(SOURCE_ACCOUNT_ID);
-        assertThat(debitTx.getAmount()).isEqualByComparingTo(TRANSFER_AMOUNT);
+        assertThat(debitTx.getAmount().toBigDecimal()).isEqualByComparingTo(TRANSFER_AMOUNT);
         assertThat(creditTx.getAccountId()).isEqualTo(DEST_ACCOUNT_ID);
-        assertThat(creditTx.getAmount()).isEqualByComparingTo(TRANSFER_AMOUNT);
+        assertThat(creditTx.getAmount().toBigDecimal()).isEqualByComparingTo(TRANSFER_AMOUNT);
     }
 
     @Test
@@ -116,6 +120,7 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
 
         verify(accountRepository, never()).save(any());
         verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(outboxRepository);
     }
 
     @Test
@@ -183,7 +188,7 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
                 .findFirst()
                 .orElseThrow();
 
-        assertThat(savedSourceAccount.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(savedSourceAccount.getBalance().toBigDecimal()).isEqualByComparingTo(BigDecimal.ZERO);
     }
 
     @Test
@@ -244,7 +249,7 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
                 .findFirst()
                 .orElseThrow();
 
-        assertThat(savedSourceAccount.getBalance())
+        assertThat(savedSourceAccount.getBalance().toBigDecimal())
                 .isEqualByComparingTo(INITIAL_SOURCE_BALANCE.subtract(decimalAmount));
     }
 
@@ -262,6 +267,7 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
         processCbmmTransactionUseCaseImpl.process(transaction);
 
         verify(transactionRepository, times(2)).save(transactionCaptor.capture());
+        verify(outboxRepository).append(List.of(EVENT_ID));
 
         List<Transaction> savedTransactions = getTransactions(transaction);
 
@@ -270,7 +276,7 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
                 .findFirst()
                 .orElseThrow();
 
-        assertThat(debitTx.getBalanceAfter())
+        assertThat(debitTx.getBalanceAfter().toBigDecimal())
                 .isEqualByComparingTo(INITIAL_SOURCE_BALANCE.subtract(TRANSFER_AMOUNT));
 
         Transaction creditTx = savedTransactions.stream()
@@ -278,7 +284,7 @@ class ProcessCbmmTransactionUseCaseImplTest extends MockFactoryTest {
                 .findFirst()
                 .orElseThrow();
 
-        assertThat(creditTx.getBalanceAfter())
+        assertThat(creditTx.getBalanceAfter().toBigDecimal())
                 .isEqualByComparingTo(INITIAL_DEST_BALANCE.add(TRANSFER_AMOUNT));
     }
 
@@ -0,0 +1,132 @@
+package com.processor.infrastructure.in.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processor.application.service.AdmissionController;
+import com.processor.application.service.CbmmTransactionApplicationService;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.core.domain.value_object.TransactionResult;
+import com.processor.infrastructure.adapters.in.http.BatchFileStreamer;
+import com.processor.infrastructure.adapters.in.http.TransactionDataJsonReader;
+import com.processor.infrastructure.config.AdmissionConfig;
+import com.processor.infrastructure.config.StreamingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchFileStreamerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private CbmmTransactionApplicationService applicationService;
+
+    private BatchFileStreamer batchFileStreamer;
+
+    @BeforeEach
+    void setUp() {
+        StreamingConfig streamingConfig = new StreamingConfig();
+        streamingConfig.setMaxInFlight(4);
+        streamingConfig.setChunkSize(2);
+
+        AdmissionConfig admissionConfig = new AdmissionConfig();
+        admissionConfig.setMaxInFlightEvents(4);
+        admissionConfig.setMaxConcurrentRequests(1);
+        admissionConfig.setMaxWaitMs(0L);
+        admissionConfig.setRetryAfterSeconds(1L);
+
+        batchFileStreamer = new BatchFileStreamer(applicationService, new TransactionDataJsonReader(objectMapper), objectMapper, streamingConfig,
+                new AdmissionController(admissionConfig, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should submit events in chunks and write one NDJSON line per event in input order")
+    void testGivenEventArray_ThenStreamResultsInOrder() throws IOException {
+        when(applicationService.processTransactionsConcurrently(anyList())).thenAnswer(invocation -> {
+            List<TransactionData> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(tx -> CompletableFuture.completedFuture(TransactionResult.success(tx.getEventId())))
+                    .toList();
+        });
+
+        List<JsonNode> lines = stream("[" + event("event1") + "," + event("event2") + "," + event("event3") + "]");
+
+        assertEquals(3, lines.size());
+        assertEquals("event1", lines.get(0).get("eventId").asText());
+        assertEquals("event2", lines.get(1).get("eventId").asText());
+        assertEquals("event3", lines.get(2).get("eventId").asText());
+        assertEquals("SUCCESS", lines.get(2).get("status").asText());
+        verify(applicationService, times(2)).processTransactionsConcurrently(anyList());
+    }
+
+    @Test
+    @DisplayName("Should fail an unparseable event without aborting its neighbours")
+    void testGivenInvalidEvent_ThenFailOnlyThatEvent() throws IOException {
+        when(applicationService.processTransactionsConcurrently(anyList())).thenAnswer(invocation -> {
+            List<TransactionData> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(tx -> CompletableFuture.completedFuture(TransactionResult.success(tx.getEventId())))
+                    .toList();
+        });
+
+        String invalid = event("event2").replace("2025-10-10T10:00:00Z", "yesterday");
+        List<JsonNode> lines = stream("[" + event("event1") + "," + invalid + "," + event("event3") + "]");
+
+        assertEquals(3, lines.size());
+        assertEquals("SUCCESS", lines.get(0).get("status").asText());
+        assertEquals("FAILED", lines.get(1).get("status").asText());
+        assertEquals("event2", lines.get(1).get("eventId").asText());
+        assertEquals("SUCCESS", lines.get(2).get("status").asText());
+    }
+
+    @Test
+    @DisplayName("Should flush decoded results and report the error when the file is truncated")
+    void testGivenTruncatedFile_ThenWriteResultsAndErrorLine() throws IOException {
+        when(applicationService.processTransactionsConcurrently(anyList()))
+                .thenReturn(List.of(CompletableFuture.completedFuture(TransactionResult.success("event1"))));
+
+        List<JsonNode> lines = stream("[" + event("event1") + ", {\"event_id\": ");
+
+        assertEquals(2, lines.size());
+        assertEquals("event1", lines.get(0).get("eventId").asText());
+        assertEquals(true, lines.get(1).has("error"));
+    }
+
+    private List<JsonNode> stream(String json) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        batchFileStreamer.stream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), output);
+
+        return output.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private static String event(String eventId) {
+        return """
+                {"event_id": "%s", "event_type": "TRANSFER", "operation_date": "2025-10-10T10:00:00Z",
+                 "origin": {"account_id": "ACC001", "currency": "USD", "amount": 10.00},
+                 "destination": {"account_id": "ACC002", "currency": "USD", "amount": 10.00}}
+                """.formatted(eventId);
+    }
+}
@@ -0,0 +1,113 @@
+package com.processor.infrastructure.in.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.infrastructure.adapters.in.http.BinaryEventCodec;
+import com.processor.infrastructure.adapters.in.http.EventDTOMapper;
+import com.processor.infrastructure.adapters.in.http.InvalidEventException;
+import com.processor.infrastructure.adapters.in.http.dto.AccountDTO;
+import com.processor.infrastructure.adapters.in.http.dto.EventDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryEventCodecTest {
+    private final BinaryEventCodec codec = new BinaryEventCodec();
+    private final EventDTOMapper eventDTOMapper = new EventDTOMapper();
+
+    @Test
+    @DisplayName("Should decode to exactly what the JSON path maps, offsets, fractions and optional nulls included")
+    void testGivenEncodedEvents_ThenDecodeLikeJsonMapping() throws IOException {
+        List<EventDTO> events = List.of(
+                event("evt_0001", "2025-10-10T10:15:30-03:00", "125.50"),
+                event("evt_0002", "2025-10-10T23:59:59.123456789+05:45", "0.0001"),
+                event("evt_ñandú", "2025-10-11T00:00Z[Europe/Madrid]", "1000000"),
+                new EventDTO("evt_0004", null, "2025-10-10T10:15:30Z",
+                        new AccountDTO("ACC001", "EUR", new BigDecimal("1E+3")),
+                        new AccountDTO("ACC002", "USD", new BigDecimal("-5.10"))));
+
+        List<TransactionData> decoded = codec.decode(new ByteArrayInputStream(codec.encode(events)));
+
+        assertEquals(events.stream().map(eventDTOMapper::mapFromEventDTO).toList(), decoded);
+    }
+
+    @Test
+    @DisplayName("Should reject truncated input, a foreign payload and trailing bytes")
+    void testGivenMalformedInput_ThenThrowIOException() {
+        byte[] encoded = codec.encode(List.of(event("evt_0001", "2025-10-10T10:15:30-03:00", "125.50")));
+
+        assertThrows(EOFException.class,
+                () -> codec.decode(new ByteArrayInputStream(Arrays.copyOf(encoded, encoded.length - 1))));
+        assertThrows(IOException.class,
+                () -> codec.decode(new ByteArrayInputStream("[{\"event_id\":\"x\"}]".getBytes())));
+        assertThrows(IOException.class,
+                () -> codec.decode(new ByteArrayInputStream(Arrays.copyOf(encoded, encoded.length + 1))));
+    }
+
+    @Test
+    @DisplayName("Should reject a decoded event with a null required field like the JSON reader does")
+    void testGivenNullRequiredField_ThenThrowInvalidEvent() {
+        List<EventDTO> missingEventId = List.of(event(null, "2025-10-10T10:15:30Z", "1.00"));
+        List<EventDTO> missingCurrency = List.of(event("evt_0001", "2025-10-10T10:15:30Z", "1.00"),
+                new EventDTO("evt_0002", "TRANSFER", "2025-10-10T10:15:30Z",
+                        new AccountDTO("ACC001", "USD", BigDecimal.ONE),
+                        new AccountDTO("ACC002", null, BigDecimal.ONE)));
+
+        InvalidEventException eventId = assertThrows(InvalidEventException.class,
+                () -> codec.decode(new ByteArrayInputStream(codec.encode(missingEventId))));
+        InvalidEventException currency = assertThrows(InvalidEventException.class,
+                () -> codec.decode(new ByteArrayInputStream(codec.encode(missingCurrency))));
+
+        assertEquals("event_id", eventId.getField());
+        assertEquals("destination.currency", currency.getField());
+        assertEquals("evt_0002", currency.getEventId());
+    }
+
+    @Test
+    @DisplayName("Should refuse to encode an amount that does not fit a scaled long")
+    void testGivenOversizedAmount_ThenRejectOnEncode() {
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.encode(List.of(event("evt_0001", "2025-10-10T10:15:30Z", "92233720368547758.08"))));
+    }
+
+    @Test
+    @DisplayName("Should encode a typical batch in under 40% of the bytes of its JSON body")
+    void testGivenTypicalBatch_ThenEncodeSmallerThanJson() throws IOException {
+        List<EventDTO> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            BigDecimal amount = BigDecimal.valueOf(100 + i * 37L % 25_000, 2);
+            events.add(new EventDTO("evt_" + i, "TRANSFER", "2025-10-10T10:15:30-03:00",
+                    new AccountDTO("ACC" + String.format("%03d", i % 1000), "USD", amount),
+                    new AccountDTO("ACC" + String.format("%03d", (i * 7 + 1) % 1000), "USD", amount)));
+        }
+
+        int json = new ObjectMapper().writeValueAsBytes(events).length;
+        int binary = codec.encode(events).length;
+
+        assertTrue(binary < json * 0.4, "binary=" + binary + " json=" + json);
+    }
+
+    @Test
+    @DisplayName("Should negotiate on type and subtype, ignoring parameters")
+    void testGivenContentTypes_ThenDetectBinary() {
+        assertTrue(BinaryEventCodec.isBinary("application/vnd.cbmm.events+binary; version=1"));
+        assertFalse(BinaryEventCodec.isBinary("application/json"));
+        assertFalse(BinaryEventCodec.isBinary(null));
+        assertFalse(BinaryEventCodec.isBinary("not a media type"));
+    }
+
+    private static EventDTO event(String eventId, String operationDate, String amount) {
+        return new EventDTO(eventId, "TRANSFER", operationDate,
+                new AccountDTO("ACC001", "USD", new BigDecimal(amount)),
+                new AccountDTO("ACC002", "USD", new BigDecimal(amount)));
+    }
+}
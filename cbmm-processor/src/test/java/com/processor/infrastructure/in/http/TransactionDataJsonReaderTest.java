@@ -0,0 +1,131 @@
+package com.processor.infrastructure.in.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.processor.core.domain.value_object.TransactionData;
+import com.processor.infrastructure.adapters.in.http.EventDTOMapper;
+import com.processor.infrastructure.adapters.in.http.InvalidEventException;
+import com.processor.infrastructure.adapters.in.http.TransactionDataJsonReader;
+import com.processor.infrastructure.adapters.in.http.dto.EventDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionDataJsonReaderTest {
+    //Spring Boot's defaults, so the DTO path ignores unknown fields as it does in the application
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final TransactionDataJsonReader reader = new TransactionDataJsonReader(objectMapper);
+    private final EventDTOMapper eventDTOMapper = new EventDTOMapper();
+
+    @Test
+    @DisplayName("Should build the same TransactionData as the DTO mapping for every timestamp and amount shape")
+    void testGivenValidEvents_ThenMatchDtoMapping() throws IOException {
+        String json = "[" + String.join(",",
+                event("evt1", "2025-10-10T10:15:30-03:00", "125.50"),
+                event("evt2", "2025-10-10T23:59:59.5Z", "\"12.5\""),
+                event("evt3", "2025-10-10T00:00:00.123456789+05:45", "1E+3"),
+                event("evt4", "2025-10-10T10:15Z", "0.0001"),
+                event("evt5", "2025-10-10t10:15:30z", "7"),
+                event("evt6", "2025-10-10T10:15:30.000-00:00", "-5.10"),
+                event("evt7", "2025-10-11T00:00Z[Europe/Madrid]", "\" 0.50 \""),
+                """
+                {"origin": {"currency": "USD", "amount": 1, "account_id": "ACC001", "extra": {"a": [1, 2]}},
+                 "event_id": 8, "ignored": [{"x": null}], "destination": {"account_id": 2, "currency": "USD", "amount": "1"},
+                 "operation_date": "2025-10-10T10:15:30Z"}
+                """) + "]";
+
+        List<TransactionData> fused = reader.readArray(input(json));
+
+        List<EventDTO> events = objectMapper.readValue(json, new TypeReference<>() {});
+        assertEquals(events.stream().map(eventDTOMapper::mapFromEventDTO).toList(), fused);
+    }
+
+    @Test
+    @DisplayName("Should reject out of range dates on the fast path just like the ISO parser")
+    void testGivenOutOfRangeDates_ThenRejectLikeIsoParser() {
+        for (String date : List.of("2025-02-30T10:00:00Z", "2025-13-01T10:00:00Z", "2025-10-10T24:00:00Z",
+                "2025-10-10T10:00:00+19:00", "2025-10-10T10:00:00+0545", "2025-10-10T10:00:00.1234567890Z", "yesterday")) {
+            assertThrows(DateTimeParseException.class, () -> ZonedDateTime.parse(date), date);
+
+            InvalidEventException e = assertThrows(InvalidEventException.class,
+                    () -> reader.readObject(input(event("evt1", date, "1.00"))), date);
+            assertEquals("operation_date", e.getField());
+            assertEquals("evt1", e.getEventId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should name the failing field, keep the event id read after it and leave the next event readable")
+    void testGivenInvalidField_ThenReportItAndContinue() throws IOException {
+        String json = "[" + """
+                {"origin": {"account_id": "ACC001", "currency": "USD", "amount": {"value": [1]}},
+                 "destination": {"account_id": "ACC002", "currency": "USD", "amount": 1},
+                 "operation_date": "2025-10-10T10:15:30Z", "event_id": "evt1"}
+                """ + "," + """
+                {"event_id": "evt2", "operation_date": "2025-10-10T10:15:30Z",
+                 "origin": {"account_id": "ACC001", "currency": "USD", "amount": 1}}
+                """ + "," + event("evt3", "2025-10-10T10:15:30Z", "3") + "]";
+
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+
+            parser.nextToken();
+            InvalidEventException invalidAmount = assertThrows(InvalidEventException.class, () -> reader.read(parser));
+            assertEquals("origin.amount", invalidAmount.getField());
+            assertEquals("evt1", invalidAmount.getEventId());
+
+            parser.nextToken();
+            InvalidEventException missingDestination = assertThrows(InvalidEventException.class, () -> reader.read(parser));
+            assertEquals("destination", missingDestination.getField());
+
+            parser.nextToken();
+            assertEquals("evt3", reader.read(parser).getEventId());
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an event missing any required field and name that field")
+    void testGivenMissingRequiredField_ThenRejectWithItsName() throws IOException {
+        String complete = event("evt1", "2025-10-10T10:15:30Z", "1.00");
+        assertEquals("evt1", reader.readObject(input(complete)).getEventId());
+
+        assertMissing("event_id", complete.replace("\"event_id\": \"evt1\"", "\"event_id\": null"));
+        assertMissing("event_id", complete.replace("\"event_id\": \"evt1\"", "\"event_id\": \" \""));
+        assertMissing("origin.account_id", complete.replace("\"account_id\": \"ACC001\", ", ""));
+        assertMissing("destination.account_id", complete.replace("\"account_id\": \"ACC002\"", "\"account_id\": null"));
+        assertMissing("origin.currency", complete.replaceFirst("\"currency\": \"USD\"", "\"currency\": \"\""));
+        assertMissing("origin.amount", event("evt1", "2025-10-10T10:15:30Z", "null"));
+        assertMissing("origin.amount", event("evt1", "2025-10-10T10:15:30Z", "\"\""));
+        assertMissing("destination.amount", complete.replace("\"amount\": 1.00}}", "\"amount\": null}}"));
+    }
+
+    private void assertMissing(String field, String json) {
+        InvalidEventException e = assertThrows(InvalidEventException.class, () -> reader.readObject(input(json)), json);
+        assertEquals(field, e.getField(), json);
+    }
+
+    private static ByteArrayInputStream input(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String event(String eventId, String operationDate, String amount) {
+        return """
+                {"event_id": "%s", "event_type": "TRANSFER", "operation_date": "%s",
+                 "origin": {"account_id": "ACC001", "currency": "USD", "amount": %s},
+                 "destination": {"account_id": "ACC002", "currency": "USD", "amount": %s}}
+                """.formatted(eventId, operationDate, amount, amount);
+    }
+}
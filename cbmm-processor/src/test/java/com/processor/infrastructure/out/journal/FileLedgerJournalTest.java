@@ -0,0 +1,106 @@
+package com.processor.infrastructure.out.journal;
+
+import com.processor.MockFactoryTest;
+import com.processor.core.domain.value_object.JournalEntry;
+import com.processor.infrastructure.adapters.out.journal.FileLedgerJournal;
+import com.processor.infrastructure.config.InMemoryLedgerConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FileLedgerJournalTest extends MockFactoryTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should replay appended entries after the given sequence, field for field, across restarts")
+    void testGivenAppendedEntries_ThenReplayAfterSequence() throws IOException {
+        FileLedgerJournal journal = journal(1L << 20);
+        journal.append(List.of(entry(1), entry(2)));
+        journal.append(List.of(entry(3)));
+        journal.close();
+
+        assertEquals(List.of(entry(2), entry(3)), replay(journal(1L << 20), 1));
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of a segment and keep journaling in a new one")
+    void testGivenTornTail_ThenIgnoreItAndContinue() throws IOException {
+        FileLedgerJournal journal = journal(1L << 20);
+        journal.append(List.of(entry(1), entry(2)));
+        journal.close();
+        try (Stream<Path> segments = Files.list(directory)) {
+            Files.write(segments.findFirst().orElseThrow(), new byte[]{0, 0, 1, 0, 12, 34},
+                    StandardOpenOption.APPEND);
+        }
+
+        FileLedgerJournal reopened = journal(1L << 20);
+        assertEquals(List.of(entry(1), entry(2)), replay(reopened, 0));
+        reopened.append(List.of(entry(3)));
+        reopened.close();
+
+        assertEquals(List.of(entry(1), entry(2), entry(3)), replay(journal(1L << 20), 0));
+    }
+
+    @Test
+    @DisplayName("Should delete only the segments covered by the checkpoint and keep the one being written")
+    void testGivenCheckpoint_ThenDeleteCoveredSegments() throws IOException {
+        FileLedgerJournal journal = journal(1);
+        journal.append(List.of(entry(1)));
+        journal.append(List.of(entry(2)));
+        journal.append(List.of(entry(3)));
+
+        journal.truncate(2);
+
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertEquals(1, segments.count());
+        }
+        assertEquals(List.of(entry(3)), replay(journal, 0));
+    }
+
+    private FileLedgerJournal journal(long segmentBytes) {
+        InMemoryLedgerConfig inMemoryLedgerConfig = new InMemoryLedgerConfig();
+        inMemoryLedgerConfig.setJournalDir(directory.toString());
+        inMemoryLedgerConfig.setSegmentBytes(segmentBytes);
+        inMemoryLedgerConfig.setFsync(true);
+        return new FileLedgerJournal(inMemoryLedgerConfig);
+    }
+
+    private static List<JournalEntry> replay(FileLedgerJournal journal, long afterSequence) {
+        List<JournalEntry> replayed = new ArrayList<>();
+        journal.replay(afterSequence, replayed::add);
+        return replayed;
+    }
+
+    private static JournalEntry entry(long sequence) {
+        return JournalEntry.builder()
+                .sequence(sequence)
+                .eventId("evt" + sequence)
+                .operationDate(LocalDateTime.of(2026, 10, 17, 10, 0, 0, 123_456_789))
+                .processedAt(LocalDateTime.of(2026, 10, 17, 10, 0, 1))
+                .debitId(new UUID(0, sequence))
+                .sourceAccountId(SOURCE_ACCOUNT_ID)
+                .sourceCurrency(SOURCE_VALID_CURRENCY)
+                .sourceAmount(TRANSFER_AMOUNT)
+                .sourceBalanceAfter(new BigDecimal("-0.0001").add(BigDecimal.valueOf(sequence)))
+                .creditId(new UUID(1, sequence))
+                .destinationAccountId(DEST_ACCOUNT_ID)
+                .destinationCurrency(DEST_VALID_CURRENCY)
+                .destinationAmount(TRANSFER_AMOUNT)
+                .destinationBalanceAfter(new BigDecimal("123456789012345.6789"))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.processor.infrastructure.out.postgresql;
+
+import com.processor.MockFactoryTest;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.infrastructure.adapters.out.postgresql.AccountBalanceCache;
+import com.processor.infrastructure.config.BalanceReadConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountBalanceCacheTest extends MockFactoryTest {
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch releaseLoad = new CountDownLatch(1);
+    private volatile AccountSnapshot stored = snapshot("100.00", 1L);
+
+    private AccountBalanceCache accountBalanceCache;
+
+    @BeforeEach
+    void setUp() {
+        BalanceReadConfig balanceReadConfig = new BalanceReadConfig();
+        balanceReadConfig.setCacheTtlMs(60_000L);
+        balanceReadConfig.setMaximumSize(100L);
+        balanceReadConfig.setPoolSize(2);
+
+        accountBalanceCache = new AccountBalanceCache(balanceReadConfig, accountId -> {
+            loads.incrementAndGet();
+            try {
+                releaseLoad.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return SOURCE_ACCOUNT_ID.equals(accountId) ? stored : null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountBalanceCache.stop();
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent reads of the same account into one load")
+    void testGivenConcurrentReads_ThenLoadOnce() throws Exception {
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<AccountSnapshot>> reads = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(
+                            () -> accountBalanceCache.get(SOURCE_ACCOUNT_ID).orElseThrow(), readers))
+                    .toList();
+            Thread.sleep(100);
+            releaseLoad.countDown();
+
+            for (CompletableFuture<AccountSnapshot> read : reads) {
+                assertEquals(0, new BigDecimal("100.00").compareTo(read.get(5, TimeUnit.SECONDS).getBalance()));
+            }
+            accountBalanceCache.get(SOURCE_ACCOUNT_ID);
+            assertEquals(1, loads.get());
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve committed balances without a load and never go back to an older version")
+    void testGivenPublishedSnapshots_ThenKeepNewestVersion() {
+        releaseLoad.countDown();
+
+        accountBalanceCache.publish(snapshot("70.00", 3L));
+        accountBalanceCache.publish(snapshot("90.00", 2L));
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(
+                accountBalanceCache.get(SOURCE_ACCOUNT_ID).orElseThrow().getBalance()));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload after invalidation and report unknown accounts as empty")
+    void testGivenInvalidation_ThenReload() {
+        releaseLoad.countDown();
+        accountBalanceCache.publish(snapshot("70.00", 3L));
+        stored = snapshot("40.00", 4L);
+
+        accountBalanceCache.invalidate(SOURCE_ACCOUNT_ID);
+
+        assertEquals(0, new BigDecimal("40.00").compareTo(
+                accountBalanceCache.get(SOURCE_ACCOUNT_ID).orElseThrow().getBalance()));
+        assertTrue(accountBalanceCache.get("MISSING").isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    private static AccountSnapshot snapshot(String balance, long version) {
+        return new AccountSnapshot(SOURCE_ACCOUNT_ID, SOURCE_VALID_CURRENCY, new BigDecimal(balance), version);
+    }
+}
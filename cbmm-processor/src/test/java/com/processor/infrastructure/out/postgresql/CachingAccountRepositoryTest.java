@@ -0,0 +1,81 @@
+package com.processor.infrastructure.out.postgresql;
+
+import com.processor.core.domain.value_object.Money;
+import com.processor.MockFactoryTest;
+import com.processor.core.domain.model.Account;
+import com.processor.core.domain.value_object.AccountSnapshot;
+import com.processor.infrastructure.adapters.out.postgresql.AccountRepositoryImpl;
+import com.processor.infrastructure.adapters.out.postgresql.CachingAccountRepository;
+import com.processor.infrastructure.config.AccountCacheConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingAccountRepositoryTest extends MockFactoryTest {
+    @Mock
+    private AccountRepositoryImpl delegate;
+
+    private CachingAccountRepository cachingAccountRepository;
+
+    @BeforeEach
+    void setUp() {
+        AccountCacheConfig accountCacheConfig = new AccountCacheConfig();
+        accountCacheConfig.setMaximumSize(100L);
+        accountCacheConfig.setTtlSeconds(300L);
+
+        cachingAccountRepository = new CachingAccountRepository(delegate, accountCacheConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should publish a saved balance only after the transaction commits")
+    void testGivenSaveInTransaction_ThenCacheAfterCommit() {
+        Account account = createAccount(SOURCE_ACCOUNT_ID, INITIAL_SOURCE_BALANCE, SOURCE_VALID_CURRENCY);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cachingAccountRepository.save(account);
+
+        assertTrue(cachingAccountRepository.findSnapshot(SOURCE_ACCOUNT_ID).isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(0, INITIAL_SOURCE_BALANCE.compareTo(
+                cachingAccountRepository.findSnapshot(SOURCE_ACCOUNT_ID).orElseThrow().getBalance()));
+        verify(delegate).save(account);
+    }
+
+    @Test
+    @DisplayName("Should never replace a newer snapshot with an older version")
+    void testGivenOlderVersion_ThenKeepNewerSnapshot() {
+        Account newer = new Account(SOURCE_ACCOUNT_ID, Money.of(new BigDecimal("70.00")), SOURCE_VALID_CURRENCY, 3L,
+                LocalDateTime.now(), LocalDateTime.now());
+        Account older = new Account(SOURCE_ACCOUNT_ID, Money.of(INITIAL_SOURCE_BALANCE), SOURCE_VALID_CURRENCY, 2L,
+                LocalDateTime.now(), LocalDateTime.now());
+
+        cachingAccountRepository.save(newer);
+        when(delegate.findById(SOURCE_ACCOUNT_ID)).thenReturn(Optional.of(older));
+        cachingAccountRepository.findById(SOURCE_ACCOUNT_ID);
+
+        AccountSnapshot snapshot = cachingAccountRepository.findSnapshot(SOURCE_ACCOUNT_ID).orElseThrow();
+        assertEquals(3L, snapshot.getVersion());
+        assertEquals(0, new BigDecimal("70.00").compareTo(snapshot.getBalance()));
+    }
+}
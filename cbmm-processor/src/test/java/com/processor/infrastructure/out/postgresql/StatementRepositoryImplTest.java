@@ -0,0 +1,119 @@
+package com.processor.infrastructure.out.postgresql;
+
+import com.processor.core.domain.value_object.StatementCursor;
+import com.processor.core.domain.value_object.StatementEntry;
+import com.processor.infrastructure.adapters.out.postgresql.StatementRepositoryImpl;
+import com.processor.infrastructure.config.StatementConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StatementRepositoryImplTest {
+    private static final String ACCOUNT_ID = "ACC001";
+    private static final LocalDateTime CURSOR_DATE = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private StatementRepositoryImpl statementRepository;
+
+    @BeforeEach
+    void setUp() {
+        StatementConfig statementConfig = new StatementConfig();
+        statementConfig.setWindowDays(7);
+        statementConfig.setMaxWindowDays(20);
+        statementRepository = new StatementRepositoryImpl(jdbcTemplate, statementConfig);
+    }
+
+    @Test
+    @DisplayName("Should serve a full first page from the most recent window alone")
+    void testGivenBusyAccount_ThenReadOnlyTheRecentWindow() {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), anyRowMapper()))
+                .thenReturn(entries(3));
+
+        assertEquals(3, statementRepository.findStatement(ACCOUNT_ID, null, 3).size());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).query(sql.capture(), any(MapSqlParameterSource.class), anyRowMapper());
+        assertTrue(sql.getValue().contains("operation_date >= :from"));
+        assertFalse(sql.getValue().contains(":before"));
+        assertFalse(sql.getValue().contains(":transactionId"));
+    }
+
+    @Test
+    @DisplayName("Should bound a cursor page by operation_date for pruning and widen older windows until the page fills")
+    void testGivenSparseAccount_ThenWidenWindowsAfterTheCursor() {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), anyRowMapper()))
+                .thenReturn(entries(1))
+                .thenReturn(entries(1))
+                .thenReturn(entries(1));
+
+        StatementCursor cursor = new StatementCursor(CURSOR_DATE, UUID.randomUUID());
+        assertEquals(3, statementRepository.findStatement(ACCOUNT_ID, cursor, 5).size());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(3)).query(sql.capture(), params.capture(), anyRowMapper());
+
+        sql.getAllValues().forEach(query -> assertTrue(query.contains("AND operation_date <= :operationDate"), query));
+        List<MapSqlParameterSource> windows = params.getAllValues();
+
+        assertEquals(CURSOR_DATE.minusDays(7), windows.get(0).getValue("from"));
+        assertFalse(windows.get(0).hasValue("before"));
+        assertEquals(5, windows.get(0).getValue("limit"));
+
+        assertEquals(CURSOR_DATE.minusDays(14), windows.get(1).getValue("from"));
+        assertEquals(CURSOR_DATE.minusDays(7), windows.get(1).getValue("before"));
+        assertEquals(4, windows.get(1).getValue("limit"));
+
+        //Past max-window-days the last query drops the lower bound so older rows are still reachable
+        assertFalse(windows.get(2).hasValue("from"));
+        assertEquals(CURSOR_DATE.minusDays(14), windows.get(2).getValue("before"));
+        assertEquals(3, windows.get(2).getValue("limit"));
+    }
+
+    @Test
+    @DisplayName("Should go straight to the unbounded scan once a window comes back empty")
+    void testGivenEmptyWindow_ThenSkipTheRemainingBoundedWindows() {
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), anyRowMapper()))
+                .thenReturn(Collections.emptyList());
+
+        StatementCursor cursor = new StatementCursor(CURSOR_DATE, UUID.randomUUID());
+        assertTrue(statementRepository.findStatement(ACCOUNT_ID, cursor, 5).isEmpty());
+
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).query(anyString(), params.capture(), anyRowMapper());
+        List<MapSqlParameterSource> windows = params.getAllValues();
+
+        assertEquals(CURSOR_DATE.minusDays(7), windows.get(0).getValue("from"));
+        assertFalse(windows.get(1).hasValue("from"));
+        assertEquals(CURSOR_DATE.minusDays(7), windows.get(1).getValue("before"));
+    }
+
+    private static List<StatementEntry> entries(int count) {
+        return Collections.nCopies(count, new StatementEntry());
+    }
+
+    private static RowMapper<StatementEntry> anyRowMapper() {
+        return ArgumentMatchers.<RowMapper<StatementEntry>>any();
+    }
+}
@@ -0,0 +1,106 @@
+package com.processor.infrastructure.out.postgresql;
+
+import com.processor.infrastructure.adapters.out.postgresql.TransactionPartitionManager;
+import com.processor.infrastructure.config.PartitioningConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionPartitionManagerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PartitioningConfig partitioningConfig;
+    private TransactionPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        partitioningConfig = new PartitioningConfig();
+        partitioningConfig.setEnabled(true);
+        partitioningConfig.setPremakeDays(2);
+        partitioningConfig.setRetentionDays(30);
+        partitioningConfig.setDropExpired(false);
+        partitionManager = new TransactionPartitionManager(jdbcTemplate, partitioningConfig, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should create missing future partitions and detach expired ones without dropping them")
+    void testGivenExistingPartitions_ThenCreateAheadAndDetachExpired() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "transactions_default", "transactions_p20260901", "transactions_p20261016", "transactions_p20261017"));
+
+        partitionManager.maintain(TODAY);
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS transactions_p20261018 PARTITION OF transactions "
+                + "FOR VALUES FROM ('2026-10-18') TO ('2026-10-19')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS transactions_p20261019 PARTITION OF transactions "
+                + "FOR VALUES FROM ('2026-10-19') TO ('2026-10-20')");
+        verify(jdbcTemplate).execute("ALTER TABLE transactions DETACH PARTITION transactions_p20260901");
+        verify(jdbcTemplate, never()).execute(startsWith("DROP"));
+        verify(jdbcTemplate, never()).execute(contains("transactions_default"));
+        verify(jdbcTemplate, times(3)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should keep going and drop expired partitions when one creation fails")
+    void testGivenCreationFailure_ThenContinueAndDropExpired() {
+        partitioningConfig.setDropExpired(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("transactions_p20260901"));
+        doThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"))
+                .when(jdbcTemplate).execute(contains("transactions_p20261017"));
+
+        partitionManager.maintain(TODAY);
+
+        verify(jdbcTemplate).execute(contains("transactions_p20261018 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("transactions_p20261019 PARTITION OF"));
+        verify(jdbcTemplate).execute("DROP TABLE transactions_p20260901");
+    }
+
+    @Test
+    @DisplayName("Should build a day's partition from the rows already in the default partition and attach it")
+    void testGivenDayRowsInDefault_ThenMoveThemIntoTheNewPartition() {
+        LocalDate day = TODAY.plusDays(2);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "transactions_default", "transactions_p20261017", "transactions_p20261018"));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(day.atStartOfDay()), eq(day.plusDays(1).atStartOfDay())))
+                .thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        partitionManager.maintain(TODAY);
+
+        InOrder inOrder = inOrder(jdbcTemplate, transactionManager);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE transactions_p20261019 (LIKE transactions INCLUDING DEFAULTS, "
+                + "CONSTRAINT transactions_p20261019_range CHECK (operation_date >= '2026-10-19' AND operation_date < '2026-10-20'))");
+        inOrder.verify(jdbcTemplate).execute("WITH moved AS (DELETE FROM transactions_default WHERE operation_date >= '2026-10-19' "
+                + "AND operation_date < '2026-10-20' RETURNING *) INSERT INTO transactions_p20261019 SELECT * FROM moved");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE transactions ATTACH PARTITION transactions_p20261019 "
+                + "FOR VALUES FROM ('2026-10-19') TO ('2026-10-20')");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE transactions_p20261019 DROP CONSTRAINT transactions_p20261019_range");
+        inOrder.verify(transactionManager).commit(any());
+        verify(jdbcTemplate, never()).execute(contains("PARTITION OF"));
+    }
+}
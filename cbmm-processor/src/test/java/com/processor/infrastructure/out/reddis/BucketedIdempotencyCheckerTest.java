@@ -0,0 +1,158 @@
+package com.processor.infrastructure.out.reddis;
+
+import com.processor.core.domain.enums.ClaimStatus;
+import com.processor.infrastructure.adapters.out.reddis.BucketedIdempotencyChecker;
+import com.processor.infrastructure.adapters.out.reddis.IdempotencyBuckets;
+import com.processor.infrastructure.config.IdempotencyBucketsConfig;
+import com.processor.infrastructure.config.IdempotencyConfig;
+import com.processor.infrastructure.metrics.TransactionMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BucketedIdempotencyCheckerTest {
+    private static final String EVENT_ID = "eventId";
+    //2026-10-17T10:00:00Z: bucket 82973 of 6 hours
+    private static final long NOW = 1_792_231_200L;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private IdempotencyBuckets buckets;
+    private BucketedIdempotencyChecker idempotencyChecker;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyConfig idempotencyConfig = new IdempotencyConfig();
+        idempotencyConfig.setProcessingTtlSeconds(300L);
+        idempotencyConfig.setSuccessTtlSeconds(86400L);
+        idempotencyConfig.setFailedTtlSeconds(3600L);
+
+        IdempotencyBucketsConfig bucketsConfig = new IdempotencyBucketsConfig();
+        bucketsConfig.setBucketSeconds(21600L);
+        bucketsConfig.setShards(4096);
+        bucketsConfig.setReadLegacyKeys(true);
+
+        buckets = new IdempotencyBuckets(idempotencyConfig, bucketsConfig);
+        idempotencyChecker = new BucketedIdempotencyChecker(stringRedisTemplate, idempotencyConfig, bucketsConfig,
+                new TransactionMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should cover the SUCCESS retention with whole buckets of one shard and keep each state for its own retention")
+    void testGivenRetention_ThenWindowAndExpiryCoverIt() {
+        String shard = ":" + buckets.shard(EVENT_ID);
+
+        assertEquals(List.of("cbmm:idem:82973" + shard, "cbmm:idem:82972" + shard, "cbmm:idem:82971" + shard,
+                "cbmm:idem:82970" + shard, "cbmm:idem:82969" + shard), buckets.successWindow(EVENT_ID, NOW));
+        assertEquals("cbmm:idem:82973" + shard, buckets.bucketKey(EVENT_ID, NOW + 7199));
+        assertEquals(82974L * 21600 + 86400, buckets.expiresAt("S", NOW));
+        assertEquals(82974L * 21600 + 3600, buckets.expiresAt("F", NOW));
+    }
+
+    @Test
+    @DisplayName("Should claim with one script call over the claim key, the legacy key and the SUCCESS window")
+    void testGivenNewEvent_ThenClaimOverWindow() {
+        when(stringRedisTemplate.execute(ArgumentMatchers.<RedisScript<String>>any(), anyList(), eq(EVENT_ID), eq("300"), eq("1")))
+                .thenReturn("CLAIMED");
+
+        assertEquals(ClaimStatus.CLAIMED, idempotencyChecker.tryClaim(EVENT_ID));
+
+        List<String> keys = capturedKeys();
+        assertEquals("cbmm:claim:" + EVENT_ID, keys.get(0));
+        assertEquals("cbmm:event:" + EVENT_ID, keys.get(1));
+        assertWindow(keys.subList(2, keys.size()));
+    }
+
+    @Test
+    @DisplayName("Should map SUCCESS in a bucket or the legacy key and an in-flight claim to the claim outcomes")
+    void testGivenBlockedClaim_ThenAlreadyProcessedOrProcessing() {
+        when(stringRedisTemplate.execute(ArgumentMatchers.<RedisScript<String>>any(), anyList(), eq(EVENT_ID), eq("300"), eq("1")))
+                .thenReturn("SUCCESS", "PROCESSING");
+
+        assertEquals(ClaimStatus.ALREADY_PROCESSED, idempotencyChecker.tryClaim(EVENT_ID));
+        assertEquals(ClaimStatus.ALREADY_PROCESSING, idempotencyChecker.tryClaim(EVENT_ID));
+    }
+
+    @Test
+    @DisplayName("Should write SUCCESS as a one-byte code into the current bucket without reading the window")
+    void testGivenProcessedEvent_ThenWriteSuccessCode() {
+        idempotencyChecker.markAsProcessed(EVENT_ID);
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.captor();
+        verify(stringRedisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(), keys.capture(), eq(EVENT_ID), eq("S"), anyString(), eq("0"));
+        assertEquals(2, keys.getValue().size());
+        assertEquals("cbmm:claim:" + EVENT_ID, keys.getValue().get(0));
+        assertWindow(keys.getValue().subList(1, 2));
+    }
+
+    @Test
+    @DisplayName("Should check the window before writing FAILED and keep an earlier SUCCESS")
+    void testGivenFailureAfterSuccess_ThenKeepSuccess() {
+        when(stringRedisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), eq(EVENT_ID), eq("F"), anyString(), eq("1")))
+                .thenReturn(0L);
+
+        idempotencyChecker.markAsFailed(EVENT_ID, "Insufficient balance");
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.captor();
+        verify(stringRedisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(), keys.capture(), eq(EVENT_ID), eq("F"), anyString(), eq("1"));
+        assertEquals("cbmm:event:" + EVENT_ID, keys.getValue().get(2));
+        assertWindow(keys.getValue().subList(3, keys.getValue().size()));
+    }
+
+    @Test
+    @DisplayName("Should resolve processed events from one pipeline over legacy keys and buckets")
+    void testGivenBatch_ThenFindProcessedFromBucketsAndLegacyKeys() {
+        List<Object> replies = new ArrayList<>();
+        replies.addAll(Arrays.asList(null, null, "S", null, null, null));
+        replies.addAll(Arrays.asList("SUCCESS", null, null, null, null, null));
+        replies.addAll(Arrays.asList("PROCESSING", "F", null, null, null, null));
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(replies);
+
+        Set<String> processed = idempotencyChecker.findProcessed(List.of("e1", "e2", "e3"));
+
+        assertEquals(Set.of("e1", "e2"), processed);
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    private List<String> capturedKeys() {
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.captor();
+        verify(stringRedisTemplate).execute(ArgumentMatchers.<RedisScript<String>>any(), keys.capture(), any(), any(), any());
+        return keys.getValue();
+    }
+
+    //Consecutive buckets of the event's shard, newest first
+    private void assertWindow(List<String> keys) {
+        String shard = ":" + buckets.shard(EVENT_ID);
+        List<Long> bucketIds = keys.stream()
+                .peek(key -> assertTrue(key.startsWith("cbmm:idem:") && key.endsWith(shard), key))
+                .map(key -> Long.parseLong(key.substring("cbmm:idem:".length(), key.length() - shard.length())))
+                .toList();
+        List<Long> descending = new ArrayList<>(bucketIds);
+        descending.sort(Collections.reverseOrder());
+        assertEquals(descending, bucketIds);
+        assertEquals(bucketIds.getFirst() - bucketIds.size() + 1, bucketIds.getLast());
+    }
+}
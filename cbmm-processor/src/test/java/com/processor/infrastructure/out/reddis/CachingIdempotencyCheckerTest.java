@@ -0,0 +1,129 @@
+package com.processor.infrastructure.out.reddis;
+
+import com.processor.core.domain.enums.ClaimStatus;
+import com.processor.infrastructure.adapters.out.reddis.CachingIdempotencyChecker;
+import com.processor.infrastructure.adapters.out.reddis.IdempotencyCheckerImpl;
+import com.processor.infrastructure.config.IdempotencyConfig;
+import com.processor.infrastructure.config.NearCacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingIdempotencyCheckerTest {
+    private static final String EVENT_ID = "eventId";
+
+    @Mock
+    private IdempotencyCheckerImpl delegate;
+
+    private CachingIdempotencyChecker cachingIdempotencyChecker;
+
+    @BeforeEach
+    void setUp() {
+        cachingIdempotencyChecker = checker(false, 86400L);
+    }
+
+    @Test
+    @DisplayName("Should ask Redis about events this instance never saw, since another instance may have processed them")
+    void testGivenUntrustedFilter_ThenAskRedisForNeverSeenEvents() {
+        when(delegate.isProcessed(EVENT_ID)).thenReturn(true);
+        when(delegate.findProcessed(List.of("e1", "e2"))).thenReturn(Set.of("e1"));
+
+        assertTrue(cachingIdempotencyChecker.isProcessed(EVENT_ID));
+        assertEquals(Set.of("e1"), cachingIdempotencyChecker.findProcessed(List.of("e1", "e2")));
+
+        assertEquals(0, cachingIdempotencyChecker.stats().filterNegatives());
+    }
+
+    @Test
+    @DisplayName("Should keep asking Redis with a trusted filter until it covers the whole SUCCESS retention")
+    void testGivenTrustedFilterWithinRetention_ThenAskRedis() {
+        cachingIdempotencyChecker = checker(true, 86400L);
+        when(delegate.findProcessed(List.of("e1"))).thenReturn(Set.of());
+
+        assertEquals(Set.of(), cachingIdempotencyChecker.findProcessed(List.of("e1")));
+
+        verify(delegate).findProcessed(List.of("e1"));
+    }
+
+    @Test
+    @DisplayName("Should answer never seen events without calling Redis once the trusted filter covers the retention")
+    void testGivenNeverSeenEvent_ThenSkipRedis() {
+        cachingIdempotencyChecker = checker(true, 0L);
+
+        assertFalse(cachingIdempotencyChecker.isProcessed(EVENT_ID));
+        assertEquals(Set.of(), cachingIdempotencyChecker.findProcessed(List.of("e1", "e2")));
+
+        verifyNoInteractions(delegate);
+        assertEquals(3, cachingIdempotencyChecker.stats().filterNegatives());
+    }
+
+    @Test
+    @DisplayName("Should answer a locally completed event from the near-cache")
+    void testGivenProcessedEvent_ThenServeFromNearCache() {
+        when(delegate.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.CLAIMED);
+
+        assertEquals(ClaimStatus.CLAIMED, cachingIdempotencyChecker.tryClaim(EVENT_ID));
+        cachingIdempotencyChecker.markAsProcessed(EVENT_ID);
+
+        assertEquals(ClaimStatus.ALREADY_PROCESSED, cachingIdempotencyChecker.tryClaim(EVENT_ID));
+        assertTrue(cachingIdempotencyChecker.isProcessed(EVENT_ID));
+
+        verify(delegate, times(1)).tryClaim(EVENT_ID);
+        verify(delegate, never()).isProcessed(anyString());
+        assertEquals(2, cachingIdempotencyChecker.stats().cacheHits());
+    }
+
+    @Test
+    @DisplayName("Should ask Redis only for events the filter may have seen")
+    void testGivenSeenEvents_ThenPrefetchOnlyThoseFromRedis() throws InterruptedException {
+        //A zero TTL would also disable the SUCCESS cache, so wait out a one second retention instead
+        cachingIdempotencyChecker = checker(true, 1L);
+        Thread.sleep(1_050);
+        when(delegate.tryClaim(anyString())).thenReturn(ClaimStatus.ALREADY_PROCESSING);
+        when(delegate.findProcessed(List.of("seen"))).thenReturn(Set.of("seen"));
+
+        cachingIdempotencyChecker.tryClaim("seen");
+
+        assertEquals(Set.of("seen"), cachingIdempotencyChecker.findProcessed(List.of("seen", "fresh")));
+        assertTrue(cachingIdempotencyChecker.isProcessed("seen"));
+
+        verify(delegate, times(1)).findProcessed(List.of("seen"));
+        verify(delegate, never()).isProcessed(anyString());
+    }
+
+    @Test
+    @DisplayName("Should keep the Redis claim authoritative when the event is not cached")
+    void testGivenRedisAlreadyProcessed_ThenCacheResult() {
+        when(delegate.tryClaim(EVENT_ID)).thenReturn(ClaimStatus.ALREADY_PROCESSED);
+
+        assertEquals(ClaimStatus.ALREADY_PROCESSED, cachingIdempotencyChecker.tryClaim(EVENT_ID));
+        assertEquals(ClaimStatus.ALREADY_PROCESSED, cachingIdempotencyChecker.tryClaim(EVENT_ID));
+
+        verify(delegate, times(1)).tryClaim(EVENT_ID);
+        assertTrue(cachingIdempotencyChecker.stats().estimatedTotalBytes() > 0);
+    }
+
+    private CachingIdempotencyChecker checker(boolean trustBloomNegatives, long successTtlSeconds) {
+        IdempotencyConfig idempotencyConfig = new IdempotencyConfig();
+        idempotencyConfig.setSuccessTtlSeconds(successTtlSeconds);
+
+        NearCacheConfig nearCacheConfig = new NearCacheConfig();
+        nearCacheConfig.setMaximumSize(1000L);
+        nearCacheConfig.setBloomExpectedInsertions(1000L);
+        nearCacheConfig.setBloomFalsePositiveRate(0.01);
+        nearCacheConfig.setTrustBloomNegatives(trustBloomNegatives);
+
+        return new CachingIdempotencyChecker(delegate, idempotencyConfig, nearCacheConfig);
+    }
+}
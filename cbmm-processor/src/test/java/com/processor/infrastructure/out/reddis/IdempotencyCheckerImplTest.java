@@ -0,0 +1,146 @@
+package com.processor.infrastructure.out.reddis;
+
+import com.processor.core.domain.enums.ClaimStatus;
+import com.processor.infrastructure.adapters.out.reddis.IdempotencyCheckerImpl;
+import com.processor.infrastructure.config.IdempotencyConfig;
+import com.processor.infrastructure.metrics.TransactionMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyCheckerImplTest {
+    private static final String EVENT_ID = "eventId";
+    private static final List<String> EVENT_KEY = List.of("cbmm:event:" + EVENT_ID);
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private IdempotencyCheckerImpl idempotencyChecker;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyConfig idempotencyConfig = new IdempotencyConfig();
+        idempotencyConfig.setProcessingTtlSeconds(300L);
+        idempotencyConfig.setSuccessTtlSeconds(86400L);
+        idempotencyConfig.setFailedTtlSeconds(3600L);
+        idempotencyConfig.setPrefetchChunkSize(2);
+        idempotencyChecker = new IdempotencyCheckerImpl(stringRedisTemplate, idempotencyConfig,
+                new TransactionMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should claim a new event with a single script call")
+    void testGivenNewEvent_ThenClaim() {
+        when(stringRedisTemplate.execute(ArgumentMatchers.<RedisScript<String>>any(), eq(EVENT_KEY), eq("300")))
+                .thenReturn("CLAIMED");
+
+        assertEquals(ClaimStatus.CLAIMED, idempotencyChecker.tryClaim(EVENT_ID));
+
+        verify(stringRedisTemplate, times(1)).execute(ArgumentMatchers.<RedisScript<String>>any(), eq(EVENT_KEY), eq("300"));
+        verify(stringRedisTemplate, never()).opsForValue();
+    }
+
+    @Test
+    @DisplayName("Should report already processed when the key holds SUCCESS")
+    void testGivenSuccessfulEvent_ThenAlreadyProcessed() {
+        when(stringRedisTemplate.execute(ArgumentMatchers.<RedisScript<String>>any(), eq(EVENT_KEY), eq("300")))
+                .thenReturn("SUCCESS");
+
+        assertEquals(ClaimStatus.ALREADY_PROCESSED, idempotencyChecker.tryClaim(EVENT_ID));
+    }
+
+    @Test
+    @DisplayName("Should report already processing when the key holds PROCESSING")
+    void testGivenInFlightEvent_ThenAlreadyProcessing() {
+        when(stringRedisTemplate.execute(ArgumentMatchers.<RedisScript<String>>any(), eq(EVENT_KEY), eq("300")))
+                .thenReturn("PROCESSING");
+
+        assertEquals(ClaimStatus.ALREADY_PROCESSING, idempotencyChecker.tryClaim(EVENT_ID));
+    }
+
+    @Test
+    @DisplayName("Should not claim when Redis is unavailable")
+    void testGivenRedisFailure_ThenDoNotClaim() {
+        when(stringRedisTemplate.execute(ArgumentMatchers.<RedisScript<String>>any(), eq(EVENT_KEY), eq("300")))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        assertEquals(ClaimStatus.ALREADY_PROCESSING, idempotencyChecker.tryClaim(EVENT_ID));
+    }
+
+    @Test
+    @DisplayName("Should complete the event on the same key with its success TTL")
+    void testGivenProcessedEvent_ThenTransitionToSuccess() {
+        idempotencyChecker.markAsProcessed(EVENT_ID);
+
+        verify(stringRedisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(EVENT_KEY), eq("SUCCESS"), eq("86400"));
+        verify(stringRedisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail the event on the same key with its failed TTL")
+    void testGivenFailedEvent_ThenTransitionToFailed() {
+        when(stringRedisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(EVENT_KEY), eq("FAILED"), eq("3600")))
+                .thenReturn(1L);
+
+        idempotencyChecker.markAsFailed(EVENT_ID, "Insufficient balance");
+
+        verify(stringRedisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(EVENT_KEY), eq("FAILED"), eq("3600"));
+    }
+
+    @Test
+    @DisplayName("Should resolve processed events from pipelined MGET chunks in request order")
+    void testGivenBatch_ThenFindProcessedFromPipelinedMget() {
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of(
+                        Arrays.asList("SUCCESS", "PROCESSING"),
+                        Arrays.asList(null, "SUCCESS")));
+
+        Set<String> processed = idempotencyChecker.findProcessed(List.of("e1", "e2", "e3", "e4"));
+
+        assertEquals(Set.of("e1", "e4"), processed);
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to per-event claims when the prefetch fails")
+    void testGivenRedisFailure_ThenFindNothingProcessed() {
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        assertEquals(Set.of(), idempotencyChecker.findProcessed(List.of("e1")));
+    }
+
+    @Test
+    @DisplayName("Should finalize a batch in one pipelined round trip and propagate failures")
+    void testGivenOutboxBatch_ThenMarkAllInOnePipeline() {
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of())
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        idempotencyChecker.markAllAsProcessed(List.of("e1", "e2", "e3"));
+
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertThrows(RedisConnectionFailureException.class,
+                () -> idempotencyChecker.markAllAsProcessed(List.of("e4")));
+    }
+}